@@ -8,26 +8,31 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 
 @Configuration
+@org.springframework.core.annotation.Order(0)
 public class DatabaseSeeder implements CommandLineRunner {
 
     private final ProductRepository productRepository;
     private final CustomerRepository customerRepository;
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
 
     public DatabaseSeeder(ProductRepository productRepository, 
                           CustomerRepository customerRepository,
                           OrderRepository orderRepository,
-                          PaymentRepository paymentRepository) {
+                          PaymentRepository paymentRepository,
+                          OrderSummaryRepository orderSummaryRepository) {
         this.productRepository = productRepository;
         this.customerRepository = customerRepository;
         this.orderRepository = orderRepository;
         this.paymentRepository = paymentRepository;
+        this.orderSummaryRepository = orderSummaryRepository;
     }
 
     @Override
     public void run(String... args) throws Exception {
         paymentRepository.deleteAll();
+        orderSummaryRepository.deleteAllInBatch();
         orderRepository.deleteAll();
         productRepository.deleteAll();
         customerRepository.deleteAll();
@@ -97,6 +102,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         order.setTotalCents(p1.getPriceCents());
 
         orderRepository.save(order);
+        orderSummaryRepository.save(OrderSummary.of(order));
 
         System.out.println("-----------------------------------");
         System.out.println("BANCO DE DADOS INCIADO E POPULADO");
@@ -0,0 +1,157 @@
+package com.joaofroes.gestao_pedidos.config;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Customer;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.BulkOrderResultDTO;
+import com.joaofroes.gestao_pedidos.dto.LoadTestFixtureDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import com.joaofroes.gestao_pedidos.service.OrderBulkService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Carga de dados em volume para testes de carga (perfil {@code loadtest}).
+ * <p>
+ * Roda depois do {@link DatabaseSeeder} e acrescenta clientes, produtos e pedidos na quantidade
+ * configurada em {@code app.loadtest.seed.*}. Os pedidos passam pelo {@link OrderBulkService},
+ * com a mesma validação e o mesmo batch de INSERTs da importação.
+ * A semente do {@link Random} é fixa, então duas execuções geram os mesmos dados.
+ * </p>
+ */
+@Configuration
+@Profile("loadtest")
+@Order(1)
+public class LoadTestSeeder implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestSeeder.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] CATEGORIES = {"Eletronicos", "Acessorios", "Perifericos", "Escritorio", "Games", "Audio"};
+
+    private final CustomerRepository customerRepository;
+    private final ProductRepository productRepository;
+    private final OrderBulkService orderBulkService;
+    private final TransactionTemplate batchTransaction;
+
+    @Value("${app.loadtest.seed.customers:1000}")
+    private int customers;
+
+    @Value("${app.loadtest.seed.products:2000}")
+    private int products;
+
+    @Value("${app.loadtest.seed.orders:20000}")
+    private int orders;
+
+    @Value("${app.loadtest.seed.max-items:5}")
+    private int maxItems;
+
+    private volatile LoadTestFixtureDTO fixture = new LoadTestFixtureDTO(List.of(), List.of(), List.of());
+
+    public LoadTestSeeder(CustomerRepository customerRepository, ProductRepository productRepository,
+                          OrderBulkService orderBulkService, PlatformTransactionManager transactionManager) {
+        this.customerRepository = customerRepository;
+        this.productRepository = productRepository;
+        this.orderBulkService = orderBulkService;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(String... args) {
+        long start = System.currentTimeMillis();
+        Random random = new Random(42);
+
+        List<Long> customerIds = seedCustomers();
+        List<Long> productIds = seedProducts(random);
+        List<Long> orderIds = seedOrders(random, customerIds, productIds);
+
+        fixture = new LoadTestFixtureDTO(List.copyOf(customerIds), List.copyOf(productIds), List.copyOf(orderIds));
+        log.info("Carga de teste: {} clientes, {} produtos ativos e {} pedidos em {} ms",
+                customerIds.size(), productIds.size(), orderIds.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * IDs gerados na última execução, expostos em <code>GET /loadtest/fixture</code>.
+     */
+    public LoadTestFixtureDTO fixture() {
+        return fixture;
+    }
+
+    private List<Long> seedCustomers() {
+        List<Long> ids = new ArrayList<>(customers);
+        for (int start = 0; start < customers; start += BATCH_SIZE) {
+            List<Customer> batch = new ArrayList<>();
+            for (int i = start; i < Math.min(start + BATCH_SIZE, customers); i++) {
+                batch.add(new Customer("Cliente Carga " + i, "carga" + i + "@teste.com"));
+            }
+            batchTransaction.executeWithoutResult(status ->
+                    customerRepository.saveAll(batch).forEach(c -> ids.add(c.getId())));
+        }
+        return ids;
+    }
+
+    /**
+     * Cerca de 10% dos produtos nascem inativos, para que o filtro por status tenha o que descartar.
+     */
+    private List<Long> seedProducts(Random random) {
+        List<Long> activeIds = new ArrayList<>(products);
+        for (int start = 0; start < products; start += BATCH_SIZE) {
+            List<Product> batch = new ArrayList<>();
+            for (int i = start; i < Math.min(start + BATCH_SIZE, products); i++) {
+                String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+                Product product = new Product("Produto Carga " + i, category, 500 + random.nextInt(500_000));
+                product.setActive(random.nextInt(10) != 0);
+                batch.add(product);
+            }
+            batchTransaction.executeWithoutResult(status ->
+                    productRepository.saveAll(batch).stream()
+                            .filter(Product::getActive)
+                            .forEach(p -> activeIds.add(p.getId())));
+        }
+        return activeIds;
+    }
+
+    private List<Long> seedOrders(Random random, List<Long> customerIds, List<Long> productIds) {
+        List<Long> ids = new ArrayList<>(orders);
+        if (customerIds.isEmpty() || productIds.isEmpty()) {
+            return ids;
+        }
+
+        for (int start = 0; start < orders; start += BATCH_SIZE) {
+            List<OrderRequestDTO> batch = new ArrayList<>();
+            for (int i = start; i < Math.min(start + BATCH_SIZE, orders); i++) {
+                Long customerId = customerIds.get(random.nextInt(customerIds.size()));
+                batch.add(new OrderRequestDTO(customerId, randomItems(random, productIds)));
+            }
+            orderBulkService.createAll(batch).results().stream()
+                    .filter(BulkOrderResultDTO::isCreated)
+                    .forEach(r -> ids.add(r.orderId()));
+        }
+        return ids;
+    }
+
+    private List<OrderItemRequestDTO> randomItems(Random random, List<Long> productIds) {
+        int count = 1 + random.nextInt(Math.max(1, maxItems));
+        Map<Long, OrderItemRequestDTO> items = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            Long productId = productIds.get(random.nextInt(productIds.size()));
+            items.putIfAbsent(productId, new OrderItemRequestDTO(productId, 1 + random.nextInt(3)));
+        }
+        return new ArrayList<>(items.values());
+    }
+}
@@ -0,0 +1,117 @@
+package com.joaofroes.gestao_pedidos.config;
+
+import com.joaofroes.gestao_pedidos.service.ConflictRetry;
+import com.joaofroes.gestao_pedidos.service.IdempotencyService;
+import com.joaofroes.gestao_pedidos.service.ProductCatalogCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Instrumentação com Micrometer, exposta em <code>/actuator/prometheus</code>.
+ * <p>
+ * O Spring Boot já publica {@code http.server.requests} (tempo por endpoint) e
+ * {@code spring.data.repository.invocations} (chamadas e duração por método de repositório).
+ * Aqui entram os timers {@code @Timed} dos serviços, a contagem de SQL por requisição e os
+ * contadores que já existiam nos serviços (cache do catálogo, idempotência e novas tentativas).
+ * </p>
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<QueryCountInterceptor> queryCountInterceptor;
+
+    public MetricsConfig(ObjectProvider<QueryCountInterceptor> queryCountInterceptor) {
+        this.queryCountInterceptor = queryCountInterceptor;
+    }
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public QueryCountInspector queryCountInspector() {
+        return new QueryCountInspector();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountCustomizer(QueryCountInspector inspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    @Bean
+    public QueryCountInterceptor queryCountInterceptor(QueryCountInspector inspector, MeterRegistry registry,
+            @Value("${app.metrics.queries-per-request.warn-threshold:20}") int warnThreshold) {
+        return new QueryCountInterceptor(inspector, registry, warnThreshold);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryCountInterceptor.getObject());
+    }
+
+    @Bean
+    public MeterBinder catalogCacheMetrics(ProductCatalogCache cache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", cache, c -> c.stats().hits())
+                    .tag("cache", "catalog").tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", cache, c -> c.stats().misses())
+                    .tag("cache", "catalog").tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", cache, c -> c.stats().invalidations())
+                    .tag("cache", "catalog")
+                    .register(registry);
+            FunctionCounter.builder("app.catalog.cache.reloads", cache, c -> c.stats().reloads())
+                    .description("Recargas do catálogo a partir do banco")
+                    .register(registry);
+            Gauge.builder("cache.size", cache, c -> c.stats().size())
+                    .tag("cache", "catalog")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder idempotencyMetrics(IdempotencyService idempotency) {
+        return registry -> {
+            FunctionCounter.builder("app.idempotency.requests", idempotency, i -> i.stats().memoryHits())
+                    .tag("result", "memory_hit")
+                    .register(registry);
+            FunctionCounter.builder("app.idempotency.requests", idempotency, i -> i.stats().storeHits())
+                    .tag("result", "store_hit")
+                    .register(registry);
+            FunctionCounter.builder("app.idempotency.requests", idempotency, i -> i.stats().misses())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("app.idempotency.requests", idempotency, i -> i.stats().conflicts())
+                    .tag("result", "conflict")
+                    .register(registry);
+            Gauge.builder("cache.size", idempotency, i -> i.stats().size())
+                    .tag("cache", "idempotency")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder conflictRetryMetrics(ConflictRetry conflictRetry) {
+        return registry -> {
+            FunctionCounter.builder("app.retry.retries", conflictRetry, ConflictRetry::getRetries)
+                    .description("Transações repetidas após conflito de concorrência")
+                    .register(registry);
+            FunctionCounter.builder("app.retry.exhausted", conflictRetry, ConflictRetry::getExhausted)
+                    .description("Conflitos que esgotaram as tentativas")
+                    .register(registry);
+        };
+    }
+}
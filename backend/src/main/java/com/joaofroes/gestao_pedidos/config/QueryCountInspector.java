@@ -0,0 +1,29 @@
+package com.joaofroes.gestao_pedidos.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual.
+ * <p>
+ * Registrado na SessionFactory pelo {@link MetricsConfig}; o {@link QueryCountInterceptor}
+ * zera a contagem no início de cada requisição e publica o total no fim.
+ * </p>
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private final ThreadLocal<int[]> count = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        count.get()[0]++;
+        return sql;
+    }
+
+    public void reset() {
+        count.get()[0] = 0;
+    }
+
+    public int current() {
+        return count.get()[0];
+    }
+}
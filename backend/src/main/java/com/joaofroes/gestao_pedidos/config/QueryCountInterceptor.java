@@ -0,0 +1,56 @@
+package com.joaofroes.gestao_pedidos.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Publica {@code app.http.server.queries}: quantos comandos SQL cada requisição executou,
+ * por método e rota. Uma rota cujo valor cresce com o tamanho da resposta tem N+1.
+ * <p>
+ * Requisições acima de {@code app.metrics.queries-per-request.warn-threshold} geram um aviso no log.
+ * </p>
+ */
+public class QueryCountInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountInterceptor.class);
+
+    private final QueryCountInspector inspector;
+    private final MeterRegistry registry;
+    private final int warnThreshold;
+
+    public QueryCountInterceptor(QueryCountInspector inspector, MeterRegistry registry, int warnThreshold) {
+        this.inspector = inspector;
+        this.registry = registry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        inspector.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int queries = inspector.current();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = (pattern != null) ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("app.http.server.queries")
+                .description("Comandos SQL executados por requisição")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(queries);
+
+        if (queries > warnThreshold) {
+            log.warn("{} {} executou {} comandos SQL (limite {}): possível N+1", request.getMethod(), uri, queries, warnThreshold);
+        }
+    }
+}
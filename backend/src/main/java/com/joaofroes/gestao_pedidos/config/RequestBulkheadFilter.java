@@ -0,0 +1,103 @@
+package com.joaofroes.gestao_pedidos.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita quantas requisições executam ao mesmo tempo (bulkhead).
+ * <p>
+ * Com threads de plataforma o limite natural é o tamanho do pool do Tomcat. Com virtual threads
+ * esse limite deixa de existir e o gargalo passa a ser o pool de conexões JDBC: sem este filtro,
+ * milhares de requisições ficariam paradas dentro do Hikari até estourar o connection-timeout
+ * (e só então falhariam com 500).
+ * </p>
+ * <p>
+ * Aqui a espera é curta e explícita: quem não consegue uma vaga em {@code acquireTimeout}
+ * recebe 503 (Service Unavailable) com {@code Retry-After}, sem ter aberto transação nem conexão.
+ * </p>
+ */
+public class RequestBulkheadFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final Duration acquireTimeout;
+    private final List<String> excludedPrefixes;
+    private final LongAdder rejected = new LongAdder();
+
+    public RequestBulkheadFilter(int maxConcurrent, Duration acquireTimeout, List<String> excludedPrefixes) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("O limite de requisições simultâneas deve ser positivo: " + maxConcurrent);
+        }
+        // Justo (FIFO): sob carga, quem chegou primeiro é atendido primeiro
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeout = acquireTimeout;
+        this.excludedPrefixes = List.copyOf(excludedPrefixes);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPrefixes.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            reject(response);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Mesmo formato de corpo do GlobalExceptionHandler
+    private void reject(HttpServletResponse response) throws IOException {
+        long retryAfter = Math.max(1, acquireTimeout.toSeconds());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"error\":\"Serviço sobrecarregado\",\"message\":\"Muitas requisições simultâneas. Tente novamente em instantes.\"}");
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,18 @@
+package com.joaofroes.gestao_pedidos.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as rotinas agendadas ({@code @Scheduled}) e os métodos assíncronos ({@code @Async}) da aplicação.
+ * <p>
+ * Ambos usam os executores auto-configurados pelo Spring Boot, que passam a criar virtual threads
+ * quando {@code spring.threads.virtual.enabled=true} (ver {@link VirtualThreadConfig}).
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
@@ -0,0 +1,63 @@
+package com.joaofroes.gestao_pedidos.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource de produção para o SQLite (perfil {@code prod}).
+ * <p>
+ * O SQLite aceita um único escritor por vez; com várias conexões escrevendo, elas só disputam
+ * o lock do arquivo e falham com SQLITE_BUSY. Por isso são dois pools:
+ * </p>
+ * <ul>
+ * <li><b>writer:</b> uma única conexão, usada por transações de escrita.</li>
+ * <li><b>reader:</b> várias conexões somente-leitura, usadas por {@code @Transactional(readOnly = true)}.
+ * Em modo WAL, leitores não bloqueiam o escritor nem são bloqueados por ele.</li>
+ * </ul>
+ * <p>
+ * O roteamento é feito pelo {@link LazyConnectionDataSourceProxy}: a conexão física só é obtida
+ * no primeiro comando SQL, quando o flag de somente-leitura da transação já é conhecido.
+ * </p>
+ */
+@Configuration
+@Profile("prod")
+public class SqliteDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("app.datasource.writer")
+    public HikariConfig writerPoolConfig() {
+        return new HikariConfig();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.reader")
+    public HikariConfig readerPoolConfig() {
+        return new HikariConfig();
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource writerDataSource() {
+        return new HikariDataSource(writerPoolConfig());
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource readerDataSource() {
+        return new HikariDataSource(readerPoolConfig());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(writerDataSource());
+        routing.setReadOnlyDataSource(readerDataSource());
+        return routing;
+    }
+}
@@ -0,0 +1,91 @@
+package com.joaofroes.gestao_pedidos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Ajustes do modo virtual threads ({@code spring.threads.virtual.enabled=true}, perfil {@code virtual}).
+ * <p>
+ * O próprio Spring Boot troca os executores quando a propriedade está ligada e a JVM é 21+:
+ * Tomcat, {@code @Async}, {@code @Scheduled} e o processamento assíncrono do MVC (exportação em streaming)
+ * passam a rodar em virtual threads. Em Java 17 a propriedade é ignorada e tudo segue em threads de plataforma;
+ * por isso os beans desta classe dependem de {@link ConditionalOnThreading}, e não só da propriedade.
+ * </p>
+ * <p>
+ * <b>Decisão de Arquitetura:</b> o número de requisições simultâneas é limitado por um bulkhead
+ * dimensionado a partir dos pools JDBC (soma de {@code maximumPoolSize} de todos os Hikari × requisições
+ * por conexão). Cada requisição segura uma conexão só durante parte do seu tempo (cache, serialização,
+ * 304), então algumas requisições por conexão mantêm a fila do Hikari curta sem ociosidade.
+ * </p>
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    // Métricas, health checks e rotas de apoio ao teste de carga não disputam vagas com a API
+    private static final List<String> EXCLUDED_PATHS = List.of("/actuator", "/loadtest");
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public FilterRegistrationBean<RequestBulkheadFilter> requestBulkheadFilter(
+            ObjectProvider<HikariDataSource> pools,
+            @Value("${app.threads.bulkhead.max-concurrent:0}") int maxConcurrent,
+            @Value("${app.threads.bulkhead.requests-per-connection:4}") int requestsPerConnection,
+            @Value("${app.threads.bulkhead.acquire-timeout:2s}") Duration acquireTimeout) {
+        int connections = pools.orderedStream().mapToInt(HikariDataSource::getMaximumPoolSize).sum();
+        int limit = (maxConcurrent > 0) ? maxConcurrent : Math.max(1, connections) * requestsPerConnection;
+        log.info("Virtual threads ativas: até {} requisições simultâneas ({} conexões JDBC), espera máxima de {} ms",
+                limit, connections, acquireTimeout.toMillis());
+
+        FilterRegistrationBean<RequestBulkheadFilter> registration =
+                new FilterRegistrationBean<>(new RequestBulkheadFilter(limit, acquireTimeout, EXCLUDED_PATHS));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public MeterBinder requestBulkheadMetrics(FilterRegistrationBean<RequestBulkheadFilter> registration) {
+        RequestBulkheadFilter filter = registration.getFilter();
+        return registry -> {
+            Gauge.builder("app.http.bulkhead.in-flight", filter, RequestBulkheadFilter::inFlight)
+                    .description("Requisições executando dentro do bulkhead")
+                    .register(registry);
+            Gauge.builder("app.http.bulkhead.limit", filter, RequestBulkheadFilter::maxConcurrent)
+                    .description("Máximo de requisições simultâneas")
+                    .register(registry);
+            FunctionCounter.builder("app.http.bulkhead.rejected", filter, RequestBulkheadFilter::rejected)
+                    .description("Requisições recusadas com 503 por falta de vaga")
+                    .register(registry);
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warnIfVirtualThreadsUnavailable(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (requested && !Threading.VIRTUAL.isActive(environment)) {
+            log.warn("spring.threads.virtual.enabled=true exige Java 21+; rodando em Java {} com threads de plataforma",
+                    Runtime.version().feature());
+        }
+    }
+}
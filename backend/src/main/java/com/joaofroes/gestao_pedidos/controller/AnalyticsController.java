@@ -0,0 +1,110 @@
+package com.joaofroes.gestao_pedidos.controller;
+
+import com.joaofroes.gestao_pedidos.dto.AnalyticsRebuildResultDTO;
+import com.joaofroes.gestao_pedidos.dto.CategorySalesDTO;
+import com.joaofroes.gestao_pedidos.dto.DailySalesDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentMethodSalesDTO;
+import com.joaofroes.gestao_pedidos.dto.ProductSalesDTO;
+import com.joaofroes.gestao_pedidos.service.AnalyticsService;
+import com.joaofroes.gestao_pedidos.service.SalesRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controlador REST dos relatórios de vendas (analytics).
+ * <p>
+ * Todos os relatórios leem as tabelas de rollup pré-agregadas, atualizadas em segundo plano
+ * logo após cada pedido, pagamento ou mudança de status (atraso de até
+ * {@code app.analytics.flush-interval-ms}). Os períodos são inclusivos, em datas ISO
+ * ({@code 2025-01-31}); sem datas, valem os últimos 30 dias.
+ * Mapeado para o caminho base <code>/analytics</code>.
+ * </p>
+ */
+@RestController
+@RequestMapping("/analytics")
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {
+    RequestMethod.GET, RequestMethod.POST, RequestMethod.OPTIONS
+})
+public class AnalyticsController {
+
+    private final AnalyticsService service;
+    private final SalesRollupService rollupService;
+
+    public AnalyticsController(AnalyticsService service, SalesRollupService rollupService) {
+        this.service = service;
+        this.rollupService = rollupService;
+    }
+
+    /**
+     * Totais por dia: pedidos, cancelados, pagos, itens, valor vendido e valor recebido.
+     * <p>
+     * Endpoint: <code>GET /analytics/daily?from=2025-01-01&amp;to=2025-01-31</code>
+     * </p>
+     */
+    @GetMapping("/daily")
+    public ResponseEntity<List<DailySalesDTO>> daily(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(service.daily(from, to));
+    }
+
+    /**
+     * Quantidade e valor vendidos por categoria no período, do maior para o menor valor.
+     * <p>
+     * Endpoint: <code>GET /analytics/categories</code>
+     * </p>
+     */
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategorySalesDTO>> categories(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(service.byCategory(from, to));
+    }
+
+    /**
+     * Quantidade e valor de pagamentos por forma de pagamento no período.
+     * <p>
+     * Endpoint: <code>GET /analytics/payment-methods</code>
+     * </p>
+     */
+    @GetMapping("/payment-methods")
+    public ResponseEntity<List<PaymentMethodSalesDTO>> paymentMethods(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(service.byPaymentMethod(from, to));
+    }
+
+    /**
+     * Produtos mais vendidos (por valor) no período.
+     * <p>
+     * Endpoint: <code>GET /analytics/top-products?limit=10</code>
+     * </p>
+     * @param limit (Opcional) Quantidade de produtos (padrão: 10, máximo: {@code app.analytics.top-products.max-limit}).
+     */
+    @GetMapping("/top-products")
+    public ResponseEntity<List<ProductSalesDTO>> topProducts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(service.topProducts(from, to, limit));
+    }
+
+    /**
+     * Recalcula todos os rollups a partir do histórico de pedidos e pagamentos.
+     * <p>
+     * Endpoint: <code>POST /analytics/rebuild</code>
+     * </p>
+     * <p>
+     * <b>Uso:</b> operação de manutenção (primeira carga, correção após falha). Enquanto roda,
+     * a aplicação dos deltas incrementais fica em espera.
+     * </p>
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<AnalyticsRebuildResultDTO> rebuild() {
+        return ResponseEntity.ok(rollupService.rebuild());
+    }
+}
@@ -0,0 +1,37 @@
+package com.joaofroes.gestao_pedidos.controller;
+
+import com.joaofroes.gestao_pedidos.dto.IdempotencyStatsDTO;
+import com.joaofroes.gestao_pedidos.service.IdempotencyService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST com informações operacionais das chaves de idempotência
+ * usadas em <code>POST /orders</code> e <code>POST /payments</code>.
+ * Mapeado para o caminho base <code>/idempotency</code>.
+ */
+@RestController
+@RequestMapping("/idempotency")
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {
+    RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.PATCH, RequestMethod.DELETE, RequestMethod.OPTIONS
+})
+public class IdempotencyController {
+
+    private final IdempotencyService service;
+
+    public IdempotencyController(IdempotencyService service) {
+        this.service = service;
+    }
+
+    /**
+     * Expõe as métricas de acerto das chaves de idempotência.
+     * <p>
+     * Endpoint: <code>GET /idempotency/stats</code>
+     * </p>
+     * @return Retorna status 200 (OK) com acertos em memória e na tabela, chaves novas e conflitos.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<IdempotencyStatsDTO> stats() {
+        return ResponseEntity.ok(service.stats());
+    }
+}
@@ -0,0 +1,94 @@
+package com.joaofroes.gestao_pedidos.controller;
+
+import com.joaofroes.gestao_pedidos.config.LoadTestSeeder;
+import com.joaofroes.gestao_pedidos.dto.LoadTestFixtureDTO;
+import com.joaofroes.gestao_pedidos.dto.LoadTestHoldDTO;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Controlador REST de apoio ao gerador de carga, disponível só no perfil {@code loadtest}.
+ * Mapeado para o caminho base <code>/loadtest</code>.
+ */
+@RestController
+@Profile("loadtest")
+@RequestMapping("/loadtest")
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {
+    RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.PATCH, RequestMethod.DELETE, RequestMethod.OPTIONS
+})
+public class LoadTestController {
+
+    private static final long MAX_HOLD_MILLIS = 60_000;
+
+    private final LoadTestSeeder seeder;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    public LoadTestController(LoadTestSeeder seeder) {
+        this.seeder = seeder;
+    }
+
+    /**
+     * Lista os IDs semeados, para o gerador de carga montar requisições válidas.
+     * <p>
+     * Endpoint: <code>GET /loadtest/fixture</code>
+     * </p>
+     * @return Retorna status 200 (OK) com os IDs de clientes, produtos ativos e pedidos semeados.
+     */
+    @GetMapping("/fixture")
+    public ResponseEntity<LoadTestFixtureDTO> fixture() {
+        return ResponseEntity.ok(seeder.fixture());
+    }
+
+    /**
+     * Segura a thread da requisição por um tempo fixo, simulando uma espera de I/O (ex: JDBC).
+     * <p>
+     * Endpoint: <code>GET /loadtest/hold?millis=1000</code>
+     * </p>
+     * <p>
+     * Usado pelo ThreadModeBenchmark para medir quantas requisições bloqueadas cabem ao mesmo tempo
+     * em cada modo de execução (threads de plataforma x virtual threads) e quanto cada uma custa de memória.
+     * </p>
+     * @param millis Tempo de espera em milissegundos (até 60 s).
+     * @return Retorna status 200 (OK) com o número de requisições em andamento ao entrar.
+     */
+    @GetMapping("/hold")
+    public ResponseEntity<LoadTestHoldDTO> hold(@RequestParam(defaultValue = "1000") long millis) throws InterruptedException {
+        if (millis < 0 || millis > MAX_HOLD_MILLIS) {
+            throw new IllegalArgumentException("millis deve estar entre 0 e " + MAX_HOLD_MILLIS);
+        }
+        int current = inFlight.incrementAndGet();
+        peakInFlight.accumulateAndGet(current, Math::max);
+        try {
+            Thread.sleep(millis);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        return ResponseEntity.ok(new LoadTestHoldDTO(current, peakInFlight.get(), isVirtual(Thread.currentThread())));
+    }
+
+    /**
+     * Consulta (e opcionalmente zera) o pico de requisições simultâneas em {@code /loadtest/hold}.
+     * <p>
+     * Endpoint: <code>GET /loadtest/hold/stats?reset=true</code>
+     * </p>
+     * @param reset (Opcional) Se {@code true}, zera o pico após a leitura.
+     * @return Retorna status 200 (OK) com o estado atual.
+     */
+    @GetMapping("/hold/stats")
+    public ResponseEntity<LoadTestHoldDTO> holdStats(@RequestParam(defaultValue = "false") boolean reset) {
+        LoadTestHoldDTO stats = new LoadTestHoldDTO(inFlight.get(), peakInFlight.get(), isVirtual(Thread.currentThread()));
+        if (reset) {
+            peakInFlight.set(inFlight.get());
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    // Thread.isVirtual() só existe a partir do Java 21; o projeto ainda compila para 17
+    private static boolean isVirtual(Thread thread) {
+        return thread.getClass().getName().equals("java.lang.VirtualThread");
+    }
+}
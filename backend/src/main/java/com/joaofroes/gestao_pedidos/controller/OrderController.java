@@ -1,12 +1,33 @@
 package com.joaofroes.gestao_pedidos.controller;
 
+import com.joaofroes.gestao_pedidos.dto.BulkOrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderPageResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderQueueStatsDTO;
 import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.PaidTotalCheckResultDTO;
 import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderSummaryDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderSummaryRebuildResultDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderTicketDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderVersionDTO;
+import com.joaofroes.gestao_pedidos.service.IdempotencyService;
+import com.joaofroes.gestao_pedidos.service.OrderBulkService;
+import com.joaofroes.gestao_pedidos.service.OrderExportService;
+import com.joaofroes.gestao_pedidos.service.OrderQueueService;
 import com.joaofroes.gestao_pedidos.service.OrderService;
+import com.joaofroes.gestao_pedidos.service.OrderSummaryService;
+import com.joaofroes.gestao_pedidos.service.PaidTotalCheckService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 
@@ -26,9 +47,23 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService service;
+    private final OrderExportService exportService;
+    private final OrderBulkService bulkService;
+    private final PaidTotalCheckService paidTotalCheckService;
+    private final IdempotencyService idempotencyService;
+    private final OrderQueueService queueService;
+    private final OrderSummaryService summaryService;
 
-    public OrderController(OrderService service) {
+    public OrderController(OrderService service, OrderExportService exportService, OrderBulkService bulkService,
+                           PaidTotalCheckService paidTotalCheckService, IdempotencyService idempotencyService,
+                           OrderQueueService queueService, OrderSummaryService summaryService) {
         this.service = service;
+        this.exportService = exportService;
+        this.bulkService = bulkService;
+        this.paidTotalCheckService = paidTotalCheckService;
+        this.idempotencyService = idempotencyService;
+        this.queueService = queueService;
+        this.summaryService = summaryService;
     }
 
     /**
@@ -36,26 +71,99 @@ public class OrderController {
      * <p>
      * Endpoint: <code>GET /orders</code>
      * </p>
+     * <p>
+     * Lido da tabela de resumos ({@code order_summary}): cliente, status, totais e quantidade de itens,
+     * sem as listas de itens e pagamentos (disponíveis em <code>GET /orders/{id}</code>).
+     * </p>
      * @return Retorna status 200 (OK) com a lista de pedidos em formato DTO.
      */
     @GetMapping
-    public ResponseEntity<List<OrderResponseDTO>> findAll() {
-        List<OrderResponseDTO> orders = service.findAll();
+    public ResponseEntity<List<OrderSummaryDTO>> findAll() {
+        List<OrderSummaryDTO> orders = service.findAll();
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * Lista os pedidos de forma paginada, do mais recente para o mais antigo.
+     * <p>
+     * Endpoint: <code>GET /orders/page?cursor=...&amp;size=20</code>
+     * </p>
+     * <p>
+     * A paginação é feita por cursor (keyset) sobre (createdAt, id), então o custo de cada
+     * página não cresce com o número de pedidos já percorridos.
+     * </p>
+     * @param cursor (Opcional) Valor de {@code nextCursor} da página anterior. Ausente na primeira página.
+     * @param size (Opcional) Quantidade de pedidos por página. Usa o padrão configurado se não informado.
+     * @return Retorna status 200 (OK) com a página de pedidos e o cursor da próxima página.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<OrderPageResponseDTO> findPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        OrderPageResponseDTO page = service.findPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Exporta todos os pedidos em streaming, um pedido por linha.
+     * <p>
+     * Endpoint: <code>GET /orders/export?format=ndjson</code> ou <code>?format=csv</code>
+     * </p>
+     * <p>
+     * Pensado para rotinas de conciliação: as linhas são escritas na resposta conforme
+     * são lidas do banco, então o consumo de memória não cresce com o tamanho da tabela.
+     * </p>
+     * @param format (Opcional) {@code ndjson} (padrão) ou {@code csv}.
+     * @return Retorna status 200 (OK) com o corpo transmitido em streaming.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        OrderExportService.Format exportFormat = OrderExportService.Format.from(format);
+        MediaType contentType = (exportFormat == OrderExportService.Format.CSV)
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        String fileName = "orders." + format.toLowerCase();
+
+        StreamingResponseBody body = out -> exportService.export(exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
     /**
      * Busca os detalhes completos de um pedido específico pelo seu ID.
      * <p>
      * Endpoint: <code>GET /orders/{id}</code>
      * </p>
+     * <p>
+     * <b>Cache HTTP:</b> pedidos pagos ou cancelados são respondidos com uma ETag forte derivada
+     * da versão do pedido. Um GET com {@code If-None-Match} igual recebe 304 (Not Modified)
+     * após ler apenas status e versão, sem carregar itens e pagamentos nem serializar o corpo.
+     * Pedidos em aberto mudam a cada pagamento e seguem sem ETag.
+     * </p>
      * @param id O identificador único do pedido no banco de dados.
-     * @return Retorna status 200 (OK) com os dados do pedido, ou 404 (Not Found) se não existir.
+     * @return Retorna status 200 (OK) com os dados do pedido, 304 (Not Modified) se a cópia do cliente
+     * ainda vale, ou 404 (Not Found) se não existir.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponseDTO> findById(@PathVariable Long id) {
-        OrderResponseDTO orders = service.findById(id);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<OrderResponseDTO> findById(@PathVariable Long id, WebRequest request) {
+        OrderVersionDTO version = service.findVersion(id);
+        if (!version.isTerminal()) {
+            return ResponseEntity.ok(service.findById(id));
+        }
+
+        if (request.checkNotModified(version.etag())) {
+            // Status 304 e ETag já foram escritos na resposta
+            return null;
+        }
+        OrderResponseDTO order = service.findById(id);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(version.etag())
+                .body(order);
     }
 
     /**
@@ -64,14 +172,95 @@ public class OrderController {
      * Endpoint: <code>POST /orders</code>
      * O corpo da requisição deve conter o ID do cliente e a lista de itens.
      * </p>
+     * <p>
+     * <b>Idempotência:</b> se o cabeçalho {@code Idempotency-Key} for enviado, repetições com a
+     * mesma chave devolvem o pedido criado na primeira vez (com {@code Idempotent-Replayed: true})
+     * em vez de criar um novo.
+     * </p>
      * @param dto Objeto com os dados de entrada validados (Cliente e itens).
+     * @param idempotencyKey (Opcional) Chave única gerada pelo cliente para esta criação.
      * @return Retorna status 201 (Created) e o corpo do pedido recém-criado (incluindo ID e totais calculados).
      */
     @PostMapping
-    public ResponseEntity<OrderResponseDTO> create(@RequestBody @Valid OrderRequestDTO dto) {
-        OrderResponseDTO createdOrder = service.create(dto);
+    public ResponseEntity<OrderResponseDTO> create(@RequestBody @Valid OrderRequestDTO dto,
+                                                   @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            OrderResponseDTO createdOrder = service.create(dto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+        }
+
+        IdempotencyService.Result<OrderResponseDTO> result = idempotencyService.execute(
+                "POST /orders", idempotencyKey, dto, OrderResponseDTO.class, HttpStatus.CREATED.value(), () -> service.create(dto));
+
+        return ResponseEntity.status(result.status())
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.body());
+    }
+
+    /**
+     * Cria vários pedidos em uma única requisição (importação de marketplace).
+     * <p>
+     * Endpoint: <code>POST /orders/bulk</code>
+     * O corpo é um array com o mesmo formato do <code>POST /orders</code>.
+     * </p>
+     * <p>
+     * Os pedidos são gravados em blocos, com INSERTs em batch. Um pedido inválido não impede
+     * a criação dos demais: cada posição do array recebe o ID criado ou os erros encontrados.
+     * </p>
+     * @param requests Lista de pedidos a criar.
+     * @return Retorna status 200 (OK) com o resultado individual de cada pedido.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkOrderResponseDTO> createBulk(@RequestBody List<OrderRequestDTO> requests) {
+        BulkOrderResponseDTO result = bulkService.createAll(requests);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Aceita um pedido para criação assíncrona, sem esperar a gravação no banco.
+     * <p>
+     * Endpoint: <code>POST /orders/async</code>
+     * O corpo tem o mesmo formato do <code>POST /orders</code>.
+     * </p>
+     * <p>
+     * <b>Fluxo:</b> o pedido é validado (formato) e entra na fila; a resposta traz um comprovante e o
+     * cabeçalho {@code Location} para acompanhar o andamento. Cliente ou produto inexistente, produto
+     * inativo ou falta de estoque só aparecem no comprovante, como {@code REJECTED}.
+     * </p>
+     * @param dto Objeto com os dados de entrada validados (Cliente e itens).
+     * @return Retorna status 202 (Accepted) com o comprovante, ou 503 (Service Unavailable) com
+     * {@code Retry-After} se a fila estiver cheia.
+     */
+    @PostMapping("/async")
+    public ResponseEntity<OrderTicketDTO> createAsync(@RequestBody @Valid OrderRequestDTO dto) {
+        OrderTicketDTO ticket = queueService.submit(dto);
+        return ResponseEntity.accepted()
+                .location(URI.create("/orders/async/" + ticket.ticket()))
+                .body(ticket);
+    }
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+    /**
+     * Consulta o andamento de um pedido enviado para <code>POST /orders/async</code>.
+     * <p>
+     * Endpoint: <code>GET /orders/async/{ticket}</code>
+     * </p>
+     * @return Retorna status 200 (OK) com o status ({@code QUEUED}, {@code PROCESSING}, {@code CREATED}
+     * com o ID do pedido, ou {@code REJECTED} com os erros), ou 404 se o comprovante não existir ou já tiver expirado.
+     */
+    @GetMapping("/async/{ticket}")
+    public ResponseEntity<OrderTicketDTO> findTicket(@PathVariable String ticket) {
+        return ResponseEntity.ok(queueService.find(ticket));
+    }
+
+    /**
+     * Situação da fila de pedidos assíncronos.
+     * <p>
+     * Endpoint: <code>GET /orders/async/stats</code>
+     * </p>
+     */
+    @GetMapping("/async/stats")
+    public ResponseEntity<OrderQueueStatsDTO> queueStats() {
+        return ResponseEntity.ok(queueService.stats());
     }
 
     /**
@@ -90,4 +279,36 @@ public class OrderController {
         
         return ResponseEntity.ok(updatedOrder);
     }
+
+    /**
+     * Dispara manualmente a verificação do total pago de todos os pedidos.
+     * <p>
+     * Endpoint: <code>POST /orders/paid-check</code>
+     * </p>
+     * <p>
+     * Compara o total corrente de cada pedido com a soma real da tabela de pagamentos.
+     * A mesma rotina roda de forma agendada.
+     * </p>
+     * @return Retorna status 200 (OK) com as divergências encontradas.
+     */
+    @PostMapping("/paid-check")
+    public ResponseEntity<PaidTotalCheckResultDTO> checkPaidTotals() {
+        return ResponseEntity.ok(paidTotalCheckService.check());
+    }
+
+    /**
+     * Recria a tabela de resumos usada nas listagens a partir dos pedidos.
+     * <p>
+     * Endpoint: <code>POST /orders/summary/rebuild</code>
+     * </p>
+     * <p>
+     * <b>Uso:</b> operação de manutenção (primeira carga, correção de divergências). Roda numa única
+     * transação no banco; na inicialização acontece sozinha se faltarem resumos.
+     * </p>
+     * @return Retorna status 200 (OK) com a quantidade de resumos gravados.
+     */
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<OrderSummaryRebuildResultDTO> rebuildSummaries() {
+        return ResponseEntity.ok(summaryService.rebuild());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.joaofroes.gestao_pedidos.controller;
+
+import com.joaofroes.gestao_pedidos.domain.event.OrderLedgerEvent;
+import com.joaofroes.gestao_pedidos.dto.LedgerReplayResultDTO;
+import com.joaofroes.gestao_pedidos.dto.LedgerStatsDTO;
+import com.joaofroes.gestao_pedidos.dto.LedgerVerifyResultDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderProjectionDTO;
+import com.joaofroes.gestao_pedidos.service.OrderLedgerService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST do ledger de pedidos: histórico de eventos de cada pedido, estado calculado a partir
+ * dele e as operações de manutenção (snapshot, replay e verificação contra a tabela).
+ * Mapeado para o caminho base <code>/orders</code>.
+ */
+@RestController
+@RequestMapping("/orders")
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {
+    RequestMethod.GET, RequestMethod.POST, RequestMethod.OPTIONS
+})
+public class OrderLedgerController {
+
+    private final OrderLedgerService service;
+
+    public OrderLedgerController(OrderLedgerService service) {
+        this.service = service;
+    }
+
+    /**
+     * Eventos de um pedido (criação, itens, pagamentos e mudanças de status), na ordem em que foram gravados.
+     * <p>
+     * Endpoint: <code>GET /orders/{id}/history</code>
+     * </p>
+     * <p>
+     * <b>Uso:</b> diagnóstico. A busca percorre o ledger inteiro.
+     * </p>
+     * @return Retorna status 200 (OK) com os eventos, ou 404 se o pedido não tiver eventos no ledger.
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<OrderLedgerEvent>> history(@PathVariable Long id) {
+        return ResponseEntity.ok(service.history(id));
+    }
+
+    /**
+     * Estado do pedido calculado a partir do ledger.
+     * <p>
+     * Endpoint: <code>GET /orders/{id}/projection</code>
+     * </p>
+     */
+    @GetMapping("/{id}/projection")
+    public ResponseEntity<OrderProjectionDTO> projection(@PathVariable Long id) {
+        return ResponseEntity.ok(service.find(id));
+    }
+
+    /**
+     * Situação do ledger: última posição, segmentos, tamanho e último snapshot.
+     * <p>
+     * Endpoint: <code>GET /orders/ledger/stats</code>
+     * </p>
+     */
+    @GetMapping("/ledger/stats")
+    public ResponseEntity<LedgerStatsDTO> stats() {
+        return ResponseEntity.ok(service.stats());
+    }
+
+    /**
+     * Grava um snapshot da projeção atual (também acontece sozinho a cada {@code app.ledger.snapshot-every} eventos).
+     * <p>
+     * Endpoint: <code>POST /orders/ledger/snapshot</code>
+     * </p>
+     */
+    @PostMapping("/ledger/snapshot")
+    public ResponseEntity<LedgerStatsDTO> snapshot() {
+        return ResponseEntity.ok(service.snapshot());
+    }
+
+    /**
+     * Reconstrói a projeção a partir do disco.
+     * <p>
+     * Endpoint: <code>POST /orders/ledger/replay?fromSnapshot=false</code>
+     * </p>
+     * <p>
+     * <b>Uso:</b> operação de manutenção. Enquanto roda, a gravação de novos eventos fica em espera.
+     * </p>
+     * @param fromSnapshot (Opcional) Parte do último snapshot (padrão) ou relê todos os eventos.
+     */
+    @PostMapping("/ledger/replay")
+    public ResponseEntity<LedgerReplayResultDTO> replay(@RequestParam(defaultValue = "true") boolean fromSnapshot) {
+        return ResponseEntity.ok(service.replay(fromSnapshot));
+    }
+
+    /**
+     * Compara status, total e total pago de cada pedido da tabela com a projeção do ledger.
+     * <p>
+     * Endpoint: <code>POST /orders/ledger/verify</code>
+     * </p>
+     * @return Retorna status 200 (OK) com as divergências encontradas.
+     */
+    @PostMapping("/ledger/verify")
+    public ResponseEntity<LedgerVerifyResultDTO> verify() {
+        return ResponseEntity.ok(service.verify());
+    }
+}
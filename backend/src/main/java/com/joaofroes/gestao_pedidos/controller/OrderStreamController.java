@@ -0,0 +1,60 @@
+package com.joaofroes.gestao_pedidos.controller;
+
+import com.joaofroes.gestao_pedidos.dto.OrderStreamStatsDTO;
+import com.joaofroes.gestao_pedidos.service.OrderStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controlador REST do stream de pedidos (Server-Sent Events): o frontend recebe criações e mudanças
+ * de status assim que são confirmadas, em vez de recarregar a lista periodicamente.
+ * Mapeado para o caminho base <code>/orders</code>.
+ */
+@RestController
+@RequestMapping("/orders")
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {
+    RequestMethod.GET, RequestMethod.OPTIONS
+})
+public class OrderStreamController {
+
+    private final OrderStreamService service;
+
+    public OrderStreamController(OrderStreamService service) {
+        this.service = service;
+    }
+
+    /**
+     * Abre o stream de eventos de pedidos.
+     * <p>
+     * Endpoint: <code>GET /orders/stream</code>
+     * </p>
+     * <p>
+     * Eventos {@code OrderCreated} e {@code OrderStatusChanged} trazem o pedido (ID, cliente, status anterior
+     * e atual, total e total pago). Um evento {@code resync} indica que eventos foram perdidos e a lista
+     * deve ser recarregada. Comentários periódicos mantêm a conexão aberta.
+     * </p>
+     * <p>
+     * <b>Uso:</b> {@code new EventSource(API_URL + '/orders/stream')}. Na reconexão o navegador envia
+     * {@code Last-Event-ID} sozinho e recebe só o que perdeu.
+     * </p>
+     * @param lastEventId (Opcional) Último evento recebido numa conexão anterior.
+     * @return Retorna o stream (text/event-stream), ou 503 se o limite de assinantes foi atingido.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return service.subscribe(lastEventId);
+    }
+
+    /**
+     * Assinantes conectados, eventos publicados e entregues, e desconexões (inclusive por lentidão).
+     * <p>
+     * Endpoint: <code>GET /orders/stream/stats</code>
+     * </p>
+     */
+    @GetMapping("/stream/stats")
+    public ResponseEntity<OrderStreamStatsDTO> stats() {
+        return ResponseEntity.ok(service.stats());
+    }
+}
@@ -1,6 +1,7 @@
 package com.joaofroes.gestao_pedidos.controller;
 
 import com.joaofroes.gestao_pedidos.dto.PaymentRequestDTO;
+import com.joaofroes.gestao_pedidos.service.IdempotencyService;
 import com.joaofroes.gestao_pedidos.service.PaymentService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -24,9 +25,11 @@ import org.springframework.web.bind.annotation.*;
 public class PaymentController {
 
     private final PaymentService service;
+    private final IdempotencyService idempotencyService;
 
-    public PaymentController(PaymentService service) {
+    public PaymentController(PaymentService service, IdempotencyService idempotencyService) {
         this.service = service;
+        this.idempotencyService = idempotencyService;
     }
     
     /**
@@ -39,13 +42,28 @@ public class PaymentController {
      * recalcula o saldo do pedido. Se o total pago cobrir o valor do pedido,
      * o status do pedido será atualizado para {@code PAID}.
      * </p>
+     * <p>
+     * <b>Idempotência:</b> se o cabeçalho {@code Idempotency-Key} for enviado, repetições com a
+     * mesma chave não registram um novo pagamento; a resposta original é devolvida
+     * (com {@code Idempotent-Replayed: true}).
+     * </p>
      * @param dto Objeto contendo o ID do pedido, o valor em centavos e o método de pagamento.
+     * @param idempotencyKey (Opcional) Chave única gerada pelo cliente para este pagamento.
      * @return Retorna status 201 (Created) e os dados do pagamento confirmado.
      */
     @PostMapping
-    public ResponseEntity<PaymentRequestDTO> create(@RequestBody @Valid PaymentRequestDTO dto) {
-        PaymentRequestDTO createdPayment = service.create(dto);
+    public ResponseEntity<PaymentRequestDTO> create(@RequestBody @Valid PaymentRequestDTO dto,
+                                                    @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            PaymentRequestDTO createdPayment = service.create(dto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdPayment);
+        }
+
+        IdempotencyService.Result<PaymentRequestDTO> result = idempotencyService.execute(
+                "POST /payments", idempotencyKey, dto, PaymentRequestDTO.class, HttpStatus.CREATED.value(), () -> service.create(dto));
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdPayment);
+        return ResponseEntity.status(result.status())
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.body());
     }
 }
\ No newline at end of file
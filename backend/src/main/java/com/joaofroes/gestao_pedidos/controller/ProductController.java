@@ -1,9 +1,19 @@
 package com.joaofroes.gestao_pedidos.controller;
 
+import com.joaofroes.gestao_pedidos.dto.CacheStatsDTO;
 import com.joaofroes.gestao_pedidos.dto.ProductDTO;
+import com.joaofroes.gestao_pedidos.dto.ProductPageResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.StockLevelDTO;
+import com.joaofroes.gestao_pedidos.dto.StockRequestDTO;
+import com.joaofroes.gestao_pedidos.service.CatalogVersion;
+import com.joaofroes.gestao_pedidos.service.ProductCatalogCache;
 import com.joaofroes.gestao_pedidos.service.ProductService;
+import com.joaofroes.gestao_pedidos.service.StockService;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,6 +24,11 @@ import java.util.List;
  * Fornece endpoints para consulta e filtragem de itens disponíveis para venda.
  * Mapeado para o caminho base <code>/products</code>.
  * </p>
+ * <p>
+ * <b>Cache HTTP:</b> as leituras do catálogo respondem com ETag forte e Last-Modified derivados
+ * de {@link CatalogVersion}. Um GET com {@code If-None-Match} (ou {@code If-Modified-Since}) ainda
+ * válido recebe 304 (Not Modified) sem consultar o banco nem serializar a lista.
+ * </p>
  * @author Joao Froes
  */
 @RestController
@@ -24,9 +39,16 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService service;
+    private final ProductCatalogCache catalogCache;
+    private final CatalogVersion catalogVersion;
+    private final StockService stockService;
 
-    public ProductController(ProductService service) {
+    public ProductController(ProductService service, ProductCatalogCache catalogCache, CatalogVersion catalogVersion,
+                             StockService stockService) {
         this.service = service;
+        this.catalogCache = catalogCache;
+        this.catalogVersion = catalogVersion;
+        this.stockService = stockService;
     }
 
     /**
@@ -43,15 +65,116 @@ public class ProductController {
      * @param category (Opcional) Nome exato da categoria para filtragem.
      * @param active (Opcional) Estado do produto. Se {@code true}, retorna apenas os visíveis na loja.
      * Se não informado, pode retornar todos (útil para visão administrativa).
-     * @return Retorna status 200 (OK) e a lista de produtos que correspondem aos critérios.
+     * @return Retorna status 200 (OK) e a lista de produtos que correspondem aos critérios,
+     * ou 304 (Not Modified) se o catálogo não mudou desde a ETag enviada.
      */
     @GetMapping
     public ResponseEntity<List<ProductDTO>> findAll(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) Boolean active
+            @RequestParam(required = false) Boolean active,
+            WebRequest request
     ){
+        // A versão é lida antes dos dados: se o catálogo mudar no meio, a ETag fica "velha" e o
+        // próximo GET condicional recebe o corpo novo, nunca o contrário
+        String etag = catalogVersion.etag();
+        long lastModified = catalogVersion.lastModified();
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+
         List<ProductDTO> products = service.findAll(name, category, active);
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(products);
+    }
+
+    /**
+     * Lista produtos de forma paginada, combinando todos os filtros e com ordenação escolhida.
+     * <p>
+     * Endpoint: <code>GET /products/page?name=...&amp;category=...&amp;active=true&amp;sort=-price&amp;cursor=...&amp;size=20&amp;withTotal=true</code>
+     * </p>
+     * <p>
+     * A paginação é feita por cursor (keyset) sobre (coluna ordenada, id), então o custo de cada
+     * página não cresce com o número de produtos já percorridos.
+     * </p>
+     * @param name (Opcional) Trecho do nome do produto.
+     * @param category (Opcional) Nome exato da categoria.
+     * @param active (Opcional) Estado do produto. Com nome ou categoria e sem status, assume {@code true}.
+     * @param sort (Opcional) {@code name} (padrão), {@code -name}, {@code price} ou {@code -price}.
+     * @param cursor (Opcional) Valor de {@code nextCursor} da página anterior, gerado com a mesma ordenação.
+     * @param size (Opcional) Quantidade de produtos por página. Usa o padrão configurado se não informado.
+     * @param withTotal (Opcional) Se {@code true}, a primeira página traz o total de resultados.
+     * @return Retorna status 200 (OK) com a página de produtos e o cursor da próxima página,
+     * ou 304 (Not Modified) se o catálogo não mudou desde a ETag enviada.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<ProductPageResponseDTO> findPage(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            WebRequest request
+    ) {
+        String etag = catalogVersion.etag();
+        long lastModified = catalogVersion.lastModified();
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+
+        ProductPageResponseDTO page = service.findPage(name, category, active, sort, cursor, size, withTotal);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(page);
+    }
+
+    /**
+     * Expõe as métricas do cache em memória do catálogo.
+     * <p>
+     * Endpoint: <code>GET /products/cache/stats</code>
+     * </p>
+     * @return Retorna status 200 (OK) com hits, misses, recargas, invalidações e tamanho atual.
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsDTO> cacheStats() {
+        return ResponseEntity.ok(catalogCache.stats());
+    }
+
+    /**
+     * Consulta a posição de estoque de um produto.
+     * <p>
+     * Endpoint: <code>GET /products/{id}/stock</code>
+     * </p>
+     * @return Retorna status 200 (OK) com estoque físico, reservado e disponível,
+     * ou 404 (Not Found) se o produto não tiver estoque controlado.
+     */
+    @GetMapping("/{id}/stock")
+    public ResponseEntity<StockLevelDTO> stock(@PathVariable Long id) {
+        return ResponseEntity.ok(stockService.level(id));
+    }
+
+    /**
+     * Informa a contagem física de estoque de um produto.
+     * <p>
+     * Endpoint: <code>PUT /products/{id}/stock</code>
+     * </p>
+     * <p>
+     * <b>Regra de Negócio:</b> na primeira contagem o produto passa a ter estoque controlado: novos pedidos
+     * reservam unidades e são recusados com 409 (Conflict) quando não há disponível. As reservas de
+     * pedidos já em aberto são descontadas na hora.
+     * </p>
+     * @param dto Quantidade em estoque físico (sem descontar reservas).
+     * @return Retorna status 200 (OK) com a nova posição de estoque.
+     */
+    @PutMapping("/{id}/stock")
+    public ResponseEntity<StockLevelDTO> updateStock(@PathVariable Long id, @RequestBody @Valid StockRequestDTO dto) {
+        return ResponseEntity.ok(stockService.setOnHand(id, dto.onHand()));
     }
-}
\ No newline at end of file
+}
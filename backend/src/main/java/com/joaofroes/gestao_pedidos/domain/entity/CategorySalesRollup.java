@@ -0,0 +1,79 @@
+package com.joaofroes.gestao_pedidos.domain.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Quantidade e valor vendidos por categoria de produto em um dia (pedidos não cancelados, pelo dia de criação).
+ * Mapeada para a tabela "analytics_category_sales", com chave (dia, categoria).
+ */
+@Entity
+@Table(name = "analytics_category_sales")
+@IdClass(CategorySalesRollup.Key.class)
+public class CategorySalesRollup {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Id
+    @Column(nullable = false)
+    private String category;
+
+    @Column(name = "quantity", nullable = false)
+    private long quantity;
+
+    @Column(name = "revenue_cents", nullable = false)
+    private long revenueCents;
+
+    public CategorySalesRollup() {
+    }
+
+    public CategorySalesRollup(LocalDate salesDate, String category, long quantity, long revenueCents) {
+        this.salesDate = salesDate;
+        this.category = category;
+        this.quantity = quantity;
+        this.revenueCents = revenueCents;
+    }
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public long getRevenueCents() {
+        return revenueCents;
+    }
+
+    public static class Key implements Serializable {
+        private LocalDate salesDate;
+        private String category;
+
+        public Key() {
+        }
+
+        public Key(LocalDate salesDate, String category) {
+            this.salesDate = salesDate;
+            this.category = category;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(salesDate, other.salesDate) && Objects.equals(category, other.category);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(salesDate, category);
+        }
+    }
+}
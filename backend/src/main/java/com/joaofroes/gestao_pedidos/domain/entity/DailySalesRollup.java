@@ -0,0 +1,88 @@
+package com.joaofroes.gestao_pedidos.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Totais de vendas de um dia, mantidos de forma incremental para os relatórios de analytics.
+ * <p>
+ * Pedidos (quantidade, cancelados, pagos, itens e valor vendido) contam no dia de criação do pedido,
+ * para que a reconstrução a partir do histórico chegue exatamente aos mesmos números.
+ * O valor recebido ({@code receivedCents}) conta no dia de cada pagamento.
+ * Mapeada para a tabela "analytics_daily_sales".
+ * </p>
+ */
+@Entity
+@Table(name = "analytics_daily_sales")
+public class DailySalesRollup {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private long cancelledCount;
+
+    @Column(name = "paid_count", nullable = false)
+    private long paidCount;
+
+    @Column(name = "items_sold", nullable = false)
+    private long itemsSold;
+
+    /**
+     * Soma do total dos pedidos não cancelados criados no dia, em centavos.
+     */
+    @Column(name = "booked_cents", nullable = false)
+    private long bookedCents;
+
+    /**
+     * Soma dos pagamentos registrados no dia, em centavos.
+     */
+    @Column(name = "received_cents", nullable = false)
+    private long receivedCents;
+
+    public DailySalesRollup() {
+    }
+
+    public DailySalesRollup(LocalDate salesDate, long orderCount, long cancelledCount, long paidCount,
+                            long itemsSold, long bookedCents, long receivedCents) {
+        this.salesDate = salesDate;
+        this.orderCount = orderCount;
+        this.cancelledCount = cancelledCount;
+        this.paidCount = paidCount;
+        this.itemsSold = itemsSold;
+        this.bookedCents = bookedCents;
+        this.receivedCents = receivedCents;
+    }
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public long getCancelledCount() {
+        return cancelledCount;
+    }
+
+    public long getPaidCount() {
+        return paidCount;
+    }
+
+    public long getItemsSold() {
+        return itemsSold;
+    }
+
+    public long getBookedCents() {
+        return bookedCents;
+    }
+
+    public long getReceivedCents() {
+        return receivedCents;
+    }
+}
@@ -0,0 +1,93 @@
+package com.joaofroes.gestao_pedidos.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Resposta já produzida para uma requisição com cabeçalho {@code Idempotency-Key}.
+ * <p>
+ * Quando o cliente repete a requisição (ex: após um timeout), a resposta gravada aqui
+ * é devolvida novamente, sem executar a operação outra vez.
+ * Mapeada para a tabela "idempotency_keys".
+ * </p>
+ */
+@Entity
+// Limpeza periódica das chaves expiradas (deleteExpired)
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+
+    /**
+     * Chave composta por escopo (operação) e valor do cabeçalho, ex: "POST /orders:abc-123".
+     */
+    @Id
+    @Column(length = 300)
+    private String id;
+
+    /**
+     * Hash SHA-256 do corpo da requisição original.
+     * Usado para recusar a mesma chave enviada com um corpo diferente.
+     */
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    /**
+     * Status HTTP da resposta original, devolvido igual nas repetições.
+     * Nulo em chaves gravadas antes desta coluna existir, que só podiam ser respostas 201.
+     */
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    /**
+     * Corpo da resposta original, em JSON.
+     */
+    @Column(name = "response_body", nullable = false, length = 1_000_000)
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Momento a partir do qual a chave deixa de valer e pode ser removida.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String id, String requestHash, int responseStatus, String responseBody,
+                             LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.id = id;
+        this.requestHash = requestHash;
+        this.responseStatus = responseStatus;
+        this.responseBody = responseBody;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public int getResponseStatus() {
+        return (responseStatus != null) ? responseStatus : 201;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
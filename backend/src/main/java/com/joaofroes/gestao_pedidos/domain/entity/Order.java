@@ -1,5 +1,7 @@
 package com.joaofroes.gestao_pedidos.domain.entity;
+import com.joaofroes.gestao_pedidos.domain.id.SequentialId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,15 +15,16 @@ import java.util.List;
  * @see Payment
  */
 @Entity
+// Sem índice por data: listagem e paginação leem order_summary, e a exportação percorre a chave primária
 @Table(name = "orders")
 public class Order {
 
     /**
      * Identificador único do pedido (Chave Primária).
-     * Gerado automaticamente pelo banco de dados.
+     * Gerado pela aplicação antes do INSERT ({@link SequentialId}), o que permite inserir pedidos em batch.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequentialId(table = "orders")
     private Long id;
 
     /**
@@ -48,6 +51,31 @@ public class Order {
     @Column(name = "total_cents", nullable = false)
     private Integer totalCents = 0;
 
+    /**
+     * Soma de todos os pagamentos já registrados para o pedido, em centavos.
+     * <p>
+     * <b>Decisão de Arquitetura:</b> total corrente mantido a cada pagamento (protegido pela
+     * {@code version} do pedido), para que registrar um pagamento ou ler o pedido não precise somar a lista de
+     * {@link Payment}. A consistência com a tabela de pagamentos é verificada periodicamente.
+     * </p>
+     */
+    @ColumnDefault("0")
+    @Column(name = "paid_cents", nullable = false)
+    private Long paidCents = 0L;
+
+    /**
+     * Versão do registro, usada pelo lock otimista.
+     * <p>
+     * Toda alteração no pedido (pagamento, mudança de status) incrementa a versão. Se duas
+     * transações alterarem o mesmo pedido ao mesmo tempo, a segunda falha ao gravar e é repetida,
+     * em vez de sobrescrever a primeira (ex: dois pagamentos aprovando o mesmo saldo).
+     * </p>
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Lista de itens que compõem este pedido.
      * O {@code CascadeType.ALL} garante que ao salvar o pedido, os itens também sejam salvos.
@@ -57,7 +85,7 @@ public class Order {
 
     /**
      * Lista de pagamentos registrados para este pedido.
-     * Usada para calcular o total pago e determinar se o pedido pode ser marcado como PAID.
+     * Usada apenas para exibir o histórico; o total pago fica em {@code paidCents}.
      * Busca todos pagamentos ao receber um getPayments().
      */
     @OneToMany(mappedBy = "order") 
@@ -120,6 +148,18 @@ public class Order {
         this.totalCents = totalCents;
     }
 
+    public Long getPaidCents() {
+        return paidCents;
+    }
+
+    public void setPaidCents(Long paidCents) {
+        this.paidCents = paidCents;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
     public List<OrderItem> getItems() {
         return items;
     }
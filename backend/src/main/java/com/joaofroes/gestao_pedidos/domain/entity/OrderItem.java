@@ -1,4 +1,5 @@
 package com.joaofroes.gestao_pedidos.domain.entity;
+import com.joaofroes.gestao_pedidos.domain.id.SequentialId;
 import jakarta.persistence.*;
 
 /**
@@ -10,14 +11,17 @@ import jakarta.persistence.*;
  * * @author Joao Froes
  */
 @Entity
-@Table(name = "order_items")
+// Carga dos itens de um pedido (order_id não é chave primária, então não tem índice automático)
+@Table(name = "order_items", indexes = {
+    @Index(name = "idx_order_items_order_id", columnList = "order_id")
+})
 public class OrderItem {
 
     /**
      * Identificador único do item do pedido.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequentialId(table = "order_items")
     private Long id;
 
     /**
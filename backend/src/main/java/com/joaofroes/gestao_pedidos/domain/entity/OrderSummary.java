@@ -0,0 +1,113 @@
+package com.joaofroes.gestao_pedidos.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Resumo de um {@link Order} para as listagens (modelo de leitura).
+ * <p>
+ * Uma linha por pedido, já com os dados do cliente, os totais e a quantidade de itens: a listagem lê
+ * só esta tabela, numa única consulta por intervalo no índice (createdAt, orderId), sem juntar clientes,
+ * itens, produtos e pagamentos. O detalhe completo do pedido continua vindo das tabelas normalizadas.
+ * </p>
+ * <p>
+ * <b>Decisão de Arquitetura:</b> a linha é gravada e atualizada pelo {@code OrderSummaryService} na
+ * mesma transação que altera o pedido, então a listagem nunca fica atrás do detalhe. Não há chave
+ * estrangeira para {@code orders}: é uma cópia descartável, recriada por inteiro na reconstrução.
+ * Mapeada para a tabela "order_summary".
+ * </p>
+ */
+@Entity
+@Table(name = "order_summary", indexes = {
+    @Index(name = "idx_order_summary_created_at_id", columnList = "created_at, order_id")
+})
+public class OrderSummary {
+
+    /**
+     * Mesmo ID do pedido (relação 1:1, sem chave gerada).
+     */
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "customer_name", nullable = false, length = 120)
+    private String customerName;
+
+    @Column(name = "customer_email", nullable = false, length = 160)
+    private String customerEmail;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "total_cents", nullable = false)
+    private Integer totalCents;
+
+    @Column(name = "paid_cents", nullable = false)
+    private Long paidCents;
+
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public OrderSummary() {
+    }
+
+    /**
+     * Resumo do pedido já gravado (com ID e {@code createdAt}). Lê o cliente e a lista de itens já carregados.
+     */
+    public static OrderSummary of(Order order) {
+        OrderSummary summary = new OrderSummary();
+        summary.orderId = order.getId();
+        summary.customerId = order.getCustomer().getId();
+        summary.customerName = order.getCustomer().getName();
+        summary.customerEmail = order.getCustomer().getEmail();
+        summary.status = order.getStatus();
+        summary.totalCents = order.getTotalCents();
+        summary.paidCents = order.getPaidCents();
+        summary.itemCount = order.getItems().size();
+        summary.createdAt = order.getCreatedAt();
+        return summary;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Integer getTotalCents() {
+        return totalCents;
+    }
+
+    public Long getPaidCents() {
+        return paidCents;
+    }
+
+    public Integer getItemCount() {
+        return itemCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,114 @@
+package com.joaofroes.gestao_pedidos.domain.entity;
+
+import com.joaofroes.gestao_pedidos.domain.id.SequentialId;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de domínio gravado na mesma transação da mudança que o originou (padrão transactional outbox).
+ * <p>
+ * Se a transação for desfeita, o evento some junto; se ela for confirmada, o evento fica pendente
+ * ({@code dispatched_at} nulo) até o {@code OutboxDispatcher} entregá-lo a todos os destinos.
+ * Mapeada para a tabela "outbox_events".
+ * </p>
+ */
+@Entity
+// Leitura dos pendentes em ordem de ID (dispatcher) e limpeza dos já entregues por data
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_dispatched_at_id", columnList = "dispatched_at, id")
+})
+public class OutboxEvent {
+
+    /**
+     * Também é a chave de deduplicação para os consumidores: a entrega é "pelo menos uma vez".
+     */
+    @Id
+    @SequentialId(table = "outbox_events")
+    private Long id;
+
+    /**
+     * Tipo do agregado de origem (ex: "Order").
+     */
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    /**
+     * Tipo do evento (ex: "OrderCreated", "OrderStatusChanged").
+     */
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    /**
+     * Conteúdo do evento, em JSON.
+     */
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Momento em que todos os destinos confirmaram a entrega. Nulo enquanto pendente.
+     */
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    /**
+     * Tentativas de entrega que falharam.
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String aggregateType, Long aggregateId, String eventType, String payload, LocalDateTime createdAt) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getDispatchedAt() {
+        return dispatchedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
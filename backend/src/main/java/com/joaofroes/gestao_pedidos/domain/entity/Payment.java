@@ -15,7 +15,10 @@ import java.time.LocalDateTime;
  * @author Joao Froes
  */
 @Entity
-@Table(name = "payments")
+// Pagamentos de um pedido: findByOrderId, findAllByOrder e a carga em lote da paginação
+@Table(name = "payments", indexes = {
+    @Index(name = "idx_payments_order_id", columnList = "order_id")
+})
 public class Payment {
 
     /**
@@ -0,0 +1,80 @@
+package com.joaofroes.gestao_pedidos.domain.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Pagamentos recebidos por forma de pagamento em um dia (pelo dia do pagamento).
+ * Mapeada para a tabela "analytics_payment_method_sales", com chave (dia, forma de pagamento).
+ */
+@Entity
+@Table(name = "analytics_payment_method_sales")
+@IdClass(PaymentMethodSalesRollup.Key.class)
+public class PaymentMethodSalesRollup {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private PaymentMethod method;
+
+    @Column(name = "payment_count", nullable = false)
+    private long paymentCount;
+
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
+
+    public PaymentMethodSalesRollup() {
+    }
+
+    public PaymentMethodSalesRollup(LocalDate salesDate, PaymentMethod method, long paymentCount, long amountCents) {
+        this.salesDate = salesDate;
+        this.method = method;
+        this.paymentCount = paymentCount;
+        this.amountCents = amountCents;
+    }
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public PaymentMethod getMethod() {
+        return method;
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public static class Key implements Serializable {
+        private LocalDate salesDate;
+        private PaymentMethod method;
+
+        public Key() {
+        }
+
+        public Key(LocalDate salesDate, PaymentMethod method) {
+            this.salesDate = salesDate;
+            this.method = method;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(salesDate, other.salesDate) && Objects.equals(method, other.method);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(salesDate, method);
+        }
+    }
+}
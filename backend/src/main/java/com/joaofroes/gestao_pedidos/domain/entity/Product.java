@@ -11,7 +11,15 @@ import jakarta.persistence.*;
  * @author Joao Froes
  */
 @Entity
-@Table(name = "products")
+// Filtros da listagem: categoria + status (findByCategoryAndActive) e só status (findByActive e busca por nome)
+@Table(name = "products", indexes = {
+    @Index(name = "idx_products_category_active", columnList = "category, active"),
+    @Index(name = "idx_products_active", columnList = "active"),
+    // Listagem paginada (GET /products/page): filtro por status já na ordem de preço/nome + id do keyset
+    @Index(name = "idx_products_active_price", columnList = "active, price_cents, id"),
+    @Index(name = "idx_products_active_name", columnList = "active, name, id")
+})
+@EntityListeners(ProductChangeListener.class)
 public class Product {
 
     /**
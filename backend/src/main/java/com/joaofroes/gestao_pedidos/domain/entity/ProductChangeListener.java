@@ -0,0 +1,31 @@
+package com.joaofroes.gestao_pedidos.domain.entity;
+
+import com.joaofroes.gestao_pedidos.domain.event.ProductChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Listener JPA que transforma qualquer escrita em {@link Product} em um {@link ProductChangedEvent}.
+ * <p>
+ * Instanciado pelo Hibernate através do container de beans do Spring, por isso pode receber
+ * dependências no construtor. Publicar um evento (em vez de chamar o cache diretamente)
+ * evita dependência circular entre o EntityManagerFactory e os beans que usam repositórios.
+ * </p>
+ */
+public class ProductChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public ProductChangeListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Product product) {
+        publisher.publishEvent(new ProductChangedEvent(product.getId()));
+    }
+}
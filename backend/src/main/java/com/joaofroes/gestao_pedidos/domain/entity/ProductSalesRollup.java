@@ -0,0 +1,79 @@
+package com.joaofroes.gestao_pedidos.domain.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Quantidade e valor vendidos por produto em um dia (pedidos não cancelados, pelo dia de criação).
+ * Mapeada para a tabela "analytics_product_sales", com chave (dia, produto).
+ */
+@Entity
+@Table(name = "analytics_product_sales")
+@IdClass(ProductSalesRollup.Key.class)
+public class ProductSalesRollup {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "quantity", nullable = false)
+    private long quantity;
+
+    @Column(name = "revenue_cents", nullable = false)
+    private long revenueCents;
+
+    public ProductSalesRollup() {
+    }
+
+    public ProductSalesRollup(LocalDate salesDate, Long productId, long quantity, long revenueCents) {
+        this.salesDate = salesDate;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.revenueCents = revenueCents;
+    }
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public long getRevenueCents() {
+        return revenueCents;
+    }
+
+    public static class Key implements Serializable {
+        private LocalDate salesDate;
+        private Long productId;
+
+        public Key() {
+        }
+
+        public Key(LocalDate salesDate, Long productId) {
+            this.salesDate = salesDate;
+            this.productId = productId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(salesDate, other.salesDate) && Objects.equals(productId, other.productId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(salesDate, productId);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.joaofroes.gestao_pedidos.domain.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Estoque de um {@link Product}. Produtos sem linha nesta tabela não têm estoque controlado
+ * (podem ser vendidos sem limite, como antes do controle de estoque existir).
+ * <p>
+ * Disponível para venda = {@code on_hand - reserved}:
+ * </p>
+ * <ul>
+ * <li><b>Pedido criado ({@code NEW}):</b> a quantidade é reservada.</li>
+ * <li><b>Pedido pago ({@code PAID}):</b> a reserva vira baixa no estoque físico.</li>
+ * <li><b>Pedido cancelado ({@code CANCELLED}):</b> a reserva (ou a baixa, se já estava pago) é devolvida.</li>
+ * </ul>
+ * <p>
+ * Os valores gravados aqui ficam até um intervalo de flush atrás dos contadores em memória do
+ * {@code StockService}, que são a referência para aceitar ou recusar pedidos.
+ * Mapeada para a tabela "product_stock".
+ * </p>
+ */
+@Entity
+@Table(name = "product_stock")
+public class ProductStock {
+
+    /**
+     * Mesmo ID do produto (relação 1:1, sem chave gerada).
+     */
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    /**
+     * Unidades fisicamente em estoque (já descontadas as vendas pagas).
+     */
+    @Column(name = "on_hand", nullable = false)
+    private long onHand;
+
+    /**
+     * Unidades reservadas por pedidos ainda não pagos.
+     */
+    @Column(nullable = false)
+    private long reserved;
+
+    public ProductStock() {
+    }
+
+    public ProductStock(Long productId, long onHand, long reserved) {
+        this.productId = productId;
+        this.onHand = onHand;
+        this.reserved = reserved;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public long getOnHand() {
+        return onHand;
+    }
+
+    public void setOnHand(long onHand) {
+        this.onHand = onHand;
+    }
+
+    public long getReserved() {
+        return reserved;
+    }
+}
@@ -0,0 +1,70 @@
+package com.joaofroes.gestao_pedidos.domain.event;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderItem;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.entity.Payment;
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+
+import java.time.LocalDateTime;
+
+/**
+ * Um fato do histórico de um {@link Order}, gravado no ledger de pedidos (uma linha JSON por evento).
+ * <p>
+ * Os eventos nunca são alterados nem apagados: o estado do pedido é a soma deles, em ordem. Só os
+ * campos do tipo do evento são preenchidos; os demais ficam nulos e não são gravados.
+ * </p>
+ * @param seq Posição no ledger, atribuída na gravação (contínua e crescente, começando em 1).
+ * @param version Versão do pedido depois da mudança (0 na criação). Ordena as mudanças de status de um
+ *                mesmo pedido mesmo que dois commits cheguem ao ledger fora de ordem.
+ */
+public record OrderLedgerEvent(
+    long seq,
+    Type type,
+    Long orderId,
+    long version,
+    LocalDateTime at,
+    Long customerId,
+    Long productId,
+    Integer quantity,
+    Integer unitPriceCents,
+    Long paymentId,
+    PaymentMethod method,
+    Integer amountCents,
+    OrderStatus previousStatus,
+    OrderStatus status
+) {
+    public enum Type { CREATED, ITEM_ADDED, PAYMENT_REGISTERED, STATUS_CHANGED }
+
+    public static OrderLedgerEvent created(Order order) {
+        return new OrderLedgerEvent(0, Type.CREATED, order.getId(), 0, order.getCreatedAt(), order.getCustomer().getId(),
+                null, null, null, null, null, null, null, order.getStatus());
+    }
+
+    public static OrderLedgerEvent itemAdded(OrderItem item) {
+        Order order = item.getOrder();
+        return new OrderLedgerEvent(0, Type.ITEM_ADDED, order.getId(), 0, order.getCreatedAt(), null,
+                item.getProduct().getId(), item.getQuantity(), item.getUnitPriceCents(), null, null, null, null, null);
+    }
+
+    public static OrderLedgerEvent paymentRegistered(Payment payment) {
+        Order order = payment.getOrder();
+        return new OrderLedgerEvent(0, Type.PAYMENT_REGISTERED, order.getId(), nextVersion(order), payment.getPaidAt(),
+                null, null, null, null, payment.getId(), payment.getMethod(), payment.getAmountCents(), null, null);
+    }
+
+    public static OrderLedgerEvent statusChanged(Order order, OrderStatus previous, LocalDateTime at) {
+        return new OrderLedgerEvent(0, Type.STATUS_CHANGED, order.getId(), nextVersion(order), at,
+                null, null, null, null, null, null, null, previous, order.getStatus());
+    }
+
+    public OrderLedgerEvent withSeq(long seq) {
+        return new OrderLedgerEvent(seq, type, orderId, version, at, customerId, productId, quantity, unitPriceCents,
+                paymentId, method, amountCents, previousStatus, status);
+    }
+
+    // O UPDATE do pedido ainda não foi feito: a versão gravada será a atual + 1
+    private static long nextVersion(Order order) {
+        return order.getVersion() == null ? 0 : order.getVersion() + 1;
+    }
+}
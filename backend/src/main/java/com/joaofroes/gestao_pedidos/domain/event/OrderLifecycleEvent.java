@@ -0,0 +1,37 @@
+package com.joaofroes.gestao_pedidos.domain.event;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mudança no ciclo de vida de um {@link Order} (criação ou troca de status), publicada pelo outbox.
+ * <p>
+ * É o conteúdo (payload) gravado em {@code outbox_events}: carrega o estado do pedido no momento
+ * do evento, para que consumidores (faturamento, estoque, notificações) não precisem reler a tabela de pedidos.
+ * </p>
+ * @param previousStatus Status anterior (nulo na criação).
+ */
+public record OrderLifecycleEvent(
+    Long orderId,
+    Long customerId,
+    OrderStatus previousStatus,
+    OrderStatus status,
+    Integer totalCents,
+    Long paidCents,
+    LocalDateTime occurredAt
+) {
+    public static final String AGGREGATE_TYPE = "Order";
+    public static final String CREATED = "OrderCreated";
+    public static final String STATUS_CHANGED = "OrderStatusChanged";
+
+    public static OrderLifecycleEvent of(Order order, OrderStatus previousStatus, LocalDateTime occurredAt) {
+        return new OrderLifecycleEvent(order.getId(), order.getCustomer().getId(), previousStatus, order.getStatus(),
+                order.getTotalCents(), order.getPaidCents(), occurredAt);
+    }
+
+    public String type() {
+        return previousStatus == null ? CREATED : STATUS_CHANGED;
+    }
+}
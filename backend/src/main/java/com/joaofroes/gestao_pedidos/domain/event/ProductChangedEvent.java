@@ -0,0 +1,12 @@
+package com.joaofroes.gestao_pedidos.domain.event;
+
+/**
+ * Evento publicado sempre que um {@link com.joaofroes.gestao_pedidos.domain.entity.Product}
+ * é inserido, alterado ou removido.
+ * <p>
+ * Consumido por quem mantém cópias do catálogo em memória (ex: cache de produtos).
+ * </p>
+ * @param productId ID do produto afetado (pode ser nulo em operações em massa).
+ */
+public record ProductChangedEvent(Long productId) {
+}
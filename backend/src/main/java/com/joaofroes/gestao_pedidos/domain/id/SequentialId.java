@@ -0,0 +1,45 @@
+package com.joaofroes.gestao_pedidos.domain.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Gera IDs sequenciais atribuídos antes do INSERT.
+ * <p>
+ * Substitui {@code GenerationType.IDENTITY} nas entidades inseridas em volume:
+ * com IDENTITY o Hibernate precisa executar cada INSERT na hora para descobrir o ID,
+ * o que desliga o batch do JDBC. Em bancos com sequences (PostgreSQL) os IDs vêm em blocos
+ * de uma sequence; no SQLite, de um contador em memória. Ver {@link SequentialIdGenerator}.
+ * </p>
+ */
+@IdGeneratorType(SequentialIdGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface SequentialId {
+
+    /**
+     * Tabela da entidade, usada para descobrir o maior ID já gravado na primeira geração.
+     */
+    String table();
+
+    /**
+     * Coluna de chave primária da tabela.
+     */
+    String column() default "id";
+
+    /**
+     * Sequence usada nos bancos que suportam sequences. Padrão: {@code <table>_seq}.
+     */
+    String sequence() default "";
+
+    /**
+     * Quantidade de IDs reservados por chamada à sequence.
+     * Deve ser igual ao {@code INCREMENT BY} da sequence criada na migration.
+     */
+    int allocationSize() default 50;
+}
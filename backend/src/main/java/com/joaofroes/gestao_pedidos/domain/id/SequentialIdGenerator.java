@@ -0,0 +1,95 @@
+package com.joaofroes.gestao_pedidos.domain.id;
+
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de IDs para {@link SequentialId}.
+ * <p>
+ * Como o ID já existe antes do INSERT, o Hibernate pode agrupar os INSERTs em batch.
+ * A origem dos IDs depende do banco:
+ * </p>
+ * <ul>
+ * <li><b>Com sequences (PostgreSQL, H2):</b> cada {@code nextval} reserva um bloco de
+ * {@code allocationSize} IDs, seguro com vários processos escrevendo.</li>
+ * <li><b>Sem sequences (SQLite):</b> na primeira geração lê {@code max(id)} usando a própria conexão
+ * da sessão (sem abrir outra transação, o que travaria no SQLite) e a partir daí distribui IDs de
+ * um contador em memória. Assume um único processo escrevendo na tabela, o que é o caso do SQLite.</li>
+ * </ul>
+ */
+public class SequentialIdGenerator implements IdentifierGenerator {
+
+    private final String table;
+    private final String column;
+    private final String sequence;
+    private final int allocationSize;
+
+    // O Hibernate cria uma instância do gerador por entidade e por SessionFactory.
+    // Só o SQLite usa o contador, e ele vale apenas para um único processo escrevendo no banco: o max(id)
+    // é lido uma vez e nunca mais conferido. Uma segunda instância da aplicação (ou um script) inserindo
+    // na mesma tabela faria os dois entregarem os mesmos IDs, e o INSERT falharia por chave duplicada.
+    // Com mais de um processo escrevendo, use um banco com sequences (perfil postgres).
+    private volatile AtomicLong counter;
+
+    // Bloco reservado da sequence: próximo ID a entregar e último ID do bloco
+    private long nextInBlock;
+    private long lastInBlock = -1;
+
+    public SequentialIdGenerator(SequentialId config) {
+        this.table = config.table();
+        this.column = config.column();
+        this.sequence = config.sequence().isEmpty() ? config.table() + "_seq" : config.sequence();
+        this.allocationSize = config.allocationSize();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        SequenceSupport sequences = session.getFactory().getJdbcServices().getDialect().getSequenceSupport();
+        if (sequences.supportsSequences()) {
+            return nextFromSequence(session, sequences);
+        }
+
+        AtomicLong current = counter;
+        if (current == null) {
+            current = initialize(session);
+        }
+        return current.incrementAndGet();
+    }
+
+    private synchronized long nextFromSequence(SharedSessionContractImplementor session, SequenceSupport sequences) {
+        if (nextInBlock > lastInBlock) {
+            long start = session.doReturningWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sequences.getSequenceNextValString(sequence));
+                     ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    return rs.getLong(1);
+                }
+            });
+            nextInBlock = start;
+            lastInBlock = start + allocationSize - 1;
+        }
+        return nextInBlock++;
+    }
+
+    private synchronized AtomicLong initialize(SharedSessionContractImplementor session) {
+        if (counter != null) {
+            return counter;
+        }
+
+        long max = session.doReturningWork(connection -> {
+            String sql = "select coalesce(max(" + column + "), 0) from " + table;
+            try (PreparedStatement statement = connection.prepareStatement(sql);
+                 ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        });
+
+        counter = new AtomicLong(max);
+        return counter;
+    }
+}
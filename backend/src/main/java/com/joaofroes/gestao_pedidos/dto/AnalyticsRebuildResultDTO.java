@@ -0,0 +1,16 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado da reconstrução dos rollups de vendas a partir do histórico.
+ *
+ * @param rows Linhas de rollup gravadas.
+ */
+public record AnalyticsRebuildResultDTO(
+    LocalDateTime rebuiltAt,
+    long orders,
+    long payments,
+    int rows,
+    long durationMs
+){}
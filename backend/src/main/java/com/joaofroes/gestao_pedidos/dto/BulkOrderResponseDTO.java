@@ -0,0 +1,19 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import java.util.List;
+
+/**
+ * Resposta da importação de pedidos em lote, com o resultado individual de cada pedido
+ * na mesma ordem em que foram enviados.
+ */
+public record BulkOrderResponseDTO(
+    int received,
+    int created,
+    int rejected,
+    List<BulkOrderResultDTO> results
+){
+    public static BulkOrderResponseDTO of(List<BulkOrderResultDTO> results) {
+        int created = (int) results.stream().filter(BulkOrderResultDTO::isCreated).count();
+        return new BulkOrderResponseDTO(results.size(), created, results.size() - created, results);
+    }
+}
@@ -0,0 +1,28 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import java.util.Map;
+
+/**
+ * Resultado de um pedido dentro de uma importação em lote.
+ *
+ * @param index Posição do pedido no array enviado (começando em 0).
+ * @param orderId ID do pedido criado, ou nulo se foi rejeitado.
+ * @param errors Erros de validação por campo (vazio quando o pedido foi criado).
+ */
+public record BulkOrderResultDTO(
+    int index,
+    Long orderId,
+    Map<String, String> errors
+){
+    public static BulkOrderResultDTO created(int index, Long orderId) {
+        return new BulkOrderResultDTO(index, orderId, Map.of());
+    }
+
+    public static BulkOrderResultDTO rejected(int index, Map<String, String> errors) {
+        return new BulkOrderResultDTO(index, null, errors);
+    }
+
+    public boolean isCreated() {
+        return orderId != null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+/**
+ * Métricas de um cache em memória.
+ * <p>
+ * {@code hitRate} vai de 0 a 1 e é calculado sobre hits + misses desde a subida da aplicação.
+ * </p>
+ */
+public record CacheStatsDTO(
+    long hits,
+    long misses,
+    long reloads,
+    long invalidations,
+    int size,
+    double hitRate
+){
+    public static CacheStatsDTO of(long hits, long misses, long reloads, long invalidations, int size) {
+        long lookups = hits + misses;
+        double hitRate = (lookups == 0) ? 0.0 : (double) hits / lookups;
+        return new CacheStatsDTO(hits, misses, reloads, invalidations, size, hitRate);
+    }
+}
@@ -0,0 +1,10 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+/**
+ * Vendas de uma categoria no período (GET /analytics/categories).
+ */
+public record CategorySalesDTO(
+    String category,
+    Long quantity,
+    Long revenueCents
+){}
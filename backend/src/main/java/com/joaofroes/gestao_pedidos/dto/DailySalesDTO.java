@@ -0,0 +1,32 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import com.joaofroes.gestao_pedidos.domain.entity.DailySalesRollup;
+import java.time.LocalDate;
+
+/**
+ * Vendas de um dia (GET /analytics/daily).
+ *
+ * @param bookedCents Total dos pedidos não cancelados criados no dia.
+ * @param receivedCents Total dos pagamentos registrados no dia.
+ */
+public record DailySalesDTO(
+    LocalDate date,
+    long orders,
+    long cancelledOrders,
+    long paidOrders,
+    long itemsSold,
+    long bookedCents,
+    long receivedCents
+){
+    public static DailySalesDTO fromEntity(DailySalesRollup rollup) {
+        return new DailySalesDTO(
+            rollup.getSalesDate(),
+            rollup.getOrderCount(),
+            rollup.getCancelledCount(),
+            rollup.getPaidCount(),
+            rollup.getItemsSold(),
+            rollup.getBookedCents(),
+            rollup.getReceivedCents()
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+/**
+ * Métricas das chaves de idempotência.
+ *
+ * @param memoryHits Repetições respondidas pelo cache em memória.
+ * @param storeHits Repetições respondidas pela tabela (chave fora do cache).
+ * @param misses Chaves novas (operação executada).
+ * @param conflicts Repetições recusadas porque a original ainda estava em processamento.
+ * @param size Quantidade de chaves no cache em memória.
+ * @param hitRate Fração das requisições com chave que foram respostas repetidas (0 a 1).
+ */
+public record IdempotencyStatsDTO(
+    long memoryHits,
+    long storeHits,
+    long misses,
+    long conflicts,
+    int size,
+    double hitRate
+){}
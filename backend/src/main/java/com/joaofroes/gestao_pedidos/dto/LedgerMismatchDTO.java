@@ -0,0 +1,17 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+
+/**
+ * Pedido cujo estado na tabela {@code orders} não bate com a projeção do ledger.
+ * Os campos do ledger ficam nulos quando o pedido não está no ledger.
+ */
+public record LedgerMismatchDTO(
+    Long orderId,
+    OrderStatus tableStatus,
+    OrderStatus ledgerStatus,
+    Long tableTotalCents,
+    Long ledgerTotalCents,
+    Long tablePaidCents,
+    Long ledgerPaidCents
+){}
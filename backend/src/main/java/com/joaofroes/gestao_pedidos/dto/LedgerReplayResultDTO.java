@@ -0,0 +1,18 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado da reconstrução da projeção dos pedidos a partir do ledger.
+ *
+ * @param snapshotSeq Posição do snapshot usado como ponto de partida (0 para replay completo).
+ * @param events Eventos lidos dos segmentos depois do snapshot.
+ */
+public record LedgerReplayResultDTO(
+    LocalDateTime replayedAt,
+    long snapshotSeq,
+    long events,
+    long lastSeq,
+    int orders,
+    long durationMs
+){}
@@ -0,0 +1,20 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+/**
+ * Situação do ledger de pedidos.
+ *
+ * @param lastSeq Posição do último evento gravado.
+ * @param sizeBytes Tamanho somado dos segmentos.
+ * @param orders Pedidos na projeção em memória.
+ * @param lastSnapshotSeq Posição coberta pelo snapshot mais recente (0 sem snapshot).
+ */
+public record LedgerStatsDTO(
+    boolean enabled,
+    String directory,
+    long lastSeq,
+    int segments,
+    long sizeBytes,
+    int orders,
+    long lastSnapshotSeq,
+    long appendFailures
+){}
@@ -0,0 +1,18 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resultado da comparação entre a tabela {@code orders} e a projeção do ledger.
+ *
+ * @param untracked Pedidos da tabela sem criação no ledger (gravados antes do ledger existir).
+ * @param details Primeiras divergências encontradas (limitadas a {@code app.ledger.verify.max-details}).
+ */
+public record LedgerVerifyResultDTO(
+    LocalDateTime checkedAt,
+    long orders,
+    long untracked,
+    int mismatches,
+    List<LedgerMismatchDTO> details
+){}
@@ -0,0 +1,16 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import java.util.List;
+
+/**
+ * IDs gerados pela carga de dados do perfil {@code loadtest}, consumidos pelo gerador de carga.
+ *
+ * @param customerIds Clientes disponíveis para novos pedidos.
+ * @param productIds Produtos ativos (aceitos em novos pedidos).
+ * @param orderIds Pedidos semeados, para leituras por ID.
+ */
+public record LoadTestFixtureDTO(
+    List<Long> customerIds,
+    List<Long> productIds,
+    List<Long> orderIds
+){}
@@ -0,0 +1,14 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+/**
+ * Estado das requisições de espera simulada (GET /loadtest/hold).
+ *
+ * @param inFlight Requisições segurando a thread neste momento.
+ * @param peakInFlight Maior valor de {@code inFlight} desde o último reset.
+ * @param virtualThread Se a requisição atual está rodando em uma virtual thread.
+ */
+public record LoadTestHoldDTO(
+    int inFlight,
+    int peakInFlight,
+    boolean virtualThread
+){}
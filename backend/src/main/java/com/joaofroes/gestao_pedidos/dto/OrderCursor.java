@@ -0,0 +1,43 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição na listagem de pedidos (ordenada por createdAt desc, id desc).
+ * <p>
+ * É trafegado para o cliente como uma string opaca (Base64 URL-safe de "createdAt|id"),
+ * para que o formato interno possa mudar sem quebrar o contrato da API.
+ * </p>
+ */
+public record OrderCursor(LocalDateTime createdAt, Long id) {
+
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.getCreatedAt(), order.getId());
+    }
+
+    public static OrderCursor of(OrderSummaryDTO order) {
+        return new OrderCursor(order.createdAt(), order.id());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            if (sep < 0) {
+                throw new IllegalArgumentException("Cursor inválido: " + token);
+            }
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + token);
+        }
+    }
+}
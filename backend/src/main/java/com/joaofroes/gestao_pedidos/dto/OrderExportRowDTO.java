@@ -0,0 +1,22 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Linha achatada de um pedido para exportação (NDJSON / CSV).
+ * <p>
+ * É montada direto pela consulta (projeção), sem carregar entidades,
+ * para que a exportação não acumule objetos no contexto de persistência.
+ * </p>
+ */
+public record OrderExportRowDTO(
+    Long id,
+    String customerName,
+    String customerEmail,
+    OrderStatus status,
+    Integer totalCents,
+    Long totalPaidCents,
+    Long itemCount,
+    LocalDateTime createdAt
+){}
@@ -0,0 +1,17 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import java.util.List;
+
+/**
+ * Página de pedidos retornada pela listagem paginada por cursor.
+ * <p>
+ * O campo {@code nextCursor} deve ser enviado de volta no parâmetro {@code cursor}
+ * para buscar a próxima página. Quando {@code hasNext} é falso, ele vem nulo.
+ * </p>
+ */
+public record OrderPageResponseDTO(
+    List<OrderSummaryDTO> content,
+    int size,
+    boolean hasNext,
+    String nextCursor
+){}
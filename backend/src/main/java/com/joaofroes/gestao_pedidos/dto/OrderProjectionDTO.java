@@ -0,0 +1,26 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de um pedido calculado a partir do ledger (criação, itens, pagamentos e mudanças de status).
+ * <p>
+ * Também é o formato de cada linha dos snapshots do ledger.
+ * </p>
+ * @param version Maior versão do pedido vista no ledger.
+ * @param complete Falso quando o ledger não tem a criação do pedido (pedido anterior ao ledger):
+ *                 total e itens ficam incompletos.
+ */
+public record OrderProjectionDTO(
+    Long orderId,
+    Long customerId,
+    OrderStatus status,
+    long totalCents,
+    long paidCents,
+    int items,
+    long version,
+    LocalDateTime createdAt,
+    boolean complete
+){}
@@ -0,0 +1,21 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+/**
+ * Situação da fila de pedidos assíncronos (GET /orders/async/stats).
+ *
+ * @param depth Pedidos aguardando na fila agora.
+ * @param refused Envios recusados com 503 porque a fila estava cheia.
+ * @param tickets Comprovantes ainda consultáveis (os concluídos expiram após {@code app.orders.async.ticket-ttl}).
+ */
+public record OrderQueueStatsDTO(
+    boolean running,
+    int depth,
+    int capacity,
+    int workers,
+    int batchSize,
+    long accepted,
+    long refused,
+    long created,
+    long rejected,
+    int tickets
+){}
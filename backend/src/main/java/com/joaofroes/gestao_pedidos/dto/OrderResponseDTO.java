@@ -2,7 +2,6 @@ package com.joaofroes.gestao_pedidos.dto;
 
 import com.joaofroes.gestao_pedidos.domain.entity.Order;
 import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
-import com.joaofroes.gestao_pedidos.domain.entity.Payment;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -20,12 +19,7 @@ public record OrderResponseDTO(
     public static OrderResponseDTO fromEntity(Order order) {
         List<PaymentResponseDTO> paymentsDto = List.of();
         
-        long calculatedPaid = 0;
         if (order.getPayments() != null) {
-            calculatedPaid = order.getPayments().stream()
-                .mapToLong(Payment::getAmountCents)
-                .sum();
-
             paymentsDto = order.getPayments().stream()
                 .map(PaymentResponseDTO::fromEntity)
                 .toList();
@@ -41,7 +35,7 @@ public record OrderResponseDTO(
             order.getCustomer().getEmail(),
             order.getStatus(),
             order.getTotalCents(),
-            calculatedPaid,
+            order.getPaidCents(),
             order.getCreatedAt(),
             itemsDto,
             paymentsDto
@@ -0,0 +1,13 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+
+/**
+ * Estado atual de um pedido na tabela {@code orders}, lido sem carregar a entidade.
+ */
+public record OrderStateRowDTO(
+    Long orderId,
+    OrderStatus status,
+    Integer totalCents,
+    Long paidCents
+){}
@@ -0,0 +1,20 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+/**
+ * Situação do stream de pedidos (GET /orders/stream/stats).
+ *
+ * @param events Eventos publicados desde a subida (criações e mudanças de status).
+ * @param delivered Eventos efetivamente enviados, somando todos os assinantes.
+ * @param dropped Assinantes desconectados por não acompanhar o ritmo (buffer cheio).
+ * @param disconnected Assinantes que saíram por conta própria, por erro de envio ou por timeout.
+ */
+public record OrderStreamStatsDTO(
+    boolean enabled,
+    int subscribers,
+    int maxSubscribers,
+    int bufferSize,
+    long events,
+    long delivered,
+    long dropped,
+    long disconnected
+){}
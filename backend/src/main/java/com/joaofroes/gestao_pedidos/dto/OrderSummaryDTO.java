@@ -0,0 +1,22 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Pedido nas listagens (GET /orders e GET /orders/page), lido da tabela {@code order_summary}.
+ * <p>
+ * Mesmos nomes de campo de {@link OrderResponseDTO}, sem as listas de itens e pagamentos
+ * (disponíveis em GET /orders/{id}); no lugar delas vem a quantidade de itens.
+ * </p>
+ */
+public record OrderSummaryDTO(
+    Long id,
+    String customerName,
+    String customerEmail,
+    OrderStatus status,
+    Integer totalCents,
+    Long totalPaidCents,
+    Integer itemCount,
+    LocalDateTime createdAt
+){}
@@ -0,0 +1,14 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado da reconstrução da tabela {@code order_summary} a partir dos pedidos.
+ *
+ * @param rows Resumos gravados (um por pedido).
+ */
+public record OrderSummaryRebuildResultDTO(
+    LocalDateTime rebuiltAt,
+    long rows,
+    long durationMs
+){}
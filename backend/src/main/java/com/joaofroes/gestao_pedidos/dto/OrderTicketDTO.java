@@ -0,0 +1,33 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Comprovante de um pedido enviado à fila assíncrona (POST /orders/async) e seu andamento.
+ *
+ * @param ticket Identificador para consultar o andamento em <code>GET /orders/async/{ticket}</code>.
+ * @param orderId ID do pedido criado (só em {@link Status#CREATED}).
+ * @param errors Motivos da recusa (só em {@link Status#REJECTED}), no mesmo formato da importação em lote.
+ */
+public record OrderTicketDTO(
+    String ticket,
+    Status status,
+    Long orderId,
+    Map<String, String> errors,
+    LocalDateTime acceptedAt,
+    LocalDateTime completedAt
+){
+    public enum Status {
+        /** Aguardando na fila. */
+        QUEUED,
+        /** Em um lote sendo gravado. */
+        PROCESSING,
+        CREATED,
+        REJECTED
+    }
+
+    public boolean isDone() {
+        return status == Status.CREATED || status == Status.REJECTED;
+    }
+}
@@ -0,0 +1,25 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+
+/**
+ * Estado e versão (lock otimista) de um pedido, lidos sem carregar itens, pagamentos ou cliente.
+ * <p>
+ * Toda alteração no pedido incrementa a versão, inclusive o total pago, então o par
+ * (id, versão) identifica exatamente uma representação de {@link OrderResponseDTO}.
+ * </p>
+ */
+public record OrderVersionDTO(
+    Long id,
+    OrderStatus status,
+    Long version
+){
+    /** Pedidos pagos ou cancelados não recebem mais pagamentos e raramente mudam. */
+    public boolean isTerminal() {
+        return status == OrderStatus.PAID || status == OrderStatus.CANCELLED;
+    }
+
+    public String etag() {
+        return "order-" + id + "-v" + version;
+    }
+}
@@ -0,0 +1,27 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.joaofroes.gestao_pedidos.domain.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento do outbox como é entregue aos destinos ({@code OutboxSink}).
+ * <p>
+ * O {@code id} é estável entre reentregas: consumidores devem usá-lo para descartar duplicatas.
+ * O {@code payload} já é JSON e é serializado sem escape.
+ * </p>
+ */
+public record OutboxMessageDTO(
+    Long id,
+    String aggregateType,
+    Long aggregateId,
+    String eventType,
+    @JsonRawValue String payload,
+    LocalDateTime createdAt
+){
+    public static OutboxMessageDTO fromEntity(OutboxEvent event) {
+        return new OutboxMessageDTO(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resultado de uma verificação do total pago dos pedidos.
+ *
+ * @param repaired Indica se as divergências encontradas foram corrigidas.
+ */
+public record PaidTotalCheckResultDTO(
+    LocalDateTime checkedAt,
+    int mismatches,
+    boolean repaired,
+    List<PaidTotalMismatchDTO> details
+){}
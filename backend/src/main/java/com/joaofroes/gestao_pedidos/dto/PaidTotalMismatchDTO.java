@@ -0,0 +1,10 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+/**
+ * Pedido cujo total pago armazenado ({@code paid_cents}) não bate com a soma da tabela de pagamentos.
+ */
+public record PaidTotalMismatchDTO(
+    Long orderId,
+    Long storedPaidCents,
+    Long actualPaidCents
+){}
@@ -0,0 +1,12 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+
+/**
+ * Pagamentos recebidos por forma de pagamento no período (GET /analytics/payment-methods).
+ */
+public record PaymentMethodSalesDTO(
+    PaymentMethod method,
+    Long payments,
+    Long amountCents
+){}
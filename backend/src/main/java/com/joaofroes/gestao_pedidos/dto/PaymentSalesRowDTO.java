@@ -0,0 +1,13 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import java.time.LocalDateTime;
+
+/**
+ * Pagamento lido na reconstrução dos rollups: só o que entra na contabilização.
+ */
+public record PaymentSalesRowDTO(
+    LocalDateTime paidAt,
+    PaymentMethod method,
+    Integer amountCents
+){}
@@ -0,0 +1,50 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição na listagem paginada de produtos: o valor da coluna ordenada e o ID do último item.
+ * <p>
+ * Assim como {@link OrderCursor}, é trafegado como string opaca (Base64 URL-safe de
+ * "ordenação|id|valor"). A ordenação vai junto para que um cursor gerado com uma ordem
+ * não seja reaproveitado, por engano, em outra.
+ * </p>
+ */
+public record ProductCursor(ProductSort sort, Long id, String value) {
+
+    public static ProductCursor of(ProductSort sort, ProductDTO product) {
+        String value = sort.isByPrice() ? String.valueOf(product.priceCents()) : product.name();
+        return new ProductCursor(sort, product.id(), value);
+    }
+
+    public Integer priceCents() {
+        return Integer.valueOf(value);
+    }
+
+    public String encode() {
+        String raw = sort.param() + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token, ProductSort expected) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // O nome pode conter '|', por isso o valor é sempre o último campo
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Cursor inválido: " + token);
+            }
+            ProductCursor cursor = new ProductCursor(ProductSort.from(parts[0]), Long.valueOf(parts[1]), parts[2]);
+            if (cursor.sort() != expected) {
+                throw new IllegalArgumentException("Cursor inválido: " + token);
+            }
+            if (cursor.sort().isByPrice()) {
+                cursor.priceCents();
+            }
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + token);
+        }
+    }
+}
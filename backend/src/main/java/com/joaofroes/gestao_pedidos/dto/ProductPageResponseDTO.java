@@ -0,0 +1,19 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import java.util.List;
+
+/**
+ * Página de produtos retornada pela listagem filtrada e ordenada.
+ * <p>
+ * O campo {@code nextCursor} deve ser enviado de volta no parâmetro {@code cursor}
+ * para buscar a próxima página. O {@code total} só é preenchido na primeira página e quando
+ * solicitado ({@code withTotal=true}); nas demais vem nulo.
+ * </p>
+ */
+public record ProductPageResponseDTO(
+    List<ProductDTO> content,
+    int size,
+    boolean hasNext,
+    String nextCursor,
+    Long total
+){}
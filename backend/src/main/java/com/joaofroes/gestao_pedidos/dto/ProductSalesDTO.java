@@ -0,0 +1,24 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+/**
+ * Vendas de um produto no período (GET /analytics/top-products).
+ * <p>
+ * A consulta de rollup preenche só ID, quantidade e valor; nome e categoria vêm do catálogo
+ * em seguida, via {@link #withProduct}.
+ * </p>
+ */
+public record ProductSalesDTO(
+    Long productId,
+    String name,
+    String category,
+    Long quantity,
+    Long revenueCents
+){
+    public ProductSalesDTO(Long productId, Long quantity, Long revenueCents) {
+        this(productId, null, null, quantity, revenueCents);
+    }
+
+    public ProductSalesDTO withProduct(String name, String category) {
+        return new ProductSalesDTO(productId, name, category, quantity, revenueCents);
+    }
+}
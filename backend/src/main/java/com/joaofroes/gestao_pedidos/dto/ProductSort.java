@@ -0,0 +1,72 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+
+/**
+ * Ordenações aceitas na listagem paginada de produtos.
+ * <p>
+ * Toda ordenação termina no ID (na mesma direção), para que a ordem seja total e o cursor
+ * aponte sempre para uma posição única, mesmo com nomes ou preços repetidos.
+ * </p>
+ */
+public enum ProductSort {
+
+    NAME_ASC("name", "name", Sort.Direction.ASC),
+    NAME_DESC("-name", "name", Sort.Direction.DESC),
+    PRICE_ASC("price", "priceCents", Sort.Direction.ASC),
+    PRICE_DESC("-price", "priceCents", Sort.Direction.DESC);
+
+    private final String param;
+    private final String property;
+    private final Sort.Direction direction;
+
+    ProductSort(String param, String property, Sort.Direction direction) {
+        this.param = param;
+        this.property = property;
+        this.direction = direction;
+    }
+
+    public static ProductSort from(String value) {
+        if (value == null || value.isBlank()) {
+            return NAME_ASC;
+        }
+        for (ProductSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(value.trim())) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Ordenação inválida: " + value + " (use name, -name, price ou -price)");
+    }
+
+    public String param() {
+        return param;
+    }
+
+    /** Nome do atributo da entidade usado na ordenação ({@code name} ou {@code priceCents}). */
+    public String property() {
+        return property;
+    }
+
+    public boolean isDescending() {
+        return direction.isDescending();
+    }
+
+    public boolean isByPrice() {
+        return this == PRICE_ASC || this == PRICE_DESC;
+    }
+
+    public Sort toSort() {
+        return Sort.by(direction, property).and(Sort.by(direction, "id"));
+    }
+
+    /** Mesma ordem de {@link #toSort()}, para ordenar resultados que já estão em memória. */
+    public Comparator<ProductDTO> comparator() {
+        Comparator<ProductDTO> byValue = isByPrice()
+                ? Comparator.comparing(ProductDTO::priceCents)
+                : Comparator.comparing(ProductDTO::name);
+        Comparator<ProductDTO> ascending = byValue.thenComparing(ProductDTO::id);
+        return isDescending() ? ascending.reversed() : ascending;
+    }
+}
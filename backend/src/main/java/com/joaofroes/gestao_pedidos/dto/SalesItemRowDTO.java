@@ -0,0 +1,21 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Linha achatada (pedido + item + categoria do produto) lida na reconstrução dos rollups.
+ * <p>
+ * Pedidos sem itens aparecem uma vez, com os campos do item nulos.
+ * </p>
+ */
+public record SalesItemRowDTO(
+    Long orderId,
+    LocalDateTime createdAt,
+    OrderStatus status,
+    Integer totalCents,
+    Long productId,
+    String category,
+    Integer quantity,
+    Integer unitPriceCents
+){}
@@ -0,0 +1,15 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+/**
+ * Posição de estoque de um produto (GET/PUT /products/{id}/stock).
+ *
+ * @param onHand Unidades fisicamente em estoque.
+ * @param reserved Unidades reservadas por pedidos ainda não pagos.
+ * @param available Unidades que ainda podem ser vendidas ({@code onHand - reserved}).
+ */
+public record StockLevelDTO(
+    Long productId,
+    long onHand,
+    long reserved,
+    long available
+){}
@@ -0,0 +1,13 @@
+package com.joaofroes.gestao_pedidos.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Contagem de estoque físico informada para um produto (PUT /products/{id}/stock).
+ */
+public record StockRequestDTO(
+    @NotNull(message = "A quantidade em estoque é obrigatória")
+    @PositiveOrZero(message = "A quantidade em estoque não pode ser negativa")
+    Long onHand
+){}
@@ -1,6 +1,8 @@
 package com.joaofroes.gestao_pedidos.exception;
 
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,6 +11,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -45,4 +48,19 @@ public class GlobalExceptionHandler {
          return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body(Map.of("error", "Conflito de estado", "message", ex.getMessage()));
     }
-}
\ No newline at end of file
+
+    // Trata conflitos de concorrência que persistiram após as novas tentativas (lock otimista, banco ocupado)
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Map<String, String>> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "Conflito de concorrência", "message", "O recurso foi alterado por outra requisição. Tente novamente."));
+    }
+
+    // Fila de processamento cheia ou parada (ex: POST /orders/async): o cliente deve tentar de novo mais tarde
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleRejectedExecution(RejectedExecutionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", "Serviço sobrecarregado", "message", ex.getMessage()));
+    }
+}
@@ -0,0 +1,31 @@
+package com.joaofroes.gestao_pedidos.repository;
+
+import com.joaofroes.gestao_pedidos.domain.entity.CategorySalesRollup;
+import com.joaofroes.gestao_pedidos.dto.CategorySalesDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CategorySalesRollupRepository extends JpaRepository<CategorySalesRollup, CategorySalesRollup.Key> {
+
+    // Período lido pela chave primária (sales_date, category): custo proporcional a dias x categorias, não a pedidos
+    @Query("""
+            select new com.joaofroes.gestao_pedidos.dto.CategorySalesDTO(r.category, sum(r.quantity), sum(r.revenueCents))
+            from CategorySalesRollup r
+            where r.salesDate between :from and :to
+            group by r.category
+            order by sum(r.revenueCents) desc
+            """)
+    List<CategorySalesDTO> summarize(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("""
+            update CategorySalesRollup r set r.quantity = r.quantity + :quantity, r.revenueCents = r.revenueCents + :revenue
+            where r.salesDate = :day and r.category = :category
+            """)
+    int increment(@Param("day") LocalDate day, @Param("category") String category,
+                  @Param("quantity") long quantity, @Param("revenue") long revenue);
+}
@@ -0,0 +1,29 @@
+package com.joaofroes.gestao_pedidos.repository;
+
+import com.joaofroes.gestao_pedidos.domain.entity.DailySalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, LocalDate> {
+    List<DailySalesRollup> findBySalesDateBetweenOrderBySalesDate(LocalDate from, LocalDate to);
+
+    // Soma o delta na linha do dia; 0 linhas afetadas significa que o dia ainda não existe
+    @Modifying
+    @Query("""
+            update DailySalesRollup r set
+                r.orderCount = r.orderCount + :orders,
+                r.cancelledCount = r.cancelledCount + :cancelled,
+                r.paidCount = r.paidCount + :paid,
+                r.itemsSold = r.itemsSold + :items,
+                r.bookedCents = r.bookedCents + :booked,
+                r.receivedCents = r.receivedCents + :received
+            where r.salesDate = :day
+            """)
+    int increment(@Param("day") LocalDate day, @Param("orders") long orders, @Param("cancelled") long cancelled,
+                  @Param("paid") long paid, @Param("items") long items, @Param("booked") long booked,
+                  @Param("received") long received);
+}
@@ -1,9 +1,87 @@
 package com.joaofroes.gestao_pedidos.repository;
 
 import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.dto.OrderExportRowDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderStateRowDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderVersionDTO;
+import com.joaofroes.gestao_pedidos.dto.PaidTotalMismatchDTO;
+import com.joaofroes.gestao_pedidos.dto.SalesItemRowDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findAllByOrderByCreatedAtDesc();
-}
\ No newline at end of file
+    // GET condicional: só status e versão, para responder 304 sem montar o pedido inteiro
+    @Query("select new com.joaofroes.gestao_pedidos.dto.OrderVersionDTO(o.id, o.status, o.version) from Order o where o.id = :id")
+    Optional<OrderVersionDTO> findVersionById(@Param("id") Long id);
+
+    // Exportação: um bloco de linhas por consulta, em keyset pela chave primária (id > :afterId).
+    // Cada bloco roda na sua própria transação curta, sem manter uma leitura aberta durante o download.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new com.joaofroes.gestao_pedidos.dto.OrderExportRowDTO(
+                o.id, c.name, c.email, o.status, o.totalCents,
+                o.paidCents,
+                (select count(i) from OrderItem i where i.order = o),
+                o.createdAt)
+            from Order o join o.customer c
+            where o.id > :afterId
+            order by o.id
+            """)
+    List<OrderExportRowDTO> findExportRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Reconstrução dos rollups de vendas: um pedido por vez (ordenado por ID), com seus itens e a
+    // categoria atual de cada produto. Cursor somente-leitura (forward-only), lido em blocos pelo driver;
+    // deve ser consumido dentro de uma transação e fechado ao final (try-with-resources).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new com.joaofroes.gestao_pedidos.dto.SalesItemRowDTO(
+                o.id, o.createdAt, o.status, o.totalCents, p.id, p.category, i.quantity, i.unitPriceCents)
+            from Order o left join o.items i left join i.product p
+            order by o.id
+            """)
+    Stream<SalesItemRowDTO> streamSalesRows();
+
+    // Verificação do ledger de pedidos: estado atual de todos os pedidos, mesmo cursor da reconstrução dos rollups
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new com.joaofroes.gestao_pedidos.dto.OrderStateRowDTO(o.id, o.status, o.totalCents, o.paidCents)
+            from Order o
+            order by o.id
+            """)
+    Stream<OrderStateRowDTO> streamStateRows();
+
+    // Pedidos cujo total corrente diverge da soma real da tabela de pagamentos
+    @Query("""
+            select new com.joaofroes.gestao_pedidos.dto.PaidTotalMismatchDTO(
+                o.id, o.paidCents, coalesce(sum(p.amountCents), 0L))
+            from Order o left join o.payments p
+            group by o.id, o.paidCents
+            having o.paidCents <> coalesce(sum(p.amountCents), 0L)
+            """)
+    List<PaidTotalMismatchDTO> findPaidTotalMismatches();
+
+    // Incrementa a versão para não furar o lock otimista de quem estiver alterando o pedido
+    @Modifying
+    @Query("update Order o set o.paidCents = :paidCents, o.version = o.version + 1 where o.id = :id")
+    int setPaidCents(@Param("id") Long id, @Param("paidCents") long paidCents);
+}
@@ -0,0 +1,65 @@
+package com.joaofroes.gestao_pedidos.repository;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderSummary;
+import com.joaofroes.gestao_pedidos.dto.OrderSummaryDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+
+    @Query("""
+            select new com.joaofroes.gestao_pedidos.dto.OrderSummaryDTO(
+                s.orderId, s.customerName, s.customerEmail, s.status, s.totalCents, s.paidCents, s.itemCount, s.createdAt)
+            from OrderSummary s
+            order by s.createdAt desc, s.orderId desc
+            """)
+    List<OrderSummaryDTO> findAllSummaries();
+
+    // Paginação por cursor (keyset) sobre o índice (created_at, order_id)
+    @Query("""
+            select new com.joaofroes.gestao_pedidos.dto.OrderSummaryDTO(
+                s.orderId, s.customerName, s.customerEmail, s.status, s.totalCents, s.paidCents, s.itemCount, s.createdAt)
+            from OrderSummary s
+            order by s.createdAt desc, s.orderId desc
+            """)
+    List<OrderSummaryDTO> findFirstPage(Limit limit);
+
+    // Páginas seguintes: tudo que vem "depois" do par (createdAt, orderId) do último resumo retornado.
+    // Equivale a "createdAt < :createdAt or (createdAt = :createdAt and orderId < :id)", mas o
+    // "createdAt <= :createdAt" isolado permite ao banco começar a leitura do índice no cursor;
+    // com o OR no topo, o SQLite percorre o índice desde o pedido mais recente.
+    @Query("""
+            select new com.joaofroes.gestao_pedidos.dto.OrderSummaryDTO(
+                s.orderId, s.customerName, s.customerEmail, s.status, s.totalCents, s.paidCents, s.itemCount, s.createdAt)
+            from OrderSummary s
+            where s.createdAt <= :createdAt and (s.createdAt < :createdAt or s.orderId < :id)
+            order by s.createdAt desc, s.orderId desc
+            """)
+    List<OrderSummaryDTO> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // Status e total pago acompanham o pedido; 0 linhas afetadas significa que o resumo ainda não existe
+    @Modifying
+    @Query("update OrderSummary s set s.status = :status, s.paidCents = :paidCents where s.orderId = :id")
+    int updateState(@Param("id") Long id, @Param("status") OrderStatus status, @Param("paidCents") long paidCents);
+
+    @Modifying
+    @Query("update OrderSummary s set s.paidCents = :paidCents where s.orderId = :id")
+    int updatePaidCents(@Param("id") Long id, @Param("paidCents") long paidCents);
+
+    // Reconstrução: copia todos os pedidos numa única instrução (INSERT ... SELECT), sem passar pela aplicação
+    @Modifying
+    @Query("""
+            insert into OrderSummary (orderId, customerId, customerName, customerEmail, status,
+                totalCents, paidCents, itemCount, createdAt)
+            select o.id, c.id, c.name, c.email, o.status, o.totalCents, o.paidCents,
+                cast((select count(i) from OrderItem i where i.order = o) as Integer), o.createdAt
+            from Order o join o.customer c
+            """)
+    int copyFromOrders();
+}
@@ -0,0 +1,36 @@
+package com.joaofroes.gestao_pedidos.repository;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Próximo lote pendente, pelo índice (dispatched_at, id)
+    List<OutboxEvent> findByDispatchedAtIsNullOrderById(Limit limit);
+
+    long countByDispatchedAtIsNull();
+
+    Optional<OutboxEvent> findFirstByDispatchedAtIsNullOrderById();
+
+    List<OutboxEvent> findByAggregateTypeAndAggregateIdOrderById(String aggregateType, Long aggregateId);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.dispatchedAt = :now where e.id in :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.lastError = :error where e.id in :ids")
+    int recordFailure(@Param("ids") Collection<Long> ids, @Param("error") String error);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,31 @@
+package com.joaofroes.gestao_pedidos.repository;
+
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethodSalesRollup;
+import com.joaofroes.gestao_pedidos.dto.PaymentMethodSalesDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PaymentMethodSalesRollupRepository extends JpaRepository<PaymentMethodSalesRollup, PaymentMethodSalesRollup.Key> {
+
+    @Query("""
+            select new com.joaofroes.gestao_pedidos.dto.PaymentMethodSalesDTO(r.method, sum(r.paymentCount), sum(r.amountCents))
+            from PaymentMethodSalesRollup r
+            where r.salesDate between :from and :to
+            group by r.method
+            order by sum(r.amountCents) desc
+            """)
+    List<PaymentMethodSalesDTO> summarize(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("""
+            update PaymentMethodSalesRollup r set r.paymentCount = r.paymentCount + :payments, r.amountCents = r.amountCents + :amount
+            where r.salesDate = :day and r.method = :method
+            """)
+    int increment(@Param("day") LocalDate day, @Param("method") PaymentMethod method,
+                  @Param("payments") long payments, @Param("amount") long amount);
+}
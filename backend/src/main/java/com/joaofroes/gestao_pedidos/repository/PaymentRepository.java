@@ -2,10 +2,25 @@ package com.joaofroes.gestao_pedidos.repository;
 
 import com.joaofroes.gestao_pedidos.domain.entity.Payment;
 import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.dto.PaymentSalesRowDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByOrderId(Long orderId);
     List<Payment> findAllByOrder(Order order);
+
+    // Reconstrução dos rollups de vendas: cursor somente-leitura, sem entidades gerenciadas.
+    // Deve ser consumido dentro de uma transação e fechado ao final (try-with-resources).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.joaofroes.gestao_pedidos.dto.PaymentSalesRowDTO(p.paidAt, p.method, p.amountCents) from Payment p")
+    Stream<PaymentSalesRowDTO> streamSalesRows();
 }
\ No newline at end of file
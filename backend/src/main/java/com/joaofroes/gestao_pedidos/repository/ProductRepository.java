@@ -1,11 +1,28 @@
 package com.joaofroes.gestao_pedidos.repository;
 
 import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.ProductDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+// Listagem com filtros combinados e paginação: ver ProductSpecifications
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
     List<Product> findByActive(Boolean active);
     List<Product> findByCategoryAndActive(String category, Boolean active);
     List<Product> findByNameContainingIgnoreCaseAndActive(String name, Boolean active);
-}
\ No newline at end of file
+
+    // Carga do índice de busca: só as colunas do DTO, lidas em blocos, sem entidades gerenciadas.
+    // Deve ser consumido dentro de uma transação e fechado ao final (try-with-resources).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.joaofroes.gestao_pedidos.dto.ProductDTO(p.id, p.name, p.category, p.priceCents, p.active) from Product p")
+    Stream<ProductDTO> streamAllRows();
+}
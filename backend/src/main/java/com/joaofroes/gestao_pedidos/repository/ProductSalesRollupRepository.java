@@ -0,0 +1,32 @@
+package com.joaofroes.gestao_pedidos.repository;
+
+import com.joaofroes.gestao_pedidos.domain.entity.ProductSalesRollup;
+import com.joaofroes.gestao_pedidos.dto.ProductSalesDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ProductSalesRollupRepository extends JpaRepository<ProductSalesRollup, ProductSalesRollup.Key> {
+
+    // Ranking por valor vendido no período; desempate pelo ID para a ordem ser estável
+    @Query("""
+            select new com.joaofroes.gestao_pedidos.dto.ProductSalesDTO(r.productId, sum(r.quantity), sum(r.revenueCents))
+            from ProductSalesRollup r
+            where r.salesDate between :from and :to
+            group by r.productId
+            order by sum(r.revenueCents) desc, r.productId
+            """)
+    List<ProductSalesDTO> findTop(@Param("from") LocalDate from, @Param("to") LocalDate to, Limit limit);
+
+    @Modifying
+    @Query("""
+            update ProductSalesRollup r set r.quantity = r.quantity + :quantity, r.revenueCents = r.revenueCents + :revenue
+            where r.salesDate = :day and r.productId = :productId
+            """)
+    int increment(@Param("day") LocalDate day, @Param("productId") Long productId,
+                  @Param("quantity") long quantity, @Param("revenue") long revenue);
+}
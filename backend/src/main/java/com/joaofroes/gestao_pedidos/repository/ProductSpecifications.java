@@ -0,0 +1,81 @@
+package com.joaofroes.gestao_pedidos.repository;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.ProductCursor;
+import com.joaofroes.gestao_pedidos.dto.ProductSort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Predicados da listagem de produtos, combinados em uma única consulta dinâmica.
+ * <p>
+ * Cada filtro ausente vira {@code null} e é ignorado por {@link Specification#allOf},
+ * então qualquer combinação de nome, categoria e status gera um só SELECT.
+ * </p>
+ */
+public final class ProductSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> filter(String name, String category, Boolean active) {
+        return Specification.allOf(nameContains(name), inCategory(category), hasActive(active));
+    }
+
+    public static Specification<Product> nameContains(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(name.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE);
+    }
+
+    public static Specification<Product> inCategory(String category) {
+        if (category == null || category.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Product> hasActive(Boolean active) {
+        if (active == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("active"), active);
+    }
+
+    /**
+     * Keyset: tudo o que vem depois do cursor na ordem {@code (valor, id)}.
+     * <p>
+     * Escrito como {@code valor >= v and (valor > v or id > i)} em vez de só o {@code or},
+     * para que o banco use a primeira condição como faixa no índice e não varra a tabela.
+     * </p>
+     */
+    public static Specification<Product> after(ProductCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        boolean desc = cursor.sort().isDescending();
+        if (cursor.sort().isByPrice()) {
+            Integer price = cursor.priceCents();
+            return (root, query, cb) -> desc
+                    ? cb.and(cb.le(root.get("priceCents"), price),
+                             cb.or(cb.lt(root.get("priceCents"), price), cb.lt(root.get("id"), cursor.id())))
+                    : cb.and(cb.ge(root.get("priceCents"), price),
+                             cb.or(cb.gt(root.get("priceCents"), price), cb.gt(root.get("id"), cursor.id())));
+        }
+        String name = cursor.value();
+        return (root, query, cb) -> desc
+                ? cb.and(cb.lessThanOrEqualTo(root.get("name"), name),
+                         cb.or(cb.lessThan(root.get("name"), name), cb.lt(root.get("id"), cursor.id())))
+                : cb.and(cb.greaterThanOrEqualTo(root.get("name"), name),
+                         cb.or(cb.greaterThan(root.get("name"), name), cb.gt(root.get("id"), cursor.id())));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,22 @@
+package com.joaofroes.gestao_pedidos.repository;
+
+import com.joaofroes.gestao_pedidos.domain.entity.ProductStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ProductStockRepository extends JpaRepository<ProductStock, Long> {
+
+    // Deltas acumulados em memória (StockService.flush); relativo, então não sobrescreve outras alterações
+    @Modifying
+    @Query("update ProductStock s set s.onHand = s.onHand + :onHand, s.reserved = s.reserved + :reserved where s.productId = :productId")
+    int applyDelta(@Param("productId") Long productId, @Param("onHand") long onHand, @Param("reserved") long reserved);
+
+    // Reservas já existentes quando o controle de estoque do produto começa
+    @Query("""
+            select coalesce(sum(i.quantity), 0) from Order o join o.items i
+            where i.product.id = :productId and o.status = com.joaofroes.gestao_pedidos.domain.entity.OrderStatus.NEW
+            """)
+    long sumOpenQuantity(@Param("productId") Long productId);
+}
@@ -0,0 +1,114 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.CategorySalesDTO;
+import com.joaofroes.gestao_pedidos.dto.DailySalesDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentMethodSalesDTO;
+import com.joaofroes.gestao_pedidos.dto.ProductSalesDTO;
+import com.joaofroes.gestao_pedidos.repository.CategorySalesRollupRepository;
+import com.joaofroes.gestao_pedidos.repository.DailySalesRollupRepository;
+import com.joaofroes.gestao_pedidos.repository.PaymentMethodSalesRollupRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductSalesRollupRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relatórios de vendas lidos das tabelas de rollup mantidas pelo {@link SalesRollupService}.
+ * <p>
+ * Nenhuma consulta aqui toca {@code orders}, {@code order_items} ou {@code payments}: o custo depende
+ * do período pedido (dias x categorias/produtos), não do volume de pedidos.
+ * </p>
+ */
+@Service
+@Timed("app.service")
+public class AnalyticsService {
+
+    static final int DEFAULT_RANGE_DAYS = 30;
+
+    private final DailySalesRollupRepository dailyRepository;
+    private final CategorySalesRollupRepository categoryRepository;
+    private final ProductSalesRollupRepository productRepository;
+    private final PaymentMethodSalesRollupRepository paymentMethodRepository;
+    private final ProductCatalogCache catalogCache;
+
+    @Value("${app.analytics.top-products.default-limit:10}")
+    private int defaultTopLimit;
+
+    @Value("${app.analytics.top-products.max-limit:100}")
+    private int maxTopLimit;
+
+    public AnalyticsService(DailySalesRollupRepository dailyRepository,
+                            CategorySalesRollupRepository categoryRepository,
+                            ProductSalesRollupRepository productRepository,
+                            PaymentMethodSalesRollupRepository paymentMethodRepository,
+                            ProductCatalogCache catalogCache) {
+        this.dailyRepository = dailyRepository;
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.paymentMethodRepository = paymentMethodRepository;
+        this.catalogCache = catalogCache;
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailySalesDTO> daily(LocalDate from, LocalDate to) {
+        Range range = Range.of(from, to);
+        return dailyRepository.findBySalesDateBetweenOrderBySalesDate(range.from(), range.to()).stream()
+                .map(DailySalesDTO::fromEntity)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategorySalesDTO> byCategory(LocalDate from, LocalDate to) {
+        Range range = Range.of(from, to);
+        return categoryRepository.summarize(range.from(), range.to());
+    }
+
+    @Transactional(readOnly = true)
+    public List<PaymentMethodSalesDTO> byPaymentMethod(LocalDate from, LocalDate to) {
+        Range range = Range.of(from, to);
+        return paymentMethodRepository.summarize(range.from(), range.to());
+    }
+
+    /**
+     * Produtos mais vendidos (por valor) no período, com nome e categoria atuais do catálogo.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSalesDTO> topProducts(LocalDate from, LocalDate to, Integer limit) {
+        Range range = Range.of(from, to);
+        int size = limit == null ? defaultTopLimit : limit;
+        if (size < 1 || size > maxTopLimit) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + maxTopLimit);
+        }
+
+        List<ProductSalesDTO> top = productRepository.findTop(range.from(), range.to(), Limit.of(size));
+        Map<Long, Product> products = catalogCache.findAllById(top.stream().map(ProductSalesDTO::productId).toList());
+        return top.stream()
+                .map(row -> {
+                    Product product = products.get(row.productId());
+                    return product == null ? row : row.withProduct(product.getName(), product.getCategory());
+                })
+                .toList();
+    }
+
+    /**
+     * Período inclusivo; sem datas, os últimos {@value #DEFAULT_RANGE_DAYS} dias até hoje.
+     */
+    record Range(LocalDate from, LocalDate to) {
+
+        static Range of(LocalDate from, LocalDate to) {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+            if (start.isAfter(end)) {
+                throw new IllegalArgumentException("A data inicial não pode ser posterior à data final");
+            }
+            return new Range(start, end);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.event.ProductChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Versão do catálogo de produtos, usada como ETag das respostas de leitura do catálogo.
+ * <p>
+ * Qualquer escrita em {@link com.joaofroes.gestao_pedidos.domain.entity.Product} incrementa o contador
+ * após o commit. Uma requisição condicional ({@code If-None-Match}) compara só este valor,
+ * sem consultar o banco nem serializar a lista.
+ * </p>
+ * <p>
+ * <b>Decisão de Arquitetura:</b> o incremento roda depois dos listeners que atualizam o cache e o
+ * índice de busca. Assim, quem lê a nova versão já enxerga os dados novos; no pior caso uma resposta
+ * sai com a versão antiga e o próximo GET condicional simplesmente recebe 200 de novo.
+ * O instante de inicialização faz parte da ETag, para que outro processo (ou um restart) não
+ * reaproveite os mesmos valores com outro conteúdo.
+ * </p>
+ */
+@Component
+public class CatalogVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile State state = new State(0, System.currentTimeMillis());
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        bump();
+    }
+
+    public synchronized void bump() {
+        state = new State(state.version() + 1, System.currentTimeMillis());
+    }
+
+    public long current() {
+        return state.version();
+    }
+
+    /** ETag forte (sem aspas; o Spring as adiciona) da versão atual do catálogo. */
+    public String etag() {
+        return "catalog-" + epoch + "-" + state.version();
+    }
+
+    /** Instante da última alteração, em milissegundos, para o cabeçalho Last-Modified. */
+    public long lastModified() {
+        return state.changedAt();
+    }
+
+    // Versão e instante mudam juntos, para que ETag e Last-Modified nunca se contradigam
+    private record State(long version, long changedAt) {
+    }
+}
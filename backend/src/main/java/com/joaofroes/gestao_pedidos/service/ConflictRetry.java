@@ -0,0 +1,84 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Executa uma operação em transação e a repete quando ela perde uma disputa de concorrência.
+ * <p>
+ * Cobre tanto o conflito de versão ({@code @Version}, lock otimista) quanto o banco ocupado
+ * (SQLITE_BUSY), ambos traduzidos pelo Spring para {@link ConcurrencyFailureException}.
+ * Cada tentativa roda em uma transação nova, então a operação relê o estado atual e
+ * reaplica as regras de negócio. Entre as tentativas há um backoff exponencial com jitter.
+ * </p>
+ */
+@Component
+public class ConflictRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(ConflictRetry.class);
+
+    private final TransactionTemplate transaction;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public ConflictRetry(PlatformTransactionManager transactionManager,
+                         @Value("${app.retry.max-attempts:5}") int maxAttempts,
+                         @Value("${app.retry.backoff-ms:10}") long backoffMillis) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    public <T> T inTransaction(Supplier<T> work) {
+        // Dentro de uma transação já aberta não dá para repetir só um pedaço dela:
+        // participa da transação externa e deixa a nova tentativa para quem a abriu
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    log.warn("Conflito de concorrência persistiu após {} tentativas", attempt);
+                    throw e;
+                }
+                retries.increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = backoffMillis << Math.min(attempt - 1, 6);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis, ceiling + backoffMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Operação interrompida durante nova tentativa", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joaofroes.gestao_pedidos.dto.OutboxMessageDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Destino do outbox em arquivo local: um evento JSON por linha (JSON Lines), sempre no fim do arquivo.
+ * <p>
+ * Cada lote é gravado com uma única escrita seguida de {@code force}, então o lote só é confirmado
+ * ao dispatcher depois de estar no disco. Serve para desenvolvimento, testes e integrações simples
+ * (ex: um coletor de logs lendo o arquivo). Ativo quando {@code app.outbox.sink.file.path} não está vazio.
+ * </p>
+ */
+@Component
+@ConditionalOnExpression("'${app.outbox.sink.file.path:}' != ''")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(@Value("${app.outbox.sink.file.path}") String path, ObjectMapper objectMapper) {
+        this.path = Path.of(path);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessageDTO> batch) throws IOException {
+        StringBuilder lines = new StringBuilder(batch.size() * 256);
+        for (OutboxMessageDTO message : batch) {
+            lines.append(objectMapper.writeValueAsString(message)).append('\n');
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+}
@@ -0,0 +1,212 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joaofroes.gestao_pedidos.domain.entity.IdempotencyRecord;
+import com.joaofroes.gestao_pedidos.dto.IdempotencyStatsDTO;
+import com.joaofroes.gestao_pedidos.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicação de requisições pelo cabeçalho {@code Idempotency-Key}.
+ * <p>
+ * A primeira requisição com uma chave executa a operação e grava a resposta na mesma
+ * transação. Repetições com a mesma chave recebem a resposta gravada, sem executar nada.
+ * As consultas passam primeiro por um LRU em memória e só então pela tabela
+ * {@code idempotency_keys}. Chaves expiram após {@code app.idempotency.ttl}.
+ * </p>
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Resposta da operação, com o status HTTP da primeira execução, e se ela veio de uma execução anterior.
+     */
+    public record Result<T>(int status, T body, boolean replayed) {
+    }
+
+    private final IdempotencyRecordRepository repository;
+    private final ConflictRetry conflictRetry;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    private final Map<String, IdempotencyRecord> cache;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder storeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    public IdempotencyService(IdempotencyRecordRepository repository, ConflictRetry conflictRetry, ObjectMapper objectMapper,
+                              @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.idempotency.cache-size:10000}") int cacheSize) {
+        this.repository = repository;
+        this.conflictRetry = conflictRetry;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+
+        // LinkedHashMap em ordem de acesso: remove a chave menos usada ao passar do limite
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Executa {@code action} uma única vez por chave.
+     *
+     * @param scope Operação protegida, ex: "POST /orders". A mesma chave pode ser usada em escopos diferentes.
+     * @param key Valor do cabeçalho {@code Idempotency-Key}.
+     * @param request Corpo da requisição, usado para detectar reuso da chave com outro conteúdo.
+     * @param responseType Tipo da resposta, para desserializar o que foi gravado.
+     * @param status Status HTTP da resposta de sucesso. É gravado com ela e devolvido igual nas repetições.
+     * @param action Operação a executar. Roda dentro da mesma transação que grava a resposta.
+     */
+    public <T> Result<T> execute(String scope, String key, Object request, Class<T> responseType, int status,
+                                 Supplier<T> action) {
+        if (key.isBlank() || key.length() > 255) {
+            throw new IllegalArgumentException("Idempotency-Key deve ter entre 1 e 255 caracteres");
+        }
+
+        String id = scope + ":" + key;
+        String requestHash = hash(request);
+
+        IdempotencyRecord stored = lookup(id);
+        if (stored != null) {
+            return replay(stored, requestHash, responseType);
+        }
+
+        if (!inFlight.add(id)) {
+            conflicts.increment();
+            throw new IllegalStateException("Já existe uma requisição com esta Idempotency-Key em processamento.");
+        }
+
+        try {
+            // Pode ter sido concluída entre a consulta e a marcação de "em processamento"
+            stored = lookup(id);
+            if (stored != null) {
+                return replay(stored, requestHash, responseType);
+            }
+
+            misses.increment();
+            IdempotencyRecord record = conflictRetry.inTransaction(() -> {
+                T response = action.get();
+                LocalDateTime now = LocalDateTime.now();
+                return repository.save(new IdempotencyRecord(id, requestHash, status, toJson(response), now, now.plus(ttl)));
+            });
+
+            synchronized (cache) {
+                cache.put(id, record);
+            }
+            return new Result<>(record.getResponseStatus(), fromJson(record.getResponseBody(), responseType), false);
+        } finally {
+            inFlight.remove(id);
+        }
+    }
+
+    public IdempotencyStatsDTO stats() {
+        long hits = memoryHits.sum() + storeHits.sum();
+        long total = hits + misses.sum();
+        int size;
+        synchronized (cache) {
+            size = cache.size();
+        }
+        return new IdempotencyStatsDTO(memoryHits.sum(), storeHits.sum(), misses.sum(), conflicts.sum(),
+                size, total == 0 ? 0.0 : (double) hits / total);
+    }
+
+    @Scheduled(cron = "${app.idempotency.purge-cron:0 0 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = repository.deleteExpired(now);
+        synchronized (cache) {
+            cache.values().removeIf(record -> record.getExpiresAt().isBefore(now));
+        }
+        if (removed > 0) {
+            log.info("{} chaves de idempotência expiradas removidas", removed);
+        }
+    }
+
+    private IdempotencyRecord lookup(String id) {
+        LocalDateTime now = LocalDateTime.now();
+
+        IdempotencyRecord record;
+        synchronized (cache) {
+            record = cache.get(id);
+        }
+        if (record != null && record.getExpiresAt().isAfter(now)) {
+            memoryHits.increment();
+            return record;
+        }
+
+        record = repository.findById(id).orElse(null);
+        if (record != null && record.getExpiresAt().isAfter(now)) {
+            storeHits.increment();
+            synchronized (cache) {
+                cache.put(id, record);
+            }
+            return record;
+        }
+        return null;
+    }
+
+    private <T> Result<T> replay(IdempotencyRecord stored, String requestHash, Class<T> responseType) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            throw new IllegalArgumentException("Esta Idempotency-Key já foi usada com uma requisição diferente.");
+        }
+        return new Result<>(stored.getResponseStatus(), fromJson(stored.getResponseBody(), responseType), true);
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] json = toJson(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(digest.digest(json));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta idempotente", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao ler resposta idempotente gravada", e);
+        }
+    }
+}
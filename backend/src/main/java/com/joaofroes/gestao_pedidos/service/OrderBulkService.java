@@ -0,0 +1,198 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Customer;
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.BulkOrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.BulkOrderResultDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.OrderRepository;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importação de pedidos em volume (integração com marketplace).
+ * <p>
+ * Os pedidos são processados em blocos de {@code app.orders.bulk.chunk-size}, cada bloco em
+ * sua própria transação. Clientes e produtos do bloco são carregados de uma vez e os pedidos
+ * válidos são gravados juntos, usando o batch de INSERTs do Hibernate.
+ * Pedidos inválidos não derrubam o bloco: eles voltam na resposta com os erros encontrados.
+ * </p>
+ */
+@Service
+public class OrderBulkService {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final CustomerRepository customerRepository;
+    private final Validator validator;
+    private final TransactionTemplate chunkTransaction;
+    private final ServiceMetrics metrics;
+    private final SalesRollupService salesRollups;
+    private final OutboxService outbox;
+    private final StockService stock;
+    private final OrderLedgerService ledger;
+    private final OrderStreamService stream;
+    private final OrderSummaryService summaries;
+
+    @Value("${app.orders.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.orders.bulk.max-orders:5000}")
+    private int maxOrders;
+
+    public OrderBulkService(OrderService orderService, OrderRepository orderRepository,
+                            CustomerRepository customerRepository, Validator validator,
+                            PlatformTransactionManager transactionManager, ServiceMetrics metrics,
+                            SalesRollupService salesRollups, OutboxService outbox,
+                            StockService stock, OrderLedgerService ledger,
+                            OrderStreamService stream, OrderSummaryService summaries) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.customerRepository = customerRepository;
+        this.validator = validator;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+        this.salesRollups = salesRollups;
+        this.outbox = outbox;
+        this.stock = stock;
+        this.ledger = ledger;
+        this.stream = stream;
+        this.summaries = summaries;
+    }
+
+    public BulkOrderResponseDTO createAll(List<OrderRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("A importação deve conter pelo menos um pedido");
+        }
+        if (requests.size() > maxOrders) {
+            throw new IllegalArgumentException("A importação aceita no máximo " + maxOrders + " pedidos por requisição");
+        }
+
+        return BulkOrderResponseDTO.of(createAll(requests, ServiceMetrics.SOURCE_BULK));
+    }
+
+    /**
+     * Grava os pedidos em blocos de {@code chunk-size}, sem os limites da importação.
+     * Também usado pela fila de pedidos assíncronos ({@link OrderQueueService}).
+     *
+     * @param source Origem registrada nas métricas de pedidos criados.
+     */
+    List<BulkOrderResultDTO> createAll(List<OrderRequestDTO> requests, String source) {
+        List<BulkOrderResultDTO> results = new ArrayList<>(requests.size());
+        for (int start = 0; start < requests.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, requests.size());
+            results.addAll(processChunk(requests, start, end, source));
+        }
+        return results;
+    }
+
+    private List<BulkOrderResultDTO> processChunk(List<OrderRequestDTO> requests, int start, int end, String source) {
+        Map<Integer, BulkOrderResultDTO> rejected = new HashMap<>();
+        Map<Integer, OrderRequestDTO> valid = new LinkedHashMap<>();
+
+        // Validação de formato (as mesmas anotações do POST /orders)
+        for (int i = start; i < end; i++) {
+            OrderRequestDTO request = requests.get(i);
+            Map<String, String> errors = validate(request);
+            if (errors.isEmpty()) {
+                valid.put(i, request);
+            } else {
+                rejected.put(i, BulkOrderResultDTO.rejected(i, errors));
+            }
+        }
+
+        Map<Integer, Order> created = new LinkedHashMap<>();
+        if (!valid.isEmpty()) {
+            try {
+                chunkTransaction.executeWithoutResult(status -> persistChunk(valid, created, rejected));
+            } catch (RuntimeException e) {
+                // Falha inesperada no banco: nenhum pedido do bloco foi gravado
+                created.clear();
+                for (Integer index : valid.keySet()) {
+                    rejected.putIfAbsent(index, BulkOrderResultDTO.rejected(index,
+                            Map.of("error", "Falha ao gravar o bloco de pedidos: " + e.getMessage())));
+                }
+            }
+        }
+
+        created.values().forEach(order -> metrics.orderCreated(source, order.getTotalCents()));
+
+        List<BulkOrderResultDTO> results = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            Order order = created.get(i);
+            results.add(order != null ? BulkOrderResultDTO.created(i, order.getId()) : rejected.get(i));
+        }
+        return results;
+    }
+
+    private void persistChunk(Map<Integer, OrderRequestDTO> valid, Map<Integer, Order> created,
+                              Map<Integer, BulkOrderResultDTO> rejected) {
+        Set<Long> customerIds = new LinkedHashSet<>();
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (OrderRequestDTO request : valid.values()) {
+            customerIds.add(request.customerId());
+            productIds.addAll(OrderService.productIds(request.items()));
+        }
+
+        Map<Long, Customer> customers = customerRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Map<Long, Product> products = orderService.loadProducts(productIds);
+
+        for (Map.Entry<Integer, OrderRequestDTO> entry : valid.entrySet()) {
+            int index = entry.getKey();
+            OrderRequestDTO request = entry.getValue();
+
+            Customer customer = customers.get(request.customerId());
+            if (customer == null) {
+                rejected.put(index, BulkOrderResultDTO.rejected(index,
+                        Map.of("customerId", "Cliente não encontrado com ID: " + request.customerId())));
+                continue;
+            }
+
+            try {
+                Order order = orderService.buildOrder(customer, request.items(), products);
+                stock.apply(order, null, order.getStatus());
+                created.put(index, order);
+            } catch (EntityNotFoundException | IllegalArgumentException | IllegalStateException e) {
+                rejected.put(index, BulkOrderResultDTO.rejected(index, Map.of("items", e.getMessage())));
+            }
+        }
+
+        orderRepository.saveAll(created.values());
+        orderRepository.flush();
+        salesRollups.ordersCreated(created.values());
+        outbox.ordersCreated(created.values());
+        ledger.ordersCreated(created.values());
+        stream.ordersCreated(created.values());
+        summaries.ordersCreated(created.values());
+    }
+
+    private Map<String, String> validate(OrderRequestDTO request) {
+        if (request == null) {
+            return Map.of("order", "O pedido não pode ser nulo");
+        }
+        Map<String, String> errors = new TreeMap<>();
+        for (ConstraintViolation<OrderRequestDTO> violation : validator.validate(request)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,127 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.joaofroes.gestao_pedidos.dto.OrderExportRowDTO;
+import com.joaofroes.gestao_pedidos.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Exporta todos os pedidos em streaming, linha a linha, direto para a saída HTTP.
+ * <p>
+ * O banco é lido em blocos de {@code app.orders.export.chunk-size} pedidos, em ordem de ID (keyset),
+ * e cada bloco é serializado e descartado antes do próximo ser lido, então a memória usada é constante.
+ * </p>
+ * <p>
+ * <b>Decisão de Arquitetura:</b> cada bloco é lido em uma transação somente-leitura própria, fechada
+ * antes de escrever as linhas na resposta. Uma única transação aberta durante o download inteiro
+ * (que pode levar até {@code spring.mvc.async.request-timeout}, com um cliente lento) seguraria o lock
+ * de leitura do SQLite e, no journal padrão (rollback), impediria qualquer escrita até o fim. O custo é
+ * não haver um snapshot único: pedidos gravados ou alterados durante a exportação podem ou não aparecer
+ * com o estado novo, mas nenhum pedido já existente é repetido ou pulado.
+ * </p>
+ */
+@Service
+public class OrderExportService {
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format from(String value) {
+            try {
+                return Format.valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato de exportação inválido: " + value + " (use ndjson ou csv)");
+            }
+        }
+    }
+
+    private static final String CSV_HEADER = "id,customerName,customerEmail,status,totalCents,totalPaidCents,itemCount,createdAt";
+
+    private final OrderRepository orderRepository;
+    private final ObjectWriter jsonWriter;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public OrderExportService(OrderRepository orderRepository, ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.orders.export.chunk-size:1000}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.jsonWriter = objectMapper.writerFor(OrderExportRowDTO.class);
+        this.chunkSize = chunkSize;
+
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setReadOnly(true);
+    }
+
+    public void export(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long afterId = 0;
+        List<OrderExportRowDTO> chunk;
+        do {
+            long from = afterId;
+            chunk = chunkTransaction.execute(status -> orderRepository.findExportRowsAfter(from, Limit.of(chunkSize)));
+            for (OrderExportRowDTO row : chunk) {
+                if (format == Format.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(row));
+                }
+                writer.write('\n');
+            }
+            // Um flush por bloco: o cliente recebe as linhas enquanto o próximo bloco é lido
+            writer.flush();
+
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).id();
+            }
+        } while (chunk.size() == chunkSize);
+    }
+
+    private void writeCsv(Writer writer, OrderExportRowDTO row) throws IOException {
+        writer.write(String.valueOf(row.id()));
+        writer.write(',');
+        writer.write(csv(row.customerName()));
+        writer.write(',');
+        writer.write(csv(row.customerEmail()));
+        writer.write(',');
+        writer.write(row.status().name());
+        writer.write(',');
+        writer.write(String.valueOf(row.totalCents()));
+        writer.write(',');
+        writer.write(String.valueOf(row.totalPaidCents()));
+        writer.write(',');
+        writer.write(String.valueOf(row.itemCount()));
+        writer.write(',');
+        writer.write(String.valueOf(row.createdAt()));
+    }
+
+    // Aspas apenas quando necessário (RFC 4180)
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,483 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.joaofroes.gestao_pedidos.domain.event.OrderLedgerEvent;
+import com.joaofroes.gestao_pedidos.dto.LedgerReplayResultDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderProjectionDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Ledger de pedidos: log de eventos somente de inclusão, gravado em segmentos NDJSON (um evento por linha).
+ * <p>
+ * Os eventos recebem uma posição ({@code seq}) contínua e vão para o fim do segmento atual; ao passar de
+ * {@code segmentMaxBytes} um novo segmento é aberto, com o nome da primeira posição que contém
+ * ({@code segment-00000000000000000001.ndjson}). Segmentos nunca são reescritos nem apagados.
+ * </p>
+ * <p>
+ * Snapshots ({@code snapshot-<seq>.ndjson}) guardam a {@link OrderProjection} inteira em uma posição:
+ * uma linha de cabeçalho e uma linha por pedido. O replay parte do snapshot mais recente e lê só os
+ * eventos posteriores; sem snapshot válido, lê o ledger inteiro. São gravados em arquivo temporário e
+ * renomeados, então um snapshot pela metade nunca é usado.
+ * </p>
+ * <p>
+ * <b>Decisão de Arquitetura:</b> NDJSON em vez de um formato binário: cada linha é legível com
+ * {@code grep}/{@code jq}, campos nulos não são gravados (cerca de 150 bytes por evento) e uma gravação
+ * interrompida só pode estragar a última linha, que é descartada na abertura. O formato JSON é fixado
+ * aqui (mapper próprio), independente da configuração do Jackson da API.
+ * </p>
+ * <p>
+ * Não é thread-safe para gravação: {@link OrderLedgerService} serializa as chamadas. A leitura do
+ * histórico ({@link #history}) pode rodar em paralelo, pois só considera linhas completas. O diretório
+ * é travado ({@code ledger.lock}) para que dois processos nunca gravem no mesmo ledger.
+ * </p>
+ */
+public class OrderLedger implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderLedger.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SUFFIX = ".ndjson";
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+    private static final byte[] SEQ_PREFIX = "{\"seq\":".getBytes(StandardCharsets.UTF_8);
+
+    private final Path directory;
+    private final long segmentMaxBytes;
+    private final int snapshotsRetained;
+
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+    private final ObjectWriter eventWriter = mapper.writerFor(OrderLedgerEvent.class);
+    private final ObjectReader eventReader = mapper.readerFor(OrderLedgerEvent.class);
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private FileChannel segment;
+    private long segmentSize;
+    private long nextSeq = 1;
+    private boolean closed;
+
+    /**
+     * Abre (ou cria) o ledger no diretório, descartando uma última linha incompleta deixada por uma queda.
+     *
+     * @throws IllegalStateException Se outro processo já estiver usando o diretório, ou se um segmento
+     *                               estiver corrompido fora da última linha.
+     */
+    public OrderLedger(Path directory, long segmentMaxBytes, int snapshotsRetained) throws IOException {
+        if (segmentMaxBytes < 1 || snapshotsRetained < 1) {
+            throw new IllegalArgumentException("O tamanho do segmento e a quantidade de snapshots devem ser maiores que zero");
+        }
+        this.directory = directory;
+        this.segmentMaxBytes = segmentMaxBytes;
+        this.snapshotsRetained = snapshotsRetained;
+
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve("ledger.lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired;
+        try {
+            acquired = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            acquired = null;
+        }
+        if (acquired == null) {
+            lockChannel.close();
+            throw new IllegalStateException("O ledger em " + directory.toAbsolutePath() + " já está em uso por outro processo");
+        }
+        this.lock = acquired;
+
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            nextSeq = Math.max(1, latestSnapshotSeq() + 1);
+            return;
+        }
+
+        Path last = segments.get(segments.size() - 1);
+        long[] lastSeq = {firstSeq(last) - 1};
+        long validEnd = scan(last, (bytes, offset, length) -> {
+            lastSeq[0] = parseEvent(bytes, offset, length).seq();
+        });
+        segment = FileChannel.open(last, StandardOpenOption.WRITE);
+        if (segment.size() > validEnd) {
+            log.warn("Descartando {} bytes incompletos no fim de {}", segment.size() - validEnd, last.getFileName());
+            segment.truncate(validEnd);
+            segment.force(false);
+        }
+        segment.position(validEnd);
+        segmentSize = validEnd;
+        nextSeq = lastSeq[0] + 1;
+    }
+
+    /**
+     * Grava os eventos no fim do ledger, com uma única escrita no arquivo.
+     *
+     * @return Os mesmos eventos, com a posição ({@code seq}) atribuída.
+     */
+    public List<OrderLedgerEvent> append(List<OrderLedgerEvent> events) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("O ledger de pedidos já foi fechado");
+        }
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        List<OrderLedgerEvent> appended = new ArrayList<>(events.size());
+        buffer.reset();
+        long seq = nextSeq;
+        for (OrderLedgerEvent event : events) {
+            OrderLedgerEvent positioned = event.withSeq(seq++);
+            eventWriter.writeValue(buffer, positioned);
+            buffer.write('\n');
+            appended.add(positioned);
+        }
+
+        if (segment == null || (segmentSize > 0 && segmentSize + buffer.size() > segmentMaxBytes)) {
+            roll(nextSeq);
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+        try {
+            while (bytes.hasRemaining()) {
+                segment.write(bytes);
+            }
+        } catch (IOException e) {
+            // Não deixa meia linha no meio do segmento: a próxima gravação continuaria depois dela
+            segment.truncate(segmentSize);
+            segment.position(segmentSize);
+            throw e;
+        }
+        segmentSize += bytes.limit();
+        nextSeq = seq;
+        return appended;
+    }
+
+    private void roll(long firstSeq) throws IOException {
+        if (segment != null) {
+            segment.force(false);
+            segment.close();
+        }
+        segment = FileChannel.open(directory.resolve(SEGMENT_PREFIX + position(firstSeq) + SUFFIX),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentSize = 0;
+    }
+
+    /**
+     * Força os dados gravados até aqui para o disco ({@code fsync}).
+     */
+    public void sync() throws IOException {
+        if (segment != null) {
+            segment.force(false);
+        }
+    }
+
+    /**
+     * Reconstrói a projeção a partir do disco: snapshot mais recente (se {@code fromSnapshot}) e eventos seguintes.
+     */
+    public LedgerReplayResultDTO replay(OrderProjection projection, boolean fromSnapshot) throws IOException {
+        long start = System.nanoTime();
+        projection.clear();
+        long snapshotSeq = fromSnapshot ? restoreLatestSnapshot(projection) : 0;
+        long events = readAfter(snapshotSeq, projection::apply);
+        return new LedgerReplayResultDTO(LocalDateTime.now(), snapshotSeq, events, projection.lastSeq(),
+                projection.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Lê, em ordem, todos os eventos com posição maior que {@code afterSeq}.
+     *
+     * @return Quantidade de eventos lidos.
+     */
+    public long readAfter(long afterSeq, Consumer<OrderLedgerEvent> consumer) throws IOException {
+        List<Path> segments = segments();
+        long[] count = {0};
+        for (int i = 0; i < segments.size(); i++) {
+            // Segmento inteiro antes da posição pedida: nem é aberto
+            if (i + 1 < segments.size() && firstSeq(segments.get(i + 1)) <= afterSeq + 1) {
+                continue;
+            }
+            scan(segments.get(i), (bytes, offset, length) -> {
+                // Eventos já cobertos pelo snapshot são pulados sem interpretar o JSON
+                if (readSeq(bytes, offset, length) > afterSeq) {
+                    consumer.accept(parseEvent(bytes, offset, length));
+                    count[0]++;
+                }
+            });
+        }
+        return count[0];
+    }
+
+    /**
+     * Todos os eventos de um pedido, em ordem. Percorre o ledger inteiro, mas só interpreta as linhas
+     * do pedido: é uma consulta de diagnóstico, não de uso frequente.
+     */
+    public List<OrderLedgerEvent> history(Long orderId) throws IOException {
+        byte[] needle = ("\"orderId\":" + orderId + ",").getBytes(StandardCharsets.UTF_8);
+        List<OrderLedgerEvent> events = new ArrayList<>();
+        for (Path file : segments()) {
+            scan(file, (bytes, offset, length) -> {
+                if (contains(bytes, offset, length, needle)) {
+                    events.add(parseEvent(bytes, offset, length));
+                }
+            });
+        }
+        return events;
+    }
+
+    /**
+     * Grava um snapshot da projeção na posição {@code seq} e remove os mais antigos além de
+     * {@code snapshotsRetained}. Pode rodar em paralelo com {@link #append}.
+     */
+    public Path writeSnapshot(long seq, List<OrderProjectionDTO> orders) throws IOException {
+        Path target = directory.resolve(SNAPSHOT_PREFIX + position(seq) + SUFFIX);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        ObjectWriter writer = mapper.writerFor(OrderProjectionDTO.class);
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             BufferedOutputStream out = new BufferedOutputStream(file, READ_BUFFER_BYTES)) {
+            mapper.writeValue(out, new SnapshotHeader(seq, orders.size(), LocalDateTime.now()));
+            out.write('\n');
+            for (OrderProjectionDTO order : orders) {
+                writer.writeValue(out, order);
+                out.write('\n');
+            }
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        List<Path> snapshots = snapshots();
+        for (int i = 0; i < snapshots.size() - snapshotsRetained; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+        return target;
+    }
+
+    // Snapshot ilegível (disco, versão antiga) não impede a subida: tenta o anterior e, no limite, o replay completo
+    private long restoreLatestSnapshot(OrderProjection projection) throws IOException {
+        List<Path> snapshots = snapshots();
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Path file = snapshots.get(i);
+            try {
+                List<OrderProjectionDTO> orders = new ArrayList<>();
+                SnapshotHeader[] header = {null};
+                ObjectReader reader = mapper.readerFor(OrderProjectionDTO.class);
+                scan(file, (bytes, offset, length) -> {
+                    if (header[0] == null) {
+                        header[0] = mapper.readValue(bytes, offset, length, SnapshotHeader.class);
+                    } else {
+                        orders.add(reader.readValue(bytes, offset, length));
+                    }
+                });
+                if (header[0] == null || header[0].orders() != orders.size()) {
+                    throw new IllegalStateException("snapshot incompleto");
+                }
+                projection.restore(header[0].seq(), orders);
+                return header[0].seq();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Snapshot {} ignorado: {}", file.getFileName(), e.getMessage());
+                projection.clear();
+            }
+        }
+        return 0;
+    }
+
+    public long lastSeq() {
+        return nextSeq - 1;
+    }
+
+    public long latestSnapshotSeq() throws IOException {
+        List<Path> snapshots = snapshots();
+        return snapshots.isEmpty() ? 0 : firstSeq(snapshots.get(snapshots.size() - 1));
+    }
+
+    public int segmentCount() throws IOException {
+        return segments().size();
+    }
+
+    public long sizeBytes() throws IOException {
+        long total = 0;
+        for (Path file : segments()) {
+            total += Files.size(file);
+        }
+        return total;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            if (segment != null) {
+                segment.force(false);
+                segment.close();
+                segment = null;
+            }
+        } finally {
+            if (lock.isValid()) {
+                lock.release();
+            }
+            lockChannel.close();
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        return list(SEGMENT_PREFIX);
+    }
+
+    private List<Path> snapshots() throws IOException {
+        return list(SNAPSHOT_PREFIX);
+    }
+
+    // O nome tem largura fixa, então a ordem alfabética é a ordem das posições
+    private List<Path> list(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long firstSeq(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(name.indexOf('-') + 1, name.length() - SUFFIX.length()));
+    }
+
+    private static String position(long seq) {
+        return String.format("%020d", seq);
+    }
+
+    private OrderLedgerEvent parseEvent(byte[] bytes, int offset, int length) throws IOException {
+        return eventReader.readValue(bytes, offset, length);
+    }
+
+    // Toda linha começa com {"seq":<n>, (primeiro componente do record); fora desse formato, interpreta a linha inteira
+    private long readSeq(byte[] bytes, int offset, int length) throws IOException {
+        int i = offset + SEQ_PREFIX.length;
+        if (length <= SEQ_PREFIX.length || !Arrays.equals(bytes, offset, i, SEQ_PREFIX, 0, SEQ_PREFIX.length)) {
+            return parseEvent(bytes, offset, length).seq();
+        }
+        long seq = 0;
+        for (int end = offset + length; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+            seq = seq * 10 + (bytes[i] - '0');
+        }
+        return seq;
+    }
+
+    private static boolean contains(byte[] bytes, int offset, int length, byte[] needle) {
+        int last = offset + length - needle.length;
+        outer:
+        for (int i = offset; i <= last; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (bytes[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Percorre as linhas completas do arquivo (terminadas em {@code \n}) em blocos de 1 MB.
+     * Uma linha ilegível só é aceita como a última do arquivo (gravação interrompida).
+     *
+     * @return Posição, em bytes, logo após a última linha válida.
+     */
+    private long scan(Path file, LineHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            byte[] bytes = new byte[READ_BUFFER_BYTES];
+            long base = 0;
+            int start = 0;
+            int end = 0;
+            long invalidAt = -1;
+            while (true) {
+                if (start > 0) {
+                    System.arraycopy(bytes, start, bytes, 0, end - start);
+                    base += start;
+                    end -= start;
+                    start = 0;
+                }
+                if (end == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+                int read = channel.read(ByteBuffer.wrap(bytes, end, bytes.length - end));
+                if (read < 0) {
+                    break;
+                }
+                int scanned = end;
+                end += read;
+                for (int i = scanned; i < end; i++) {
+                    if (bytes[i] != '\n') {
+                        continue;
+                    }
+                    if (invalidAt >= 0) {
+                        throw new IllegalStateException("Ledger corrompido: linha ilegível em " + file.getFileName()
+                                + " (byte " + invalidAt + ") seguida de outros eventos");
+                    }
+                    try {
+                        handler.accept(bytes, start, i - start);
+                    } catch (IOException e) {
+                        invalidAt = base + start;
+                    }
+                    start = i + 1;
+                }
+            }
+            return invalidAt >= 0 ? invalidAt : base + start;
+        }
+    }
+
+    @FunctionalInterface
+    private interface LineHandler {
+        void accept(byte[] bytes, int offset, int length) throws IOException;
+    }
+
+    private record SnapshotHeader(long seq, int orders, LocalDateTime takenAt) {
+    }
+}
@@ -0,0 +1,411 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderItem;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.entity.Payment;
+import com.joaofroes.gestao_pedidos.domain.event.OrderLedgerEvent;
+import com.joaofroes.gestao_pedidos.dto.LedgerMismatchDTO;
+import com.joaofroes.gestao_pedidos.dto.LedgerReplayResultDTO;
+import com.joaofroes.gestao_pedidos.dto.LedgerStatsDTO;
+import com.joaofroes.gestao_pedidos.dto.LedgerVerifyResultDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderProjectionDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderStateRowDTO;
+import com.joaofroes.gestao_pedidos.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Histórico dos pedidos em um ledger de eventos ({@link OrderLedger}) e o estado calculado a partir dele
+ * ({@link OrderProjection}).
+ * <p>
+ * Os serviços de pedido e pagamento descrevem cada mudança como eventos (criação, itens, pagamento,
+ * troca de status) dentro da própria transação; após o commit os eventos são gravados no ledger e
+ * aplicados à projeção em memória. A cada {@code app.ledger.sync-interval-ms} o ledger é forçado para o
+ * disco e, a cada {@code app.ledger.snapshot-every} eventos, a projeção vira um snapshot. Na subida a
+ * projeção é reconstruída a partir do último snapshot e dos eventos posteriores.
+ * </p>
+ * <p>
+ * <b>Decisão de Arquitetura:</b> a tabela {@code orders} continua sendo o modelo de escrita transacional
+ * (lock otimista, consultas, paginação); o ledger é o histórico imutável e a fonte para reconstruir o
+ * estado depois de um bug, com {@link #verify()} apontando onde a tabela e o histórico divergem.
+ * A gravação é após o commit, não dentro da transação: o arquivo não participa do rollback, e no SQLite
+ * de produção (um único escritor) a transação não fica esperando o disco do ledger. O custo é que uma
+ * queda do processo entre o commit e a gravação perde aqueles eventos, o que a verificação acusa.
+ * </p>
+ * <p>
+ * Sem {@code app.ledger.dir}, o ledger fica ao lado do banco SQLite ({@code banco.db-ledger/});
+ * com outro banco, em {@code ledger/}.
+ * </p>
+ */
+@Service
+public class OrderLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderLedgerService.class);
+    private static final String SQLITE_PREFIX = "jdbc:sqlite:";
+
+    private final ApplicationEventPublisher publisher;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate readTransaction;
+    private final OrderLedger ledger;
+    private final long snapshotEvery;
+    private final int verifyMaxDetails;
+
+    private final OrderProjection projection = new OrderProjection();
+    // Lock explícito (e não synchronized) para não prender a thread portadora quando rodar em virtual threads
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private volatile long lastSnapshotSeq;
+
+    private final Timer appendTimer;
+    private final Timer snapshotTimer;
+    private final Counter appendFailureCounter;
+    private final AtomicLong appendFailures = new AtomicLong();
+
+    public OrderLedgerService(ApplicationEventPublisher publisher, OrderRepository orderRepository,
+                              PlatformTransactionManager transactionManager, MeterRegistry registry,
+                              @Value("${app.ledger.enabled:true}") boolean enabled,
+                              @Value("${app.ledger.dir:}") String directory,
+                              @Value("${spring.datasource.url:}") String datasourceUrl,
+                              @Value("${app.ledger.segment-max-bytes:67108864}") long segmentMaxBytes,
+                              @Value("${app.ledger.snapshot-every:100000}") long snapshotEvery,
+                              @Value("${app.ledger.snapshots-retained:2}") int snapshotsRetained,
+                              @Value("${app.ledger.verify.max-details:100}") int verifyMaxDetails) {
+        if (snapshotEvery < 1) {
+            throw new IllegalArgumentException("app.ledger.snapshot-every deve ser maior que zero");
+        }
+        this.publisher = publisher;
+        this.orderRepository = orderRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.snapshotEvery = snapshotEvery;
+        this.verifyMaxDetails = verifyMaxDetails;
+        try {
+            this.ledger = enabled
+                    ? new OrderLedger(resolveDirectory(directory, datasourceUrl), segmentMaxBytes, snapshotsRetained)
+                    : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o ledger de pedidos", e);
+        }
+
+        this.appendTimer = Timer.builder("app.ledger.append")
+                .description("Gravação no ledger dos eventos de uma transação confirmada")
+                .register(registry);
+        this.snapshotTimer = Timer.builder("app.ledger.snapshot")
+                .description("Gravação de um snapshot da projeção dos pedidos")
+                .register(registry);
+        this.appendFailureCounter = Counter.builder("app.ledger.append.failures")
+                .description("Transações confirmadas cujos eventos não puderam ser gravados no ledger")
+                .register(registry);
+        Gauge.builder("app.ledger.last.seq", this, service -> service.ledger == null ? 0 : service.ledger.lastSeq())
+                .description("Posição do último evento gravado no ledger")
+                .register(registry);
+    }
+
+    static Path resolveDirectory(String directory, String datasourceUrl) {
+        if (directory != null && !directory.isBlank()) {
+            return Path.of(directory);
+        }
+        if (datasourceUrl != null && datasourceUrl.startsWith(SQLITE_PREFIX)) {
+            String file = datasourceUrl.substring(SQLITE_PREFIX.length());
+            int query = file.indexOf('?');
+            file = query >= 0 ? file.substring(0, query) : file;
+            if (!file.isBlank() && !file.startsWith(":memory:") && !file.startsWith("file::memory:")) {
+                return Path.of(file + "-ledger");
+            }
+        }
+        return Path.of("ledger");
+    }
+
+    @PostConstruct
+    void load() {
+        if (ledger == null) {
+            return;
+        }
+        LedgerReplayResultDTO result = replay(true);
+        log.info("Ledger de pedidos em {}: {} pedidos, posição {} ({} eventos após o snapshot, {} ms)",
+                ledger.directory().toAbsolutePath(), result.orders(), result.lastSeq(), result.events(), result.durationMs());
+    }
+
+    /**
+     * Registra pedidos recém-gravados (ID e {@code createdAt} já preenchidos): a criação e um evento por item.
+     */
+    public void ordersCreated(Collection<Order> orders) {
+        if (ledger == null || orders.isEmpty()) {
+            return;
+        }
+        List<OrderLedgerEvent> events = new ArrayList<>();
+        for (Order order : orders) {
+            events.add(OrderLedgerEvent.created(order));
+            for (OrderItem item : order.getItems()) {
+                events.add(OrderLedgerEvent.itemAdded(item));
+            }
+        }
+        publisher.publishEvent(new PendingEvents(events));
+    }
+
+    public void orderCreated(Order order) {
+        ordersCreated(List.of(order));
+    }
+
+    /**
+     * Registra um pagamento já gravado (ID e {@code paidAt} preenchidos).
+     */
+    public void paymentRegistered(Payment payment) {
+        if (ledger == null) {
+            return;
+        }
+        publisher.publishEvent(new PendingEvents(List.of(OrderLedgerEvent.paymentRegistered(payment))));
+    }
+
+    public void orderStatusChanged(Order order, OrderStatus previous) {
+        if (ledger == null || previous == order.getStatus()) {
+            return;
+        }
+        publisher.publishEvent(new PendingEvents(List.of(OrderLedgerEvent.statusChanged(order, previous, LocalDateTime.now()))));
+    }
+
+    /**
+     * Grava no ledger os eventos de uma transação confirmada. A transação já foi confirmada, então
+     * uma falha aqui não desfaz nada: é registrada no log e na métrica {@code app.ledger.append.failures}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitted(PendingEvents pending) {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            for (OrderLedgerEvent event : ledger.append(pending.events())) {
+                projection.apply(event);
+            }
+        } catch (IOException | RuntimeException e) {
+            appendFailures.incrementAndGet();
+            appendFailureCounter.increment();
+            log.error("Falha ao gravar {} eventos no ledger de pedidos", pending.events().size(), e);
+        } finally {
+            writeLock.unlock();
+            appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Força o ledger para o disco e, passados {@code app.ledger.snapshot-every} eventos do último
+     * snapshot, grava um novo.
+     */
+    @Scheduled(fixedDelayString = "${app.ledger.sync-interval-ms:200}")
+    public void sync() {
+        if (ledger == null) {
+            return;
+        }
+        long lastSeq;
+        writeLock.lock();
+        try {
+            ledger.sync();
+            lastSeq = ledger.lastSeq();
+        } catch (IOException e) {
+            log.warn("Falha ao forçar o ledger de pedidos para o disco", e);
+            return;
+        } finally {
+            writeLock.unlock();
+        }
+        if (lastSeq - lastSnapshotSeq >= snapshotEvery) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Grava um snapshot da projeção atual. O estado é copiado sob o lock de gravação (a cópia é rápida);
+     * a escrita do arquivo acontece fora dele, sem bloquear novos eventos.
+     */
+    public LedgerStatsDTO snapshot() {
+        requireEnabled();
+        snapshotLock.lock();
+        try {
+            long start = System.nanoTime();
+            long seq;
+            List<OrderProjectionDTO> orders;
+            writeLock.lock();
+            try {
+                seq = projection.lastSeq();
+                orders = projection.copy();
+            } finally {
+                writeLock.unlock();
+            }
+            if (seq > lastSnapshotSeq) {
+                ledger.writeSnapshot(seq, orders);
+                lastSnapshotSeq = seq;
+                snapshotTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.info("Snapshot do ledger de pedidos na posição {} ({} pedidos)", seq, orders.size());
+            }
+            return stats();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o snapshot do ledger de pedidos", e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Reconstrói a projeção lendo o disco: a partir do último snapshot ou, com {@code fromSnapshot=false},
+     * do primeiro evento. Novos eventos esperam o fim da leitura.
+     */
+    public LedgerReplayResultDTO replay(boolean fromSnapshot) {
+        requireEnabled();
+        writeLock.lock();
+        try {
+            LedgerReplayResultDTO result = ledger.replay(projection, fromSnapshot);
+            lastSnapshotSeq = ledger.latestSnapshotSeq();
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o ledger de pedidos", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public OrderProjectionDTO find(Long orderId) {
+        requireEnabled();
+        OrderProjectionDTO state;
+        writeLock.lock();
+        try {
+            state = projection.get(orderId);
+        } finally {
+            writeLock.unlock();
+        }
+        if (state == null) {
+            throw new EntityNotFoundException("Pedido não encontrado no ledger: " + orderId);
+        }
+        return state;
+    }
+
+    /**
+     * Eventos de um pedido, em ordem de gravação.
+     */
+    public List<OrderLedgerEvent> history(Long orderId) {
+        requireEnabled();
+        try {
+            List<OrderLedgerEvent> events = ledger.history(orderId);
+            if (events.isEmpty()) {
+                throw new EntityNotFoundException("Pedido não encontrado no ledger: " + orderId);
+            }
+            return events;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o ledger de pedidos", e);
+        }
+    }
+
+    /**
+     * Compara status, total e total pago de cada pedido da tabela com a projeção do ledger.
+     * <p>
+     * Pedidos confirmados durante a verificação podem aparecer como divergentes por alguns
+     * milissegundos (commit feito, evento ainda não gravado): confirme repetindo a verificação.
+     * </p>
+     */
+    public LedgerVerifyResultDTO verify() {
+        requireEnabled();
+        long[] counts = new long[2];
+        List<LedgerMismatchDTO> mismatches = new ArrayList<>();
+        int[] total = {0};
+        readTransaction.executeWithoutResult(status -> {
+            try (Stream<OrderStateRowDTO> rows = orderRepository.streamStateRows()) {
+                rows.forEach(row -> {
+                    counts[0]++;
+                    OrderProjectionDTO state;
+                    writeLock.lock();
+                    try {
+                        state = projection.get(row.orderId());
+                    } finally {
+                        writeLock.unlock();
+                    }
+                    if (state == null || !state.complete()) {
+                        counts[1]++;
+                        return;
+                    }
+                    if (state.status() != row.status() || state.totalCents() != row.totalCents()
+                            || state.paidCents() != row.paidCents()) {
+                        total[0]++;
+                        if (mismatches.size() < verifyMaxDetails) {
+                            mismatches.add(new LedgerMismatchDTO(row.orderId(), row.status(), state.status(),
+                                    row.totalCents().longValue(), state.totalCents(), row.paidCents(), state.paidCents()));
+                        }
+                    }
+                });
+            }
+        });
+        for (LedgerMismatchDTO mismatch : mismatches) {
+            log.warn("Pedido {} diverge do ledger: tabela={}/{}/{} ledger={}/{}/{}", mismatch.orderId(),
+                    mismatch.tableStatus(), mismatch.tableTotalCents(), mismatch.tablePaidCents(),
+                    mismatch.ledgerStatus(), mismatch.ledgerTotalCents(), mismatch.ledgerPaidCents());
+        }
+        return new LedgerVerifyResultDTO(LocalDateTime.now(), counts[0], counts[1], total[0], mismatches);
+    }
+
+    public LedgerStatsDTO stats() {
+        if (ledger == null) {
+            return new LedgerStatsDTO(false, null, 0, 0, 0, 0, 0, 0);
+        }
+        int orders;
+        writeLock.lock();
+        try {
+            orders = projection.size();
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            return new LedgerStatsDTO(true, ledger.directory().toAbsolutePath().toString(), ledger.lastSeq(),
+                    ledger.segmentCount(), ledger.sizeBytes(), orders, lastSnapshotSeq, appendFailures.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o diretório do ledger de pedidos", e);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (ledger == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            ledger.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void requireEnabled() {
+        if (ledger == null) {
+            throw new IllegalStateException("O ledger de pedidos está desligado (app.ledger.enabled=false)");
+        }
+    }
+
+    /**
+     * Eventos de uma transação, publicados dentro dela e gravados no ledger só após o commit.
+     */
+    public record PendingEvents(List<OrderLedgerEvent> events) {
+    }
+}
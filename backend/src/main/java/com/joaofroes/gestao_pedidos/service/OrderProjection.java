@@ -0,0 +1,132 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.event.OrderLedgerEvent;
+import com.joaofroes.gestao_pedidos.dto.OrderProjectionDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estado dos pedidos calculado a partir dos eventos do {@link OrderLedger}.
+ * <p>
+ * Aplicar um evento é O(1) e não lê nada além do próprio evento. A aplicação é tolerante à ordem entre
+ * commits diferentes: pagamentos e itens são somas, e uma mudança de status só vale se a versão do
+ * evento não for menor que a última vista para o pedido.
+ * </p>
+ * <p>
+ * Não é thread-safe: quem escreve no ledger aplica os eventos sob o mesmo lock.
+ * </p>
+ */
+public class OrderProjection {
+
+    private final Map<Long, State> orders = new HashMap<>();
+    private long lastSeq;
+
+    public void apply(OrderLedgerEvent event) {
+        State state = orders.computeIfAbsent(event.orderId(), State::new);
+        switch (event.type()) {
+            case CREATED -> {
+                state.customerId = event.customerId();
+                state.createdAt = event.at();
+                state.complete = true;
+                applyStatus(state, event.status(), event.version());
+            }
+            case ITEM_ADDED -> {
+                state.totalCents += (long) event.quantity() * event.unitPriceCents();
+                state.items++;
+            }
+            case PAYMENT_REGISTERED -> {
+                state.paidCents += event.amountCents();
+                state.version = Math.max(state.version, event.version());
+            }
+            case STATUS_CHANGED -> applyStatus(state, event.status(), event.version());
+        }
+        lastSeq = Math.max(lastSeq, event.seq());
+    }
+
+    // Mudança atrasada (versão menor que a já aplicada) não sobrescreve o status mais novo
+    private static void applyStatus(State state, OrderStatus status, long version) {
+        if (state.status == null || version >= state.version) {
+            state.status = status;
+            state.version = version;
+        }
+    }
+
+    /**
+     * Substitui todo o estado pelo conteúdo de um snapshot.
+     */
+    public void restore(long seq, List<OrderProjectionDTO> snapshot) {
+        clear();
+        for (OrderProjectionDTO dto : snapshot) {
+            orders.put(dto.orderId(), State.of(dto));
+        }
+        lastSeq = seq;
+    }
+
+    public void clear() {
+        orders.clear();
+        lastSeq = 0;
+    }
+
+    public OrderProjectionDTO get(Long orderId) {
+        State state = orders.get(orderId);
+        return state == null ? null : state.toDto();
+    }
+
+    /**
+     * Cópia do estado de todos os pedidos (base de um snapshot).
+     */
+    public List<OrderProjectionDTO> copy() {
+        List<OrderProjectionDTO> copy = new ArrayList<>(orders.size());
+        for (State state : orders.values()) {
+            copy.add(state.toDto());
+        }
+        return copy;
+    }
+
+    public int size() {
+        return orders.size();
+    }
+
+    public long lastSeq() {
+        return lastSeq;
+    }
+
+    private static final class State {
+        final Long orderId;
+        Long customerId;
+        OrderStatus status;
+        long totalCents;
+        long paidCents;
+        int items;
+        long version;
+        LocalDateTime createdAt;
+        boolean complete;
+
+        State(Long orderId) {
+            this.orderId = orderId;
+        }
+
+        static State of(OrderProjectionDTO dto) {
+            State state = new State(dto.orderId());
+            state.customerId = dto.customerId();
+            state.status = dto.status();
+            state.totalCents = dto.totalCents();
+            state.paidCents = dto.paidCents();
+            state.items = dto.items();
+            state.version = dto.version();
+            state.createdAt = dto.createdAt();
+            state.complete = dto.complete();
+            return state;
+        }
+
+        OrderProjectionDTO toDto() {
+            return new OrderProjectionDTO(orderId, customerId, status, totalCents, paidCents, items, version,
+                    createdAt, complete);
+        }
+    }
+}
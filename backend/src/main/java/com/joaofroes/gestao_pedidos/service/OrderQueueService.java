@@ -0,0 +1,295 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.dto.BulkOrderResultDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderQueueStatsDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderTicketDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderTicketDTO.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fila de pedidos assíncronos: aceita o pedido na hora (202 com comprovante) e grava em segundo plano.
+ * <p>
+ * O envio só passa pela validação de formato do DTO e entra numa fila limitada em memória
+ * ({@code app.orders.async.queue-capacity}); a resposta não espera o banco. {@code app.orders.async.workers}
+ * threads esvaziam a fila em lotes de até {@code app.orders.async.batch-size} pedidos, cada lote gravado
+ * pelo mesmo caminho da importação em lote ({@link OrderBulkService}): uma transação por bloco, INSERTs
+ * em batch e recusa individual (cliente ou produto inexistente, sem estoque) registrada no comprovante.
+ * </p>
+ * <p>
+ * <b>Decisão de Arquitetura:</b> com a fila cheia o envio é recusado com 503 em vez de bloquear a
+ * requisição: a fila absorve picos, não sobrecarga contínua. Os pedidos na fila ficam só em memória;
+ * no desligamento normal a fila é esvaziada antes de a aplicação parar, mas uma queda do processo perde
+ * o que ainda não foi gravado. Quem precisa da garantia de gravação deve usar o <code>POST /orders</code> síncrono.
+ * </p>
+ * <p>
+ * Métricas: {@code app.orders.async.queue.wait} (tempo na fila até o início do lote),
+ * {@code app.orders.async.batch} / {@code app.orders.async.batch.size} (duração e tamanho dos lotes),
+ * {@code app.orders.async.queue.depth} e {@code app.orders.async.refused}.
+ * </p>
+ */
+@Service
+public class OrderQueueService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderQueueService.class);
+    private static final long POLL_MILLIS = 200;
+
+    private final OrderBulkService bulkService;
+    private final boolean enabled;
+    private final int capacity;
+    private final int workers;
+    private final int batchSize;
+    private final Duration ticketTtl;
+    private final Duration shutdownTimeout;
+
+    private final BlockingQueue<Pending> queue;
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Timer queueWait;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter refusedCounter;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public OrderQueueService(OrderBulkService bulkService, MeterRegistry registry,
+                             @Value("${app.orders.async.enabled:true}") boolean enabled,
+                             @Value("${app.orders.async.queue-capacity:10000}") int capacity,
+                             @Value("${app.orders.async.workers:1}") int workers,
+                             @Value("${app.orders.async.batch-size:200}") int batchSize,
+                             @Value("${app.orders.async.ticket-ttl:10m}") Duration ticketTtl,
+                             @Value("${app.orders.async.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        if (capacity < 1 || workers < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("app.orders.async.queue-capacity, workers e batch-size devem ser maiores que zero");
+        }
+        this.bulkService = bulkService;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.ticketTtl = ticketTtl;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        this.queueWait = Timer.builder("app.orders.async.queue.wait")
+                .description("Tempo entre aceitar o pedido e o início do lote que o grava")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.batchTimer = Timer.builder("app.orders.async.batch")
+                .description("Duração da gravação de um lote da fila de pedidos")
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("app.orders.async.batch.size")
+                .description("Pedidos por lote da fila")
+                .register(registry);
+        this.refusedCounter = Counter.builder("app.orders.async.refused")
+                .description("Envios recusados com a fila cheia")
+                .register(registry);
+        Gauge.builder("app.orders.async.queue.depth", queue, BlockingQueue::size)
+                .description("Pedidos aguardando na fila")
+                .register(registry);
+    }
+
+    /**
+     * Coloca o pedido na fila.
+     *
+     * @throws RejectedExecutionException Se a fila estiver cheia ou parada (respondido com 503).
+     */
+    public OrderTicketDTO submit(OrderRequestDTO request) {
+        if (!running) {
+            throw new RejectedExecutionException("A fila de pedidos assíncronos não está ativa");
+        }
+        Ticket ticket = new Ticket(UUID.randomUUID().toString());
+        tickets.put(ticket.id, ticket);
+        if (!queue.offer(new Pending(ticket, request, System.nanoTime()))) {
+            tickets.remove(ticket.id);
+            refused.increment();
+            refusedCounter.increment();
+            throw new RejectedExecutionException("A fila de pedidos está cheia (" + capacity + "). Tente novamente em instantes.");
+        }
+        accepted.increment();
+        return ticket.toDto();
+    }
+
+    public OrderTicketDTO find(String ticket) {
+        Ticket found = tickets.get(ticket);
+        if (found == null) {
+            throw new EntityNotFoundException("Comprovante não encontrado ou expirado: " + ticket);
+        }
+        return found.toDto();
+    }
+
+    public OrderQueueStatsDTO stats() {
+        return new OrderQueueStatsDTO(running, queue.size(), capacity, workers, batchSize,
+                accepted.sum(), refused.sum(), created.sum(), rejected.sum(), tickets.size());
+    }
+
+    /**
+     * Remove os comprovantes concluídos há mais de {@code app.orders.async.ticket-ttl}.
+     */
+    @Scheduled(fixedDelayString = "${app.orders.async.purge-interval-ms:60000}")
+    public void purgeTickets() {
+        LocalDateTime limit = LocalDateTime.now().minus(ticketTtl);
+        tickets.values().removeIf(ticket -> ticket.completedAt != null && ticket.completedAt.isBefore(limit));
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::work, "order-queue-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    /**
+     * Para de aceitar pedidos e espera os workers gravarem o que já está na fila.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Thread thread : threads) {
+            try {
+                thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+        if (!queue.isEmpty()) {
+            log.warn("{} pedidos da fila assíncrona não foram gravados antes do desligamento", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Começa antes e para depois do servidor web: nenhum pedido é aceito sem worker para gravá-lo
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void work() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Nunca deixa o worker morrer: o lote já foi marcado como recusado em process()
+                log.error("Erro inesperado no worker da fila de pedidos", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Pending> batch) {
+        long start = System.nanoTime();
+        List<OrderRequestDTO> requests = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            queueWait.record(start - pending.acceptedNanos(), TimeUnit.NANOSECONDS);
+            pending.ticket().status = Status.PROCESSING;
+            requests.add(pending.request());
+        }
+
+        try {
+            List<BulkOrderResultDTO> results = bulkService.createAll(requests, ServiceMetrics.SOURCE_ASYNC);
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i).ticket(), results.get(i).orderId(), results.get(i).errors());
+            }
+        } catch (RuntimeException e) {
+            for (Pending pending : batch) {
+                if (!pending.ticket().toDto().isDone()) {
+                    complete(pending.ticket(), null, Map.of("error", "Falha ao gravar o pedido: " + e.getMessage()));
+                }
+            }
+            throw e;
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizes.record(batch.size());
+        }
+    }
+
+    private void complete(Ticket ticket, Long orderId, Map<String, String> errors) {
+        ticket.orderId = orderId;
+        ticket.errors = errors;
+        ticket.completedAt = LocalDateTime.now();
+        // Status por último: quem lê CREATED/REJECTED já enxerga o resultado (campos voláteis)
+        ticket.status = orderId != null ? Status.CREATED : Status.REJECTED;
+        (orderId != null ? created : rejected).increment();
+    }
+
+    /**
+     * Pedido aguardando na fila. Só existe até o lote que o grava terminar: o corpo do pedido
+     * não fica preso ao comprovante, que permanece em memória até {@code ticket-ttl}.
+     */
+    private record Pending(Ticket ticket, OrderRequestDTO request, long acceptedNanos) {
+    }
+
+    /**
+     * Andamento consultado pelo cliente: só o que {@link #toDto()} devolve.
+     */
+    private static final class Ticket {
+        final String id;
+        final LocalDateTime acceptedAt = LocalDateTime.now();
+        volatile Status status = Status.QUEUED;
+        volatile Long orderId;
+        volatile Map<String, String> errors = Map.of();
+        volatile LocalDateTime completedAt;
+
+        Ticket(String id) {
+            this.id = id;
+        }
+
+        OrderTicketDTO toDto() {
+            Status current = status;
+            return new OrderTicketDTO(id, current, orderId, errors, acceptedAt, completedAt);
+        }
+    }
+}
@@ -3,30 +3,95 @@ package com.joaofroes.gestao_pedidos.service;
 import com.joaofroes.gestao_pedidos.domain.entity.*;
 import com.joaofroes.gestao_pedidos.dto.*;
 import com.joaofroes.gestao_pedidos.repository.*;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("app.service")
 public class OrderService {
 
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
     private final ProductRepository productRepository;
-
-    public OrderService(OrderRepository orderRepository, CustomerRepository customerRepository, ProductRepository productRepository) {
+    private final ProductCatalogCache catalogCache;
+    private final ServiceMetrics metrics;
+    private final SalesRollupService salesRollups;
+    private final OutboxService outbox;
+    private final StockService stock;
+    private final OrderLedgerService ledger;
+    private final OrderStreamService stream;
+    private final OrderSummaryService summaries;
+
+    @Value("${app.orders.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.orders.page.max-size:100}")
+    private int maxPageSize;
+
+    public OrderService(OrderRepository orderRepository, CustomerRepository customerRepository,
+                        ProductRepository productRepository, ProductCatalogCache catalogCache,
+                        ServiceMetrics metrics, SalesRollupService salesRollups, OutboxService outbox,
+                        StockService stock, OrderLedgerService ledger, OrderStreamService stream,
+                        OrderSummaryService summaries) {
         this.orderRepository = orderRepository;
         this.customerRepository = customerRepository;
         this.productRepository = productRepository;
+        this.catalogCache = catalogCache;
+        this.metrics = metrics;
+        this.salesRollups = salesRollups;
+        this.outbox = outbox;
+        this.stock = stock;
+        this.ledger = ledger;
+        this.stream = stream;
+        this.summaries = summaries;
     }
 
+    /**
+     * Lista os pedidos resumidos (tabela {@code order_summary}), do mais recente para o mais antigo.
+     */
     @Transactional(readOnly = true)
-    public List<OrderResponseDTO> findAll() {
-        return orderRepository.findAllByOrderByCreatedAtDesc().stream()
-                .map(OrderResponseDTO::fromEntity)
-                .toList();
+    public List<OrderSummaryDTO> findAll() {
+        return summaries.findAll();
+    }
+
+    /**
+     * Lista pedidos paginados por cursor (createdAt desc, id desc).
+     * <p>
+     * Cada página é uma única consulta por intervalo no índice de {@code order_summary}, sem juntar
+     * clientes, itens e pagamentos. O pedido completo continua em {@link #findById(Long)}.
+     * </p>
+     */
+    @Transactional(readOnly = true)
+    public OrderPageResponseDTO findPage(String cursor, Integer size) {
+        int pageSize = (size == null) ? defaultPageSize : size;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + maxPageSize);
+        }
+
+        // Busca um registro a mais só para saber se existe próxima página
+        OrderCursor after = (cursor == null || cursor.isBlank()) ? null : OrderCursor.decode(cursor);
+        List<OrderSummaryDTO> orders = summaries.findPage(after, Limit.of(pageSize + 1));
+
+        boolean hasNext = orders.size() > pageSize;
+        if (hasNext) {
+            orders = orders.subList(0, pageSize);
+        }
+
+        String nextCursor = hasNext ? OrderCursor.of(orders.get(orders.size() - 1)).encode() : null;
+
+        return new OrderPageResponseDTO(orders, pageSize, hasNext, nextCursor);
     }
 
     @Transactional
@@ -34,15 +99,37 @@ public class OrderService {
         Customer customer = customerRepository.findById(dto.customerId())
                 .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com ID: " + dto.customerId()));
 
+        Map<Long, Product> products = loadProducts(productIds(dto.items()));
+        Order order = buildOrder(customer, dto.items(), products);
+        stock.apply(order, null, order.getStatus());
+
+        orderRepository.save(order);
+        metrics.orderCreated(ServiceMetrics.SOURCE_API, order.getTotalCents());
+        salesRollups.orderCreated(order);
+        outbox.orderCreated(order);
+        ledger.orderCreated(order);
+        stream.orderCreated(order);
+        summaries.orderCreated(order);
+
+        return toResponse(order);
+    }
+
+    /**
+     * Monta o pedido (itens e total) a partir dos produtos já carregados,
+     * validando existência e status de cada produto referenciado.
+     */
+    Order buildOrder(Customer customer, List<OrderItemRequestDTO> items, Map<Long, Product> products) {
         Order order = new Order(customer);
         int totalCents = 0;
         
-        for (OrderItemRequestDTO itemDto : dto.items()) {
-            Product product = productRepository.findById(itemDto.productId())
-                    .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + itemDto.productId()));
+        for (OrderItemRequestDTO itemDto : items) {
+            Product product = products.get(itemDto.productId());
 
+            if (product == null) {
+                throw new EntityNotFoundException("Produto não encontrado com ID: " + itemDto.productId());
+            }
             if (!product.getActive()) {
-            throw new IllegalArgumentException("O produto '" + product.getName() + "' está inativo e não pode ser vendido.");
+                throw new IllegalArgumentException("O produto '" + product.getName() + "' está inativo e não pode ser vendido.");
             }
 
             OrderItem item = new OrderItem();
@@ -57,16 +144,39 @@ public class OrderService {
         }
 
         order.setTotalCents(totalCents);
+        return order;
+    }
 
-        orderRepository.save(order);
+    /**
+     * Resolve vários produtos de uma vez. Preço e status vêm do cache do catálogo; sem cache,
+     * uma única consulta {@code IN} substitui um {@code findById} por item.
+     */
+    Map<Long, Product> loadProducts(Collection<Long> ids) {
+        return catalogCache.isEnabled()
+                ? catalogCache.findAllById(ids)
+                : productRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
 
-        return OrderResponseDTO.fromEntity(order);
+    // IDs repetidos no carrinho são consultados uma única vez
+    static Set<Long> productIds(List<OrderItemRequestDTO> items) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (OrderItemRequestDTO itemDto : items) {
+            ids.add(itemDto.productId());
+        }
+        return ids;
     }
 
     @Transactional(readOnly = true)
     public OrderResponseDTO findById(Long id) {
-        return orderRepository.findById(id)
-                .map(OrderResponseDTO::fromEntity)
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
+        return toResponse(order);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderVersionDTO findVersion(Long id) {
+        return orderRepository.findVersionById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
     }
 
@@ -75,15 +185,26 @@ public class OrderService {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
 
+        OrderStatus previous = order.getStatus();
         try {
             OrderStatus newStatus = OrderStatus.valueOf(status.toUpperCase());
             order.setStatus(newStatus);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Status inválido: " + status);
         }
+        stock.apply(order, previous, order.getStatus());
 
         orderRepository.save(order);
+        salesRollups.orderStatusChanged(order, previous);
+        outbox.orderStatusChanged(order, previous);
+        ledger.orderStatusChanged(order, previous);
+        stream.orderStatusChanged(order, previous);
+        summaries.orderChanged(order);
+
+        return toResponse(order);
+    }
 
-        return OrderResponseDTO.fromEntity(order);
+    private OrderResponseDTO toResponse(Order order) {
+        return metrics.timeMapping("OrderResponseDTO", () -> OrderResponseDTO.fromEntity(order));
     }
 }
\ No newline at end of file
@@ -0,0 +1,370 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.event.OrderLifecycleEvent;
+import com.joaofroes.gestao_pedidos.dto.OrderStreamStatsDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stream de pedidos via Server-Sent Events: cada criação ou mudança de status confirmada é enviada
+ * na hora a todos os assinantes de <code>GET /orders/stream</code>, no formato {@link OrderLifecycleEvent}.
+ * <p>
+ * Cada assinante tem um buffer próprio de até {@code app.orders.stream.buffer-size} eventos. A publicação
+ * (após o commit, na thread da requisição que alterou o pedido) só coloca o evento nos buffers, sem I/O;
+ * {@code app.orders.stream.sender-threads} threads fazem o envio, uma tarefa por assinante com eventos
+ * pendentes. Um assinante com o buffer cheio não está acompanhando o ritmo: é desconectado e reconecta
+ * pelo {@code EventSource}, retomando de onde parou.
+ * </p>
+ * <p>
+ * <b>Decisão de Arquitetura:</b> os eventos têm ID ({@code <época>-<sequência>}) e os últimos
+ * {@code app.orders.stream.replay-size} ficam em memória. Na reconexão o navegador envia
+ * {@code Last-Event-ID} e recebe só o que perdeu; se a lacuna não está mais em memória (ou a aplicação
+ * reiniciou), recebe um evento {@code resync} e recarrega a lista uma vez. Um cliente lento nunca
+ * atrasa os demais nem a transação que gerou o evento.
+ * </p>
+ * <p>
+ * Métricas: {@code app.orders.stream.subscribers}, {@code app.orders.stream.events},
+ * {@code app.orders.stream.dropped}.
+ * </p>
+ */
+@Service
+public class OrderStreamService {
+
+    static final String RESYNC = "resync";
+
+    private final ApplicationEventPublisher publisher;
+    private final boolean enabled;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final int replaySize;
+    private final Duration timeout;
+    private final ExecutorService senders;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    // Numeração, histórico recente e entrega aos buffers acontecem juntos: quem assina no meio não perde nem repete eventos
+    private final ReentrantLock broadcastLock = new ReentrantLock();
+    private final Deque<StreamEvent> recent = new ArrayDeque<>();
+    private long sequence;
+
+    private final Counter eventsCounter;
+    private final Counter droppedCounter;
+    private final LongAdder events = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+
+    public OrderStreamService(ApplicationEventPublisher publisher, MeterRegistry registry,
+                              @Value("${app.orders.stream.enabled:true}") boolean enabled,
+                              @Value("${app.orders.stream.max-subscribers:1000}") int maxSubscribers,
+                              @Value("${app.orders.stream.buffer-size:1024}") int bufferSize,
+                              @Value("${app.orders.stream.replay-size:2048}") int replaySize,
+                              @Value("${app.orders.stream.sender-threads:4}") int senderThreads,
+                              @Value("${app.orders.stream.timeout:30m}") Duration timeout) {
+        if (maxSubscribers < 1 || bufferSize < 1 || senderThreads < 1) {
+            throw new IllegalArgumentException("app.orders.stream.max-subscribers, buffer-size e sender-threads devem ser maiores que zero");
+        }
+        this.publisher = publisher;
+        this.enabled = enabled;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.replaySize = Math.max(0, replaySize);
+        this.timeout = timeout;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, task -> {
+            Thread thread = new Thread(task, "order-stream-" + threadIds.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.eventsCounter = Counter.builder("app.orders.stream.events")
+                .description("Eventos de pedido publicados no stream SSE")
+                .register(registry);
+        this.droppedCounter = Counter.builder("app.orders.stream.dropped")
+                .description("Assinantes do stream desconectados por buffer cheio (cliente lento)")
+                .register(registry);
+        Gauge.builder("app.orders.stream.subscribers", subscribers, Map::size)
+                .description("Assinantes conectados ao stream de pedidos")
+                .register(registry);
+    }
+
+    /**
+     * Registra pedidos recém-gravados (ID já atribuído).
+     */
+    public void ordersCreated(Collection<Order> orders) {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        publisher.publishEvent(new PendingEvents(orders.stream().map(order -> OrderLifecycleEvent.of(order, null, now)).toList()));
+    }
+
+    public void orderCreated(Order order) {
+        ordersCreated(List.of(order));
+    }
+
+    public void orderStatusChanged(Order order, OrderStatus previous) {
+        if (!enabled || previous == order.getStatus()) {
+            return;
+        }
+        publisher.publishEvent(new PendingEvents(List.of(OrderLifecycleEvent.of(order, previous, LocalDateTime.now()))));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitted(PendingEvents pending) {
+        broadcastLock.lock();
+        try {
+            for (OrderLifecycleEvent event : pending.events()) {
+                long seq = ++sequence;
+                StreamEvent streamEvent = new StreamEvent(seq, epoch + "-" + seq, event.type(), event);
+                if (replaySize > 0) {
+                    if (recent.size() == replaySize) {
+                        recent.removeFirst();
+                    }
+                    recent.addLast(streamEvent);
+                }
+                for (Subscriber subscriber : subscribers.values()) {
+                    subscriber.offer(streamEvent);
+                }
+            }
+        } finally {
+            broadcastLock.unlock();
+        }
+        events.add(pending.events().size());
+        eventsCounter.increment(pending.events().size());
+    }
+
+    /**
+     * Abre uma assinatura.
+     *
+     * @param lastEventId Último evento recebido numa conexão anterior (cabeçalho {@code Last-Event-ID}), ou nulo.
+     * @throws RejectedExecutionException Se já houver {@code app.orders.stream.max-subscribers} assinantes (503).
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return register(new SseEmitter(timeout.toMillis()), lastEventId);
+    }
+
+    SseEmitter register(SseEmitter emitter, String lastEventId) {
+        if (!enabled) {
+            throw new IllegalStateException("O stream de pedidos está desligado (app.orders.stream.enabled=false)");
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RejectedExecutionException("Limite de " + maxSubscribers + " assinantes do stream atingido. Tente novamente em instantes.");
+        }
+        Subscriber subscriber = new Subscriber(subscriberIds.incrementAndGet(), emitter);
+        emitter.onCompletion(() -> subscriber.close(false));
+        emitter.onTimeout(() -> subscriber.close(false));
+        emitter.onError(error -> subscriber.close(false));
+
+        broadcastLock.lock();
+        try {
+            subscribers.put(subscriber.id, subscriber);
+            // Comentário inicial: envia os cabeçalhos na hora e o navegador marca a conexão como aberta
+            subscriber.offer(StreamEvent.HEARTBEAT);
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                for (StreamEvent missed : missedSince(lastEventId)) {
+                    subscriber.offer(missed);
+                }
+            }
+        } finally {
+            broadcastLock.unlock();
+        }
+        return emitter;
+    }
+
+    // Chamado sob o broadcastLock
+    private List<StreamEvent> missedSince(String lastEventId) {
+        long lastSeq = parseSequence(lastEventId);
+        long oldest = recent.isEmpty() ? sequence + 1 : recent.peekFirst().seq;
+        if (lastSeq < 0 || lastSeq > sequence || lastSeq + 1 < oldest || sequence - lastSeq >= bufferSize) {
+            return List.of(StreamEvent.resync(sequence));
+        }
+        return recent.stream().filter(event -> event.seq > lastSeq).toList();
+    }
+
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Comentário periódico para cada assinante: mantém proxies e balanceadores com a conexão aberta
+     * e revela clientes que já foram embora (o envio falha).
+     */
+    @Scheduled(fixedDelayString = "${app.orders.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.offer(StreamEvent.HEARTBEAT);
+        }
+    }
+
+    public OrderStreamStatsDTO stats() {
+        return new OrderStreamStatsDTO(enabled, subscribers.size(), maxSubscribers, bufferSize,
+                events.sum(), delivered.sum(), dropped.sum(), disconnected.sum());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.close(true);
+        }
+        senders.shutdown();
+        try {
+            senders.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class Subscriber {
+        final long id;
+        final SseEmitter emitter;
+        final BlockingQueue<StreamEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        final AtomicBoolean completed = new AtomicBoolean();
+
+        Subscriber(long id, SseEmitter emitter) {
+            this.id = id;
+            this.emitter = emitter;
+        }
+
+        void offer(StreamEvent event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                // Cliente lento: desconecta em vez de acumular ou de bloquear quem publica
+                if (close(true)) {
+                    dropped.increment();
+                    droppedCounter.increment();
+                }
+                return;
+            }
+            schedule();
+        }
+
+        /**
+         * Encerra a assinatura. O {@code complete} do emitter fica com a thread de envio, que pode estar
+         * presa numa escrita lenta: quem publica nunca espera por ela.
+         *
+         * @return {@code true} se esta chamada encerrou a assinatura.
+         */
+        boolean close(boolean complete) {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            subscribers.remove(id);
+            buffer.clear();
+            if (!complete) {
+                // Já encerrado pelo container (cliente saiu, timeout ou erro)
+                completed.set(true);
+                disconnected.increment();
+            }
+            schedule();
+            return true;
+        }
+
+        void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Executor desligado (aplicação parando)
+                scheduled.set(false);
+            }
+        }
+
+        void drain() {
+            try {
+                StreamEvent event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    emitter.send(event.toSse());
+                    if (event != StreamEvent.HEARTBEAT) {
+                        delivered.increment();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // Cliente desconectado: o container também avisa pelo onError/onCompletion
+                if (closed.compareAndSet(false, true)) {
+                    subscribers.remove(id);
+                    buffer.clear();
+                    disconnected.increment();
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            if (closed.get()) {
+                if (completed.compareAndSet(false, true)) {
+                    emitter.complete();
+                }
+            } else if (!buffer.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * Eventos de uma transação, entregues aos assinantes só depois do commit.
+     */
+    public record PendingEvents(List<OrderLifecycleEvent> events) {}
+
+    private record StreamEvent(long seq, String id, String name, Object data) {
+
+        static final StreamEvent HEARTBEAT = new StreamEvent(0, null, null, null);
+
+        static StreamEvent resync(long seq) {
+            return new StreamEvent(0, null, RESYNC, Map.of("lastSeq", seq));
+        }
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("keep-alive");
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+            return id != null ? builder.id(id) : builder;
+        }
+    }
+}
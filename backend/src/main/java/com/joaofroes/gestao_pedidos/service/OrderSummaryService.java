@@ -0,0 +1,137 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderSummary;
+import com.joaofroes.gestao_pedidos.dto.OrderCursor;
+import com.joaofroes.gestao_pedidos.dto.OrderSummaryDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderSummaryRebuildResultDTO;
+import com.joaofroes.gestao_pedidos.repository.OrderRepository;
+import com.joaofroes.gestao_pedidos.repository.OrderSummaryRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mantém a tabela {@code order_summary} (modelo de leitura das listagens de pedidos) e responde
+ * às listagens a partir dela.
+ * <p>
+ * Os serviços de pedido e pagamento chamam este serviço dentro da própria transação: a criação insere o
+ * resumo e cada mudança de status ou de total pago atualiza a linha. Se a transação for desfeita, o resumo
+ * também é.
+ * </p>
+ * <p>
+ * <b>Decisão de Arquitetura:</b> ao contrário dos rollups de vendas, aqui a gravação é síncrona. É uma
+ * linha por pedido (sem linhas "quentes" disputadas) e a listagem precisa mostrar o pedido que o cliente
+ * acabou de criar ou pagar. O custo é um INSERT ou UPDATE a mais em cada escrita, em troca de listagens
+ * que leem uma única tabela. Nome e e-mail do cliente são copiados na criação; como não há alteração
+ * de clientes pela API, não precisam ser propagados depois.
+ * </p>
+ */
+@Service
+public class OrderSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSummaryService.class);
+
+    private final OrderSummaryRepository repository;
+    private final OrderRepository orderRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate writeTransaction;
+    private final boolean rebuildOnStartup;
+
+    public OrderSummaryService(OrderSummaryRepository repository, OrderRepository orderRepository,
+                               EntityManager entityManager, PlatformTransactionManager transactionManager,
+                               @Value("${app.orders.summary.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.repository = repository;
+        this.orderRepository = orderRepository;
+        this.entityManager = entityManager;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    /**
+     * Insere o resumo de pedidos recém-gravados (já com ID e {@code createdAt}), na transação atual.
+     * <p>
+     * {@code persist} direto: com o ID já atribuído, o {@code save} do repositório faria um SELECT por pedido
+     * antes de inserir. Os INSERTs saem em batch junto com os do pedido.
+     * </p>
+     */
+    public void ordersCreated(Collection<Order> orders) {
+        for (Order order : orders) {
+            entityManager.persist(OrderSummary.of(order));
+        }
+    }
+
+    public void orderCreated(Order order) {
+        ordersCreated(List.of(order));
+    }
+
+    /**
+     * Atualiza status e total pago do resumo, na transação atual. Pedidos anteriores ao modelo de leitura
+     * (ainda sem resumo) ganham a linha nesse momento.
+     */
+    public void orderChanged(Order order) {
+        if (repository.updateState(order.getId(), order.getStatus(), order.getPaidCents()) == 0) {
+            entityManager.persist(OrderSummary.of(order));
+        }
+    }
+
+    /**
+     * Acompanha a correção do total pago feita pela verificação periódica ({@code PaidTotalCheckService}).
+     */
+    public void paidCentsRepaired(Long orderId, long paidCents) {
+        repository.updatePaidCents(orderId, paidCents);
+    }
+
+    List<OrderSummaryDTO> findAll() {
+        return repository.findAllSummaries();
+    }
+
+    List<OrderSummaryDTO> findPage(OrderCursor after, Limit limit) {
+        return after == null
+                ? repository.findFirstPage(limit)
+                : repository.findPageAfter(after.createdAt(), after.id(), limit);
+    }
+
+    /**
+     * Recria todos os resumos a partir das tabelas de pedidos, clientes e itens, numa única transação
+     * (DELETE e INSERT ... SELECT executados pelo banco).
+     * <p>
+     * No SQLite a transação ocupa o único escritor, então nenhum pedido é gravado no meio dela. Em bancos com
+     * vários escritores, pedidos gravados exatamente durante a reconstrução podem falhar ao inserir o resumo;
+     * por isso ela é pensada para janelas de manutenção ou para o primeiro deploy.
+     * </p>
+     */
+    public OrderSummaryRebuildResultDTO rebuild() {
+        long start = System.nanoTime();
+        Integer rows = writeTransaction.execute(status -> {
+            repository.deleteAllInBatch();
+            return repository.copyFromOrders();
+        });
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Resumos de pedidos reconstruídos: {} pedidos em {} ms", rows, durationMs);
+        return new OrderSummaryRebuildResultDTO(LocalDateTime.now(), rows, durationMs);
+    }
+
+    /**
+     * Primeiro deploy (resumos faltando para pedidos já existentes) ou reconstrução pedida em
+     * {@code app.orders.summary.rebuild-on-startup}. Roda depois dos seeders.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (rebuildOnStartup || repository.count() != orderRepository.count()) {
+            rebuild();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OutboxEvent;
+import com.joaofroes.gestao_pedidos.dto.OutboxMessageDTO;
+import com.joaofroes.gestao_pedidos.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Entrega os eventos pendentes do outbox a todos os {@link OutboxSink} registrados, em lotes e em ordem de ID.
+ * <p>
+ * A cada {@code app.outbox.dispatch.poll-interval-ms} lê até {@code max-batches-per-run} lotes de
+ * {@code batch-size} eventos. Um lote só é marcado como entregue depois que todos os destinos o aceitaram
+ * (entrega "pelo menos uma vez": uma queda entre a entrega e a marcação gera reentrega, nunca perda).
+ * </p>
+ * <p>
+ * <b>Backpressure:</b> se um destino falha ou recusa o lote (ex: fila cheia), o dispatcher para o ciclo
+ * e espera um intervalo que dobra a cada falha seguida (até {@code app.outbox.dispatch.max-backoff}).
+ * Os eventos continuam no banco enquanto isso, preservando a ordem; o atraso aparece nas métricas:
+ * </p>
+ * <ul>
+ *   <li>{@code app.outbox.dispatch.lag}: tempo entre a gravação do evento e a confirmação da entrega.</li>
+ *   <li>{@code app.outbox.pending} / {@code app.outbox.oldest.age}: eventos aguardando entrega e a idade
+ *       (segundos) do mais antigo, atualizados a cada ciclo.</li>
+ *   <li>{@code app.outbox.dispatched}, {@code app.outbox.delivery} e {@code app.outbox.delivery.failures}
+ *       (por {@code sink}): volume entregue, duração e falhas de cada destino.</li>
+ * </ul>
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository repository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate writeTransaction;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    private final Timer lag;
+    private final Counter dispatched;
+    private final Map<String, Timer> deliveryTimers = new HashMap<>();
+    private final Map<String, Counter> deliveryFailures = new HashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long pending;
+    private volatile LocalDateTime oldestPending;
+    private int consecutiveFailures;
+    private long pausedUntilNanos;
+
+    public OutboxDispatcher(OutboxEventRepository repository, List<OutboxSink> sinks,
+                            PlatformTransactionManager transactionManager, MeterRegistry registry,
+                            @Value("${app.outbox.dispatch.batch-size:100}") int batchSize,
+                            @Value("${app.outbox.dispatch.max-batches-per-run:20}") int maxBatchesPerRun,
+                            @Value("${app.outbox.dispatch.initial-backoff:1s}") Duration initialBackoff,
+                            @Value("${app.outbox.dispatch.max-backoff:1m}") Duration maxBackoff,
+                            @Value("${app.outbox.retention:7d}") Duration retention) {
+        if (batchSize < 1 || maxBatchesPerRun < 1) {
+            throw new IllegalArgumentException("app.outbox.dispatch.batch-size e max-batches-per-run devem ser maiores que zero");
+        }
+        this.repository = repository;
+        this.sinks = List.copyOf(sinks);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+
+        this.lag = Timer.builder("app.outbox.dispatch.lag")
+                .description("Tempo entre a gravação do evento no outbox e a entrega a todos os destinos")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.dispatched = Counter.builder("app.outbox.dispatched")
+                .description("Eventos do outbox entregues")
+                .register(registry);
+        for (OutboxSink sink : this.sinks) {
+            deliveryTimers.put(sink.name(), Timer.builder("app.outbox.delivery")
+                    .description("Duração da entrega de um lote ao destino")
+                    .tag("sink", sink.name())
+                    .register(registry));
+            deliveryFailures.put(sink.name(), Counter.builder("app.outbox.delivery.failures")
+                    .description("Lotes recusados ou com falha no destino")
+                    .tag("sink", sink.name())
+                    .register(registry));
+        }
+        Gauge.builder("app.outbox.pending", this, OutboxDispatcher::pending)
+                .description("Eventos do outbox aguardando entrega")
+                .register(registry);
+        Gauge.builder("app.outbox.oldest.age", this, OutboxDispatcher::oldestPendingAgeSeconds)
+                .description("Idade do evento pendente mais antigo")
+                .baseUnit("seconds")
+                .register(registry);
+
+        if (this.sinks.isEmpty()) {
+            log.warn("Nenhum OutboxSink configurado: os eventos do outbox ficarão pendentes no banco");
+        }
+    }
+
+    /**
+     * Executa um ciclo de entrega.
+     *
+     * @return Quantidade de eventos entregues neste ciclo.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.dispatch.poll-interval-ms:500}")
+    public int dispatch() {
+        lock.lock();
+        try {
+            if (sinks.isEmpty() || isBackingOff()) {
+                return 0;
+            }
+            int delivered = 0;
+            for (int run = 0; run < maxBatchesPerRun; run++) {
+                List<OutboxEvent> batch = repository.findByDispatchedAtIsNullOrderById(Limit.of(batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                if (!deliver(batch)) {
+                    break;
+                }
+                delivered += batch.size();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+            return delivered;
+        } finally {
+            try {
+                refreshBacklog();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Remove eventos já entregues há mais de {@code app.outbox.retention}. Pendentes nunca são removidos.
+     */
+    @Scheduled(cron = "${app.outbox.purge-cron:0 30 * * * *}")
+    @Transactional
+    public void purgeDispatched() {
+        int removed = repository.deleteDispatchedBefore(LocalDateTime.now().minus(retention));
+        if (removed > 0) {
+            log.info("{} eventos do outbox já entregues removidos", removed);
+        }
+    }
+
+    public long pending() {
+        return pending;
+    }
+
+    public double oldestPendingAgeSeconds() {
+        LocalDateTime oldest = oldestPending;
+        return oldest == null ? 0.0 : Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+
+    private boolean deliver(List<OutboxEvent> batch) {
+        List<OutboxMessageDTO> messages = batch.stream().map(OutboxMessageDTO::fromEntity).toList();
+        List<Long> ids = messages.stream().map(OutboxMessageDTO::id).toList();
+
+        for (OutboxSink sink : sinks) {
+            long start = System.nanoTime();
+            try {
+                sink.deliver(messages);
+                deliveryTimers.get(sink.name()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                deliveryFailures.get(sink.name()).increment();
+                String error = sink.name() + ": " + e.getMessage();
+                writeTransaction.executeWithoutResult(status ->
+                        repository.recordFailure(ids, error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error));
+                Duration backoff = backoff();
+                log.warn("Falha ao entregar {} eventos do outbox (IDs {} a {}) ao destino '{}'; nova tentativa em {} ms",
+                        ids.size(), ids.get(0), ids.get(ids.size() - 1), sink.name(), backoff.toMillis(), e);
+                return false;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        writeTransaction.executeWithoutResult(status -> repository.markDispatched(ids, now));
+        for (OutboxEvent event : batch) {
+            lag.record(Duration.between(event.getCreatedAt(), now));
+        }
+        dispatched.increment(batch.size());
+        consecutiveFailures = 0;
+        return true;
+    }
+
+    private boolean isBackingOff() {
+        return consecutiveFailures > 0 && System.nanoTime() - pausedUntilNanos < 0;
+    }
+
+    private Duration backoff() {
+        consecutiveFailures++;
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(consecutiveFailures - 1, 20));
+        if (delay.compareTo(maxBackoff) > 0) {
+            delay = maxBackoff;
+        }
+        pausedUntilNanos = System.nanoTime() + delay.toNanos();
+        return delay;
+    }
+
+    private void refreshBacklog() {
+        pending = repository.countByDispatchedAtIsNull();
+        oldestPending = pending == 0 ? null
+                : repository.findFirstByDispatchedAtIsNullOrderById().map(OutboxEvent::getCreatedAt).orElse(null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.entity.OutboxEvent;
+import com.joaofroes.gestao_pedidos.domain.event.OrderLifecycleEvent;
+import com.joaofroes.gestao_pedidos.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Grava os eventos do ciclo de vida dos pedidos na tabela {@code outbox_events}.
+ * <p>
+ * <b>Decisão de Arquitetura:</b> os métodos exigem uma transação já aberta ({@code MANDATORY}):
+ * o evento é gravado junto com a mudança do pedido, então nunca existe pedido alterado sem evento,
+ * nem evento de uma alteração desfeita. A entrega aos consumidores fica com o {@link OutboxDispatcher}.
+ * </p>
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public OutboxService(OutboxEventRepository repository, ObjectMapper objectMapper,
+                         @Value("${app.outbox.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Registra pedidos recém-gravados (o ID já precisa estar atribuído).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ordersCreated(Collection<Order> orders) {
+        if (!enabled || orders.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            events.add(toEvent(OrderLifecycleEvent.of(order, null, now)));
+        }
+        repository.saveAll(events);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCreated(Order order) {
+        ordersCreated(List.of(order));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderStatusChanged(Order order, OrderStatus previous) {
+        if (!enabled || previous == order.getStatus()) {
+            return;
+        }
+        repository.save(toEvent(OrderLifecycleEvent.of(order, previous, LocalDateTime.now())));
+    }
+
+    private OutboxEvent toEvent(OrderLifecycleEvent event) {
+        try {
+            return new OutboxEvent(OrderLifecycleEvent.AGGREGATE_TYPE, event.orderId(), event.type(),
+                    objectMapper.writeValueAsString(event), event.occurredAt());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o evento do pedido " + event.orderId(), e);
+        }
+    }
+}
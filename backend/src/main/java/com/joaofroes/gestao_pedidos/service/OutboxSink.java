@@ -0,0 +1,28 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.dto.OutboxMessageDTO;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos do outbox (ex: arquivo, fila, broker de mensagens).
+ * <p>
+ * Todo bean que implementa esta interface recebe cada lote do {@link OutboxDispatcher}, em ordem de ID.
+ * A entrega é "pelo menos uma vez": se qualquer destino falhar, o lote inteiro é reenviado a todos
+ * mais tarde, então implementações devem tolerar (ou descartar pelo ID) mensagens repetidas.
+ * </p>
+ */
+public interface OutboxSink {
+
+    /**
+     * Nome usado nos logs e na tag {@code sink} das métricas.
+     */
+    String name();
+
+    /**
+     * Entrega o lote. Só deve retornar normalmente quando o lote estiver durável no destino;
+     * qualquer exceção faz o dispatcher recuar (backoff) e tentar de novo.
+     * Destinos sem capacidade no momento devem lançar exceção em vez de bloquear: é o sinal de backpressure.
+     */
+    void deliver(List<OutboxMessageDTO> batch) throws Exception;
+}
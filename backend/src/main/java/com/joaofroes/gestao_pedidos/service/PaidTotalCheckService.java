@@ -0,0 +1,67 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.dto.PaidTotalCheckResultDTO;
+import com.joaofroes.gestao_pedidos.dto.PaidTotalMismatchDTO;
+import com.joaofroes.gestao_pedidos.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Verifica se o total pago mantido em cada pedido ({@code paid_cents}) bate com a soma
+ * da tabela de pagamentos.
+ * <p>
+ * Roda periodicamente ({@code app.orders.paid-check.cron}) e também pode ser disparada
+ * manualmente. Divergências são registradas no log; com {@code app.orders.paid-check.repair=true}
+ * o total do pedido é recalculado a partir dos pagamentos.
+ * </p>
+ */
+@Service
+public class PaidTotalCheckService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaidTotalCheckService.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderSummaryService summaries;
+
+    @Value("${app.orders.paid-check.repair:false}")
+    private boolean repair;
+
+    public PaidTotalCheckService(OrderRepository orderRepository, OrderSummaryService summaries) {
+        this.orderRepository = orderRepository;
+        this.summaries = summaries;
+    }
+
+    // Chamada interna a check() não passa pelo proxy: a transação precisa ser aberta aqui
+    @Scheduled(cron = "${app.orders.paid-check.cron:0 0 3 * * *}")
+    @Transactional
+    public void scheduledCheck() {
+        check();
+    }
+
+    @Transactional
+    public PaidTotalCheckResultDTO check() {
+        List<PaidTotalMismatchDTO> mismatches = orderRepository.findPaidTotalMismatches();
+
+        for (PaidTotalMismatchDTO mismatch : mismatches) {
+            log.warn("Total pago divergente no pedido {}: armazenado={} pagamentos={}",
+                    mismatch.orderId(), mismatch.storedPaidCents(), mismatch.actualPaidCents());
+
+            if (repair) {
+                orderRepository.setPaidCents(mismatch.orderId(), mismatch.actualPaidCents());
+                summaries.paidCentsRepaired(mismatch.orderId(), mismatch.actualPaidCents());
+            }
+        }
+
+        if (mismatches.isEmpty()) {
+            log.info("Verificação do total pago concluída sem divergências");
+        }
+        return new PaidTotalCheckResultDTO(LocalDateTime.now(), mismatches.size(), repair && !mismatches.isEmpty(), mismatches);
+    }
+}
@@ -4,53 +4,92 @@ import com.joaofroes.gestao_pedidos.domain.entity.*;
 import com.joaofroes.gestao_pedidos.dto.PaymentRequestDTO;
 import com.joaofroes.gestao_pedidos.repository.OrderRepository;
 import com.joaofroes.gestao_pedidos.repository.PaymentRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.List;
 
 @Service
+@Timed("app.service")
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
+    private final ConflictRetry conflictRetry;
+    private final ServiceMetrics metrics;
+    private final SalesRollupService salesRollups;
+    private final OutboxService outbox;
+    private final StockService stock;
+    private final OrderLedgerService ledger;
+    private final OrderStreamService stream;
+    private final OrderSummaryService summaries;
 
-    public PaymentService(PaymentRepository paymentRepository, OrderRepository orderRepository) {
+    public PaymentService(PaymentRepository paymentRepository, OrderRepository orderRepository,
+                          ConflictRetry conflictRetry, ServiceMetrics metrics, SalesRollupService salesRollups,
+                          OutboxService outbox, StockService stock, OrderLedgerService ledger,
+                          OrderStreamService stream, OrderSummaryService summaries) {
         this.paymentRepository = paymentRepository;
         this.orderRepository = orderRepository;
+        this.conflictRetry = conflictRetry;
+        this.metrics = metrics;
+        this.salesRollups = salesRollups;
+        this.outbox = outbox;
+        this.stock = stock;
+        this.ledger = ledger;
+        this.stream = stream;
+        this.summaries = summaries;
     }
 
-    @Transactional
+    /**
+     * Registra o pagamento. Pagamentos simultâneos do mesmo pedido disputam a versão do
+     * {@link Order}: só um grava por vez, os demais são repetidos e reavaliam o status,
+     * então um pedido já quitado nunca recebe pagamento extra.
+     */
     public PaymentRequestDTO create(PaymentRequestDTO dto) {
+        PaymentRequestDTO registered = conflictRetry.inTransaction(() -> register(dto));
+        metrics.paymentCreated(registered.method(), registered.amountCents());
+        return registered;
+    }
+
+    private PaymentRequestDTO register(PaymentRequestDTO dto) {
         Order order = orderRepository.findById(dto.orderId())
                 .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
 
         if (order.getStatus() == OrderStatus.PAID) {
             throw new IllegalStateException("Este pedido já foi totalmente pago.");
         }
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            throw new IllegalStateException("Este pedido foi cancelado e não aceita pagamentos.");
+        }
 
         Payment payment = new Payment();
         payment.setOrder(order);
         payment.setAmountCents(dto.amountCents());
         payment.setMethod(dto.method());
         paymentRepository.save(payment);
+        salesRollups.paymentRecorded(payment);
+        ledger.paymentRegistered(payment);
 
-        checkAndCompleteOrder(order);
+        checkAndCompleteOrder(order, dto.amountCents());
 
         return dto;
     }
 
-    private void checkAndCompleteOrder(Order order) {
-        List<Payment> payments = paymentRepository.findAllByOrder(order);
-
-        int totalPaid = payments.stream()
-                .mapToInt(Payment::getAmountCents)
-                .sum();
+    private void checkAndCompleteOrder(Order order, int amountCents) {
+        // Total corrente: O(1), sem reler a lista de pagamentos. O UPDATE do pedido
+        // incrementa a versão e falha se outro pagamento gravou antes (lock otimista).
+        long totalPaid = order.getPaidCents() + amountCents;
+        order.setPaidCents(totalPaid);
 
         if (totalPaid >= order.getTotalCents()) {
+            OrderStatus previous = order.getStatus();
             order.setStatus(OrderStatus.PAID);
-            orderRepository.save(order);
+            stock.apply(order, previous, OrderStatus.PAID);
+            salesRollups.orderStatusChanged(order, previous);
+            outbox.orderStatusChanged(order, previous);
+            ledger.orderStatusChanged(order, previous);
+            stream.orderStatusChanged(order, previous);
         }
+        orderRepository.save(order);
+        summaries.orderChanged(order);
     }
-}
\ No newline at end of file
+}
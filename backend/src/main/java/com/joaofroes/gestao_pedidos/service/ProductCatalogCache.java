@@ -0,0 +1,245 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.domain.event.ProductChangedEvent;
+import com.joaofroes.gestao_pedidos.dto.CacheStatsDTO;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache read-through do catálogo de produtos.
+ * <p>
+ * O catálogo é pequeno e quase nunca muda, então ele é mantido inteiro em memória como um
+ * snapshot imutável, indexado por ID, por ativo/inativo e por (categoria, ativo).
+ * Qualquer escrita em {@link Product} gera um {@link ProductChangedEvent}; após o commit,
+ * o snapshot é descartado e recarregado na próxima leitura.
+ * </p>
+ * <p>
+ * <b>Atenção:</b> as entidades guardadas aqui estão desanexadas (detached) e são compartilhadas
+ * entre threads. Elas servem apenas para leitura e para referenciar o produto em novos
+ * {@link com.joaofroes.gestao_pedidos.domain.entity.OrderItem}; nunca devem ser alteradas.
+ * </p>
+ */
+@Component
+public class ProductCatalogCache {
+
+    private final ProductRepository repository;
+    private final TransactionTemplate loadTransaction;
+    private final boolean enabled;
+
+    private volatile Catalog catalog;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ProductCatalogCache(ProductRepository repository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.catalog.cache.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+
+        // A carga roda em uma transação própria, para que as entidades não fiquem presas
+        // ao contexto de persistência de quem disparou a recarga
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Aplica os filtros de {@link ProductService#findAll} sobre o snapshot em memória.
+     * Todos os filtros informados são combinados; {@code null} (ou em branco) significa "qualquer valor".
+     * A regra de status padrão já deve vir resolvida por quem chama.
+     */
+    public List<Product> find(String name, String category, Boolean active) {
+        Catalog current = catalog;
+        record(current != null);
+        if (current == null) {
+            current = reload();
+        }
+
+        List<Product> base;
+        if (category != null && !category.isBlank() && active != null) {
+            base = current.byCategoryAndActive(category, active);
+        } else if (active != null) {
+            base = current.byActive(active);
+        } else {
+            base = current.all;
+        }
+
+        boolean hasName = name != null && !name.isBlank();
+        boolean hasCategory = category != null && !category.isBlank();
+        if (!hasName && (!hasCategory || active != null)) {
+            return base;
+        }
+
+        String term = hasName ? name.toLowerCase(Locale.ROOT) : null;
+        return base.stream()
+                .filter(p -> !hasCategory || p.getCategory().equals(category))
+                .filter(p -> term == null || p.getName().toLowerCase(Locale.ROOT).contains(term))
+                .toList();
+    }
+
+    /**
+     * Busca um produto pelo ID. Se não estiver no snapshot (ex: inserido por outro processo),
+     * cai no banco e conta como miss.
+     */
+    public Optional<Product> findById(Long id) {
+        Catalog current = catalog;
+        boolean cached = current != null;
+        if (!cached) {
+            current = reload();
+        }
+
+        Product product = current.byId.get(id);
+        record(cached && product != null);
+        return (product != null) ? Optional.of(product) : repository.findById(id);
+    }
+
+    /**
+     * Busca vários produtos de uma vez. Os que não estiverem no snapshot são resolvidos
+     * em uma única consulta ao banco; a chamada inteira conta como um único hit ou miss.
+     */
+    public Map<Long, Product> findAllById(Collection<Long> ids) {
+        Catalog current = catalog;
+        boolean cached = current != null;
+        if (!cached) {
+            current = reload();
+        }
+
+        Map<Long, Product> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Product product = current.byId.get(id);
+            if (product != null) {
+                found.put(id, product);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        record(cached && missing.isEmpty());
+        if (!missing.isEmpty()) {
+            for (Product product : repository.findAllById(missing)) {
+                found.put(product.getId(), product);
+            }
+        }
+        return found;
+    }
+
+    // Antes de CatalogVersion: a nova versão só é publicada depois que esta cópia foi atualizada
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        catalog = null;
+        invalidations.increment();
+    }
+
+    public CacheStatsDTO stats() {
+        Catalog current = catalog;
+        int size = (current == null) ? 0 : current.all.size();
+        return CacheStatsDTO.of(hits.sum(), misses.sum(), reloads.sum(), invalidations.sum(), size);
+    }
+
+    /**
+     * Uma consulta ao cache conta uma única vez: hit quando foi respondida só pelo snapshot já carregado,
+     * miss quando precisou recarregar o catálogo ou ir ao banco.
+     */
+    private void record(boolean hit) {
+        if (hit) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+    }
+
+    private synchronized Catalog reload() {
+        // Outra thread pode ter recarregado enquanto esperávamos o lock
+        Catalog current = catalog;
+        if (current != null) {
+            return current;
+        }
+
+        long startGeneration = generation.get();
+        Catalog loaded = loadTransaction.execute(status -> new Catalog(repository.findAll()));
+        reloads.increment();
+
+        // Só publica se nenhuma invalidação aconteceu durante a leitura; senão o próximo acesso recarrega
+        if (generation.get() == startGeneration) {
+            catalog = loaded;
+        }
+        return loaded;
+    }
+
+    /**
+     * Snapshot imutável do catálogo com os índices usados pelas buscas.
+     */
+    private static final class Catalog {
+        private final List<Product> all;
+        private final Map<Long, Product> byId;
+        private final Map<Boolean, List<Product>> byActive;
+        private final Map<String, List<Product>> byCategoryAndActive;
+
+        Catalog(List<Product> products) {
+            List<Product> sorted = new ArrayList<>(products);
+            sorted.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+
+            Map<Long, Product> ids = new LinkedHashMap<>();
+            Map<Boolean, List<Product>> actives = new HashMap<>();
+            Map<String, List<Product>> categories = new HashMap<>();
+            for (Product p : sorted) {
+                ids.put(p.getId(), p);
+                actives.computeIfAbsent(p.getActive(), k -> new ArrayList<>()).add(p);
+                categories.computeIfAbsent(key(p.getCategory(), p.getActive()), k -> new ArrayList<>()).add(p);
+            }
+            actives.replaceAll((k, v) -> List.copyOf(v));
+            categories.replaceAll((k, v) -> List.copyOf(v));
+
+            this.all = List.copyOf(sorted);
+            this.byId = Collections.unmodifiableMap(ids);
+            this.byActive = Map.copyOf(actives);
+            this.byCategoryAndActive = Map.copyOf(categories);
+        }
+
+        List<Product> byActive(Boolean active) {
+            return byActive.getOrDefault(active, List.of());
+        }
+
+        List<Product> byCategoryAndActive(String category, Boolean active) {
+            return byCategoryAndActive.getOrDefault(key(category, active), List.of());
+        }
+
+        private static String key(String category, Boolean active) {
+            return category + '\u0000' + active;
+        }
+    }
+}
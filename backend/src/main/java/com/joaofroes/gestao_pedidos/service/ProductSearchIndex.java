@@ -0,0 +1,152 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.event.ProductChangedEvent;
+import com.joaofroes.gestao_pedidos.dto.ProductDTO;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Busca textual do catálogo (nome dos produtos), substituindo o {@code LIKE '%nome%'}.
+ * <p>
+ * O {@link ProductTextIndex} é montado uma vez na subida da aplicação, lendo só as colunas
+ * necessárias. Depois disso ele é mantido em dia produto a produto: cada {@link ProductChangedEvent}
+ * relê aquele produto após o commit e atualiza (ou remove) a entrada, sem reconstruir o índice.
+ * </p>
+ * <p>
+ * <b>Decisão de Arquitetura:</b> índice em processo em vez de FTS5 do SQLite, para funcionar
+ * igual nos perfis SQLite e PostgreSQL e não depender de tabelas virtuais fora do controle do Hibernate.
+ * </p>
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private final ProductRepository repository;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+
+    private final Object loadLock = new Object();
+    private volatile ProductTextIndex index;
+    private boolean loading;
+    private final List<Long> changedWhileLoading = new ArrayList<>();
+
+    public ProductSearchIndex(ProductRepository repository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.catalog.search.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+
+        // Leitura em transação própria: o evento chega depois do commit de quem alterou o produto
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Produtos cujo nome contém palavras começando com cada termo da consulta,
+     * sem diferenciar maiúsculas nem acentos, do mais relevante para o menos relevante.
+     *
+     * @param limit Máximo de resultados, ou 0 para todos.
+     */
+    public List<ProductDTO> search(String query, String category, Boolean active, int limit) {
+        return loaded().search(query, category, active, limit);
+    }
+
+    public int size() {
+        ProductTextIndex current = index;
+        return (current == null) ? 0 : current.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            loaded();
+        }
+    }
+
+    // Antes de CatalogVersion: a nova versão só é publicada depois que esta cópia foi atualizada
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductTextIndex current;
+        synchronized (this) {
+            current = index;
+            if (current == null) {
+                // Ainda não carregado: a carga em andamento pode ter lido a versão antiga
+                if (loading) {
+                    changedWhileLoading.add(event.productId());
+                }
+                return;
+            }
+        }
+        refresh(current, event.productId());
+    }
+
+    private void refresh(ProductTextIndex target, Long productId) {
+        Optional<ProductDTO> product = readTransaction.execute(status ->
+                repository.findById(productId).map(ProductDTO::fromEntity));
+        if (product != null && product.isPresent()) {
+            target.upsert(product.get());
+        } else {
+            target.remove(productId);
+        }
+    }
+
+    private ProductTextIndex loaded() {
+        ProductTextIndex current = index;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (loadLock) {
+            if (index != null) {
+                return index;
+            }
+            synchronized (this) {
+                loading = true;
+                changedWhileLoading.clear();
+            }
+
+            long start = System.currentTimeMillis();
+            ProductTextIndex built = new ProductTextIndex();
+            readTransaction.executeWithoutResult(status -> {
+                try (Stream<ProductDTO> rows = repository.streamAllRows()) {
+                    rows.forEach(built::upsert);
+                }
+            });
+
+            List<Long> replay;
+            synchronized (this) {
+                index = built;
+                loading = false;
+                replay = List.copyOf(changedWhileLoading);
+                changedWhileLoading.clear();
+            }
+            replay.forEach(id -> refresh(built, id));
+
+            log.info("Índice de busca de produtos carregado: {} produtos em {} ms",
+                    built.size(), System.currentTimeMillis() - start);
+            return built;
+        }
+    }
+}
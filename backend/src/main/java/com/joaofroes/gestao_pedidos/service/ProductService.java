@@ -1,44 +1,148 @@
 package com.joaofroes.gestao_pedidos.service;
 
 import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.ProductCursor;
 import com.joaofroes.gestao_pedidos.dto.ProductDTO;
+import com.joaofroes.gestao_pedidos.dto.ProductPageResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.ProductSort;
 import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductSpecifications;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
 
 @Service
+@Timed("app.service")
 public class ProductService {
 
     private final ProductRepository repository;
+    private final ProductCatalogCache catalogCache;
+    private final ProductSearchIndex searchIndex;
+    private final ServiceMetrics metrics;
 
-    public ProductService(ProductRepository repository) {
+    @Value("${app.products.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.products.page.max-size:100}")
+    private int maxPageSize;
+
+    public ProductService(ProductRepository repository, ProductCatalogCache catalogCache,
+                          ProductSearchIndex searchIndex, ServiceMetrics metrics) {
         this.repository = repository;
+        this.catalogCache = catalogCache;
+        this.searchIndex = searchIndex;
+        this.metrics = metrics;
     }
 
     @Transactional(readOnly = true)
     public List<ProductDTO> findAll(String name, String category, Boolean active) {
+        Boolean statusFilter = resolveStatus(name, category, active);
+
+        // Busca por nome: índice textual (prefixo, sem acento, ordenado por relevância)
+        if (hasText(name) && searchIndex.isEnabled()) {
+            return searchIndex.search(name, category, statusFilter, 0);
+        }
+
         List<Product> products;
-        
-        if (name != null && !name.isBlank()) {
-            Boolean statusFilter = (active != null) ? active : true;
-            products = repository.findByNameContainingIgnoreCaseAndActive(name, statusFilter);
-        
-        } else if (category != null && !category.isBlank()) {
-            Boolean statusFilter = (active != null) ? active : true;
-            products = repository.findByCategoryAndActive(category, statusFilter);
-        
-        } else if (active != null) {
-            products = repository.findByActive(active);
-        
-        //  em produção precisaria de paginação
+        if (catalogCache.isEnabled()) {
+            products = catalogCache.find(name, category, statusFilter);
         } else {
-            products = repository.findAll();
+            // Para catálogos grandes, prefira findPage
+            products = repository.findAll(ProductSpecifications.filter(name, category, statusFilter), Sort.by("id"));
         }
 
-        return products.stream()
+        return metrics.timeMapping("ProductDTO", () -> products.stream()
                 .map(ProductDTO::fromEntity)
-                .toList();
+                .toList());
+    }
+
+    /**
+     * Lista produtos com todos os filtros combinados, ordenados e paginados por cursor.
+     * <p>
+     * Sem nome, a página sai de uma única consulta dinâmica (filtros + keyset + LIMIT size+1).
+     * Com nome, os candidatos vêm do índice textual e são ordenados/paginados em memória,
+     * mantendo a mesma semântica de busca de {@link #findAll}.
+     * </p>
+     * <p>
+     * <b>Decisão de Arquitetura:</b> o total é opcional e só é calculado na primeira página.
+     * Se ela já contém todos os resultados, o total é o próprio tamanho da página e nenhum
+     * COUNT é executado; nas páginas seguintes o cliente reaproveita o valor já recebido.
+     * </p>
+     */
+    @Transactional(readOnly = true)
+    public ProductPageResponseDTO findPage(String name, String category, Boolean active,
+                                           String sort, String cursor, Integer size, boolean withTotal) {
+        int pageSize = (size == null) ? defaultPageSize : size;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + maxPageSize);
+        }
+
+        ProductSort order = ProductSort.from(sort);
+        ProductCursor position = hasText(cursor) ? ProductCursor.decode(cursor, order) : null;
+        Boolean statusFilter = resolveStatus(name, category, active);
+        boolean countTotal = withTotal && position == null;
+
+        List<ProductDTO> rows;
+        Long total = null;
+        if (hasText(name) && searchIndex.isEnabled()) {
+            List<ProductDTO> matches = searchIndex.search(name, category, statusFilter, 0);
+            Comparator<ProductDTO> comparator = order.comparator();
+            ProductDTO probe = (position == null) ? null : probe(position);
+
+            rows = matches.stream()
+                    .filter(p -> probe == null || comparator.compare(p, probe) > 0)
+                    .sorted(comparator)
+                    .limit(pageSize + 1L)
+                    .toList();
+            if (countTotal) {
+                total = (long) matches.size();
+            }
+        } else {
+            Specification<Product> filter = ProductSpecifications.filter(name, category, statusFilter);
+            Specification<Product> page = Specification.allOf(filter, ProductSpecifications.after(position));
+
+            // Busca um registro a mais só para saber se existe próxima página
+            List<Product> found = repository.findBy(page, q -> q.sortBy(order.toSort()).limit(pageSize + 1).all());
+            rows = metrics.timeMapping("ProductDTO", () -> found.stream()
+                    .map(ProductDTO::fromEntity)
+                    .toList());
+            if (countTotal) {
+                total = (found.size() <= pageSize) ? found.size() : repository.count(filter);
+            }
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ProductDTO> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? ProductCursor.of(order, content.get(content.size() - 1)).encode() : null;
+
+        return new ProductPageResponseDTO(content, pageSize, hasNext, nextCursor, total);
+    }
+
+    /**
+     * Quem filtra por nome ou categoria sem informar o status está navegando na loja:
+     * nesse caso só os produtos ativos aparecem.
+     */
+    private static Boolean resolveStatus(String name, String category, Boolean active) {
+        if (active == null && (hasText(name) || hasText(category))) {
+            return true;
+        }
+        return active;
+    }
+
+    // Só os campos usados pelo comparador da ordenação importam
+    private static ProductDTO probe(ProductCursor position) {
+        return position.sort().isByPrice()
+                ? new ProductDTO(position.id(), null, null, position.priceCents(), null)
+                : new ProductDTO(position.id(), position.value(), null, null, null);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,399 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.dto.ProductDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória sobre o nome dos produtos.
+ * <p>
+ * Cada produto ocupa uma posição (slot); o dicionário ordenado de termos aponta para as posições
+ * que contêm o termo. Termos e consultas passam pela mesma normalização (minúsculas, sem acento),
+ * e cada palavra da consulta casa por prefixo: "tecl mec" encontra "Teclado Mecânico".
+ * </p>
+ * <p>
+ * Os dados consultados a cada candidato (termos do nome, status e categoria) ficam em arrays de
+ * {@code int} indexados pela posição, e não em um objeto por produto: em catálogos grandes o custo
+ * da busca é dominado por acessos à memória, não por comparações.
+ * </p>
+ * <p>
+ * Atualizar um produto ocupa uma posição nova e marca a antiga como removida; as listas de
+ * posições só crescem. Quando as posições removidas passam de 20% do índice, ele é compactado.
+ * Leituras concorrentes são liberadas; escritas pegam o lock exclusivo.
+ * </p>
+ */
+class ProductTextIndex {
+
+    private static final double PREFIX_PENALTY = 0.5;
+    private static final double FIRST_WORD_BOOST = 1.25;
+    private static final int MIN_COMPACTION = 1000;
+
+    private static final int LIVE = 1;
+    private static final int ACTIVE = 2;
+
+    /** Termo do dicionário com as posições (crescentes) dos produtos que o contêm. */
+    private static final class Term {
+        private final int id;
+        private final String text;
+        private final IntList slots = new IntList();
+
+        Term(int id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+    }
+
+    // Empate na pontuação: nome mais curto primeiro (a palavra buscada pesa mais nele)
+    private record Scored(int slot, double score, int nameLength) {}
+
+    private static final Comparator<Scored> RANKING = Comparator.comparingDouble(Scored::score).reversed()
+            .thenComparingInt(Scored::nameLength)
+            .thenComparingInt(Scored::slot);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Term> dictionary = new TreeMap<>();
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    // Por posição: produto, flags (LIVE/ACTIVE), categoria, tamanho do nome e início dos termos em termIds
+    private final List<ProductDTO> products = new ArrayList<>();
+    private final IntList flags = new IntList();
+    private final IntList categories = new IntList();
+    private final IntList nameLengths = new IntList();
+    private final IntList termStart = new IntList();
+    // Termos de todos os produtos, em sequência e na ordem do nome
+    private final IntList termIds = new IntList();
+
+    private int nextTermId;
+    private int removed;
+
+    /**
+     * Inclui o produto ou substitui a versão indexada.
+     */
+    void upsert(ProductDTO product) {
+        List<String> tokens = tokenize(product.name());
+        lock.writeLock().lock();
+        try {
+            removeSlot(slotById.get(product.id()));
+            add(product, tokens);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(slotById.remove(productId));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca por prefixo de cada palavra da consulta (todas precisam casar), ordenada por relevância.
+     *
+     * @param query Texto digitado pelo usuário.
+     * @param category Categoria exata, ou nulo para todas.
+     * @param active Status exigido, ou nulo para ambos.
+     * @param limit Máximo de resultados, ou 0 para todos.
+     */
+    List<ProductDTO> search(String query, String category, Boolean active, int limit) {
+        String[] queryTerms = new LinkedHashSet<>(tokenize(query)).toArray(String[]::new);
+        if (queryTerms.length == 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int categoryId = -1;
+            if (category != null) {
+                Integer id = categoryIds.get(category);
+                if (id == null) {
+                    return List.of();
+                }
+                categoryId = id;
+            }
+            int requiredFlags = LIVE | (Boolean.TRUE.equals(active) ? ACTIVE : 0);
+            int flagMask = LIVE | (active != null ? ACTIVE : 0);
+
+            // Para cada palavra da consulta: termos do dicionário que começam com ela e seus pesos
+            int totalDocs = Math.max(1, slotById.size());
+            long[][] matches = new long[queryTerms.length][];
+            int rarest = 0;
+            long rarestCount = Long.MAX_VALUE;
+            for (int q = 0; q < queryTerms.length; q++) {
+                Iterable<Term> range = prefixRange(queryTerms[q]);
+                List<Term> terms = new ArrayList<>();
+                long count = 0;
+                for (Term term : range) {
+                    terms.add(term);
+                    count += term.slots.size;
+                }
+                if (count == 0) {
+                    return List.of();
+                }
+                matches[q] = weights(queryTerms[q], terms, totalDocs);
+                // A palavra com menos produtos gera os candidatos; as outras só são conferidas
+                if (count < rarestCount) {
+                    rarest = q;
+                    rarestCount = count;
+                }
+            }
+
+            IntList candidates = new IntList();
+            for (Term term : prefixRange(queryTerms[rarest])) {
+                candidates.addAll(term.slots);
+            }
+            candidates.sortDistinct();
+
+            PriorityQueue<Scored> top = new PriorityQueue<>(RANKING.reversed());
+            List<Scored> all = new ArrayList<>();
+
+            for (int i = 0; i < candidates.size; i++) {
+                int slot = candidates.values[i];
+                if ((flags.values[slot] & flagMask) != requiredFlags
+                        || (categoryId >= 0 && categories.values[slot] != categoryId)) {
+                    continue;
+                }
+                double score = score(slot, matches);
+                if (score <= 0) {
+                    continue;
+                }
+                Scored scored = new Scored(slot, score, nameLengths.values[slot]);
+                if (limit > 0) {
+                    top.add(scored);
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                } else {
+                    all.add(scored);
+                }
+            }
+
+            List<Scored> ranked = (limit > 0) ? new ArrayList<>(top) : all;
+            ranked.sort(RANKING);
+            return ranked.stream().map(s -> products.get(s.slot())).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Peso de cada termo que casa com a palavra da consulta, empacotado como
+     * {@code (id do termo << 32) | bits do peso} e ordenado por id para busca binária.
+     * O peso é o IDF do termo (termos raros valem mais); casamento só por prefixo vale
+     * menos que a palavra inteira, proporcionalmente ao trecho digitado.
+     */
+    private static long[] weights(String queryTerm, List<Term> terms, int totalDocs) {
+        long[] packed = new long[terms.size()];
+        for (int i = 0; i < packed.length; i++) {
+            Term term = terms.get(i);
+            double weight = Math.log(1.0 + (double) totalDocs / Math.max(1, term.slots.size));
+            if (term.text.length() != queryTerm.length()) {
+                weight *= PREFIX_PENALTY * queryTerm.length() / term.text.length();
+            }
+            packed[i] = ((long) term.id << 32) | Float.floatToRawIntBits((float) weight);
+        }
+        Arrays.sort(packed);
+        return packed;
+    }
+
+    /**
+     * Soma, para cada palavra da consulta, o peso do melhor termo do produto que casa com ela,
+     * com bônus para a primeira palavra do nome. Retorna 0 se alguma palavra não casar.
+     */
+    private double score(int slot, long[][] matches) {
+        int start = termStart.values[slot];
+        int end = (slot + 1 < termStart.size) ? termStart.values[slot + 1] : termIds.size;
+
+        double total = 0;
+        for (long[] match : matches) {
+            double best = 0;
+            for (int position = start; position < end; position++) {
+                double weight = weightOf(match, termIds.values[position]);
+                if (position == start) {
+                    weight *= FIRST_WORD_BOOST;
+                }
+                best = Math.max(best, weight);
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static double weightOf(long[] match, int termId) {
+        int low = 0;
+        int high = match.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = (int) (match[mid] >>> 32);
+            if (id < termId) {
+                low = mid + 1;
+            } else if (id > termId) {
+                high = mid - 1;
+            } else {
+                return Float.intBitsToFloat((int) match[mid]);
+            }
+        }
+        return 0;
+    }
+
+    private Iterable<Term> prefixRange(String prefix) {
+        return dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+    }
+
+    private void add(ProductDTO product, List<String> tokens) {
+        int slot = products.size();
+        products.add(product);
+        flags.add(LIVE | (Boolean.TRUE.equals(product.active()) ? ACTIVE : 0));
+        categories.add(categoryIds.computeIfAbsent(String.valueOf(product.category()), c -> categoryIds.size()));
+        nameLengths.add(product.name() == null ? 0 : product.name().length());
+        termStart.add(termIds.size);
+
+        for (String token : tokens) {
+            Term term = dictionary.computeIfAbsent(token, t -> new Term(nextTermId++, t));
+            // Palavra repetida no nome: a posição entra uma vez só na lista do termo
+            if (term.slots.size == 0 || term.slots.values[term.slots.size - 1] != slot) {
+                term.slots.add(slot);
+            }
+            termIds.add(term.id);
+        }
+        slotById.put(product.id(), slot);
+    }
+
+    private void removeSlot(Integer slot) {
+        if (slot != null && (flags.values[slot] & LIVE) != 0) {
+            flags.values[slot] = 0;
+            products.set(slot, null);
+            removed++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (removed < MIN_COMPACTION || removed * 5 < products.size()) {
+            return;
+        }
+        List<ProductDTO> live = products.stream().filter(p -> p != null).toList();
+        dictionary.clear();
+        categoryIds.clear();
+        slotById.clear();
+        products.clear();
+        flags.clear();
+        categories.clear();
+        nameLengths.clear();
+        termStart.clear();
+        termIds.clear();
+        nextTermId = 0;
+        removed = 0;
+        for (ProductDTO product : live) {
+            add(product, tokenize(product.name()));
+        }
+    }
+
+    /**
+     * Minúsculas, sem acentos e quebrado em palavras: "Teclado Mecânico" vira [teclado, mecanico].
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        // Nomes só com ASCII (a maioria) dispensam a decomposição dos acentos
+        String decomposed = isAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFD);
+
+        List<String> tokens = new ArrayList<>(4);
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            int type = Character.getType(c);
+            if (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                    || type == Character.ENCLOSING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lista de {@code int} em um array que cresce sob demanda (evita um Integer por entrada).
+     */
+    private static final class IntList {
+        private int[] values = new int[2];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        void clear() {
+            values = new int[2];
+            size = 0;
+        }
+
+        void sortDistinct() {
+            Arrays.sort(values, 0, size);
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || values[i] != values[unique - 1]) {
+                    values[unique++] = values[i];
+                }
+            }
+            size = unique;
+        }
+    }
+}
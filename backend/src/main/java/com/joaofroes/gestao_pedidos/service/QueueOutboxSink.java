@@ -0,0 +1,60 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.dto.OutboxMessageDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Destino do outbox em uma fila limitada em memória, consumida dentro do próprio processo.
+ * <p>
+ * Quando a fila não tem espaço para o lote inteiro, a entrega é recusada (sem enfileirar parte dele)
+ * e o dispatcher recua: consumidores lentos seguram os eventos no banco, não na memória.
+ * Ativo quando {@code app.outbox.sink.queue.capacity} é maior que zero.
+ * </p>
+ */
+@Component
+@ConditionalOnExpression("${app.outbox.sink.queue.capacity:0} > 0")
+public class QueueOutboxSink implements OutboxSink {
+
+    private final BlockingQueue<OutboxMessageDTO> queue;
+
+    public QueueOutboxSink(@Value("${app.outbox.sink.queue.capacity}") int capacity) {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public String name() {
+        return "queue";
+    }
+
+    // O dispatcher é o único produtor, então o espaço verificado não diminui antes do addAll
+    @Override
+    public void deliver(List<OutboxMessageDTO> batch) {
+        if (queue.remainingCapacity() < batch.size()) {
+            throw new IllegalStateException("Fila do outbox cheia: " + queue.size() + " mensagens aguardando consumo");
+        }
+        queue.addAll(batch);
+    }
+
+    /**
+     * Próxima mensagem, aguardando até {@code timeout}; nulo se nada chegar.
+     */
+    public OutboxMessageDTO poll(Duration timeout) throws InterruptedException {
+        return queue.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public int drainTo(List<OutboxMessageDTO> target) {
+        return queue.drainTo(target);
+    }
+
+    public int size() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,140 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderItem;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Variação a aplicar nas tabelas de rollup de vendas, já agregada por chave (dia + dimensão).
+ * <p>
+ * É a única regra de contabilização: o registro incremental (criação, pagamento, mudança de status)
+ * e a reconstrução a partir do histórico chamam os mesmos métodos, então os dois caminhos chegam
+ * aos mesmos números. Uma mudança de status é a contribuição do pedido no status novo menos a
+ * contribuição no status antigo.
+ * </p>
+ * <p>
+ * Deltas de várias transações podem ser somados com {@link #merge}: sob carga, muitos pedidos viram
+ * uma única atualização por linha de rollup.
+ * </p>
+ */
+public final class SalesRollupDelta {
+
+    static final int ORDERS = 0;
+    static final int CANCELLED = 1;
+    static final int PAID = 2;
+    static final int ITEMS = 3;
+    static final int BOOKED_CENTS = 4;
+    static final int RECEIVED_CENTS = 5;
+
+    static final int QUANTITY = 0;
+    static final int REVENUE_CENTS = 1;
+    static final int PAYMENTS = 0;
+    static final int AMOUNT_CENTS = 1;
+
+    final Map<LocalDate, long[]> daily = new HashMap<>();
+    final Map<DayKey<String>, long[]> categories = new HashMap<>();
+    final Map<DayKey<Long>, long[]> products = new HashMap<>();
+    final Map<DayKey<PaymentMethod>, long[]> paymentMethods = new HashMap<>();
+
+    /**
+     * Soma (sign = 1) ou remove (sign = -1) a contribuição de um pedido em determinado status.
+     */
+    public void addOrder(OrderFacts order, OrderStatus status, int sign) {
+        long[] day = daily.computeIfAbsent(order.day(), k -> new long[6]);
+        day[ORDERS] += sign;
+        if (status == OrderStatus.CANCELLED) {
+            day[CANCELLED] += sign;
+            return;
+        }
+        if (status == OrderStatus.PAID) {
+            day[PAID] += sign;
+        }
+        day[BOOKED_CENTS] += sign * order.totalCents();
+
+        for (ItemFacts item : order.items()) {
+            long revenue = (long) item.quantity() * item.unitPriceCents();
+            day[ITEMS] += sign * item.quantity();
+            add(categories.computeIfAbsent(new DayKey<>(order.day(), item.category()), k -> new long[2]),
+                    sign * item.quantity(), sign * revenue);
+            add(products.computeIfAbsent(new DayKey<>(order.day(), item.productId()), k -> new long[2]),
+                    sign * item.quantity(), sign * revenue);
+        }
+    }
+
+    public void addStatusChange(OrderFacts order, OrderStatus previous, OrderStatus current) {
+        if (previous != current) {
+            addOrder(order, previous, -1);
+            addOrder(order, current, 1);
+        }
+    }
+
+    public void addPayment(LocalDate day, PaymentMethod method, long amountCents) {
+        daily.computeIfAbsent(day, k -> new long[6])[RECEIVED_CENTS] += amountCents;
+        add(paymentMethods.computeIfAbsent(new DayKey<>(day, method), k -> new long[2]), 1, amountCents);
+    }
+
+    public void merge(SalesRollupDelta other) {
+        other.daily.forEach((k, v) -> sum(daily.computeIfAbsent(k, x -> new long[6]), v));
+        other.categories.forEach((k, v) -> sum(categories.computeIfAbsent(k, x -> new long[2]), v));
+        other.products.forEach((k, v) -> sum(products.computeIfAbsent(k, x -> new long[2]), v));
+        other.paymentMethods.forEach((k, v) -> sum(paymentMethods.computeIfAbsent(k, x -> new long[2]), v));
+    }
+
+    public boolean isEmpty() {
+        return daily.isEmpty() && categories.isEmpty() && products.isEmpty() && paymentMethods.isEmpty();
+    }
+
+    /** Número de linhas de rollup tocadas por este delta. */
+    public int size() {
+        return daily.size() + categories.size() + products.size() + paymentMethods.size();
+    }
+
+    // Uma mudança de status pode se anular (ex: contribuição -1 e +1 no mesmo dia); linhas zeradas não precisam de UPDATE
+    static boolean isZero(long[] values) {
+        for (long value : values) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void add(long[] target, long first, long second) {
+        target[0] += first;
+        target[1] += second;
+    }
+
+    private static void sum(long[] target, long[] source) {
+        for (int i = 0; i < source.length; i++) {
+            target[i] += source[i];
+        }
+    }
+
+    record DayKey<T>(LocalDate day, T value) {
+    }
+
+    /**
+     * O que o rollup precisa saber de um pedido, seja ele uma entidade recém-gravada ou linhas lidas do histórico.
+     */
+    public record OrderFacts(LocalDate day, long totalCents, List<ItemFacts> items) {
+
+        public static OrderFacts of(Order order) {
+            List<ItemFacts> items = new ArrayList<>(order.getItems().size());
+            for (OrderItem item : order.getItems()) {
+                items.add(new ItemFacts(item.getProduct().getId(), item.getProduct().getCategory(),
+                        item.getQuantity(), item.getUnitPriceCents()));
+            }
+            return new OrderFacts(order.getCreatedAt().toLocalDate(), order.getTotalCents(), items);
+        }
+    }
+
+    public record ItemFacts(Long productId, String category, int quantity, long unitPriceCents) {
+    }
+}
@@ -0,0 +1,364 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.CategorySalesRollup;
+import com.joaofroes.gestao_pedidos.domain.entity.DailySalesRollup;
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.entity.Payment;
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethodSalesRollup;
+import com.joaofroes.gestao_pedidos.domain.entity.ProductSalesRollup;
+import com.joaofroes.gestao_pedidos.dto.AnalyticsRebuildResultDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentSalesRowDTO;
+import com.joaofroes.gestao_pedidos.dto.SalesItemRowDTO;
+import com.joaofroes.gestao_pedidos.repository.CategorySalesRollupRepository;
+import com.joaofroes.gestao_pedidos.repository.DailySalesRollupRepository;
+import com.joaofroes.gestao_pedidos.repository.OrderRepository;
+import com.joaofroes.gestao_pedidos.repository.PaymentMethodSalesRollupRepository;
+import com.joaofroes.gestao_pedidos.repository.PaymentRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductSalesRollupRepository;
+import com.joaofroes.gestao_pedidos.service.SalesRollupDelta.DayKey;
+import com.joaofroes.gestao_pedidos.service.SalesRollupDelta.ItemFacts;
+import com.joaofroes.gestao_pedidos.service.SalesRollupDelta.OrderFacts;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Mantém as tabelas de rollup de vendas (por dia, categoria, produto e forma de pagamento).
+ * <p>
+ * Os serviços de pedido e pagamento descrevem o que mudou como um {@link SalesRollupDelta}, dentro da
+ * própria transação. Após o commit o delta entra em uma fila; a cada {@code app.analytics.flush-interval-ms}
+ * a fila é somada em um único delta e aplicado em uma transação própria (UPDATE incremental e, se a linha
+ * ainda não existe, INSERT). Transações desfeitas nunca chegam à fila.
+ * </p>
+ * <p>
+ * <b>Decisão de Arquitetura:</b> a aplicação é assíncrona e em lote, e não dentro da transação do pedido,
+ * por três motivos: o pedido não disputa as linhas "quentes" do dia atual; sob carga, centenas de pedidos
+ * viram uma atualização por linha; e no SQLite de produção (um único escritor) não é preciso uma segunda
+ * conexão de escrita enquanto a transação do pedido ainda segura a primeira. O custo é um atraso de até um
+ * intervalo nos relatórios e, em caso de queda do processo, a perda dos deltas ainda na fila: a
+ * reconstrução ({@link #rebuild()}) recalcula tudo a partir do histórico.
+ * </p>
+ */
+@Service
+public class SalesRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupService.class);
+    private static final int REBUILD_FLUSH_EVERY = 500;
+
+    private final ApplicationEventPublisher publisher;
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final DailySalesRollupRepository dailyRepository;
+    private final CategorySalesRollupRepository categoryRepository;
+    private final ProductSalesRollupRepository productRepository;
+    private final PaymentMethodSalesRollupRepository paymentMethodRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+    private final boolean rebuildOnStartup;
+
+    private final Queue<SalesRollupDelta> pending = new ConcurrentLinkedQueue<>();
+    // Lock explícito (e não synchronized) para não prender a thread portadora quando rodar em virtual threads
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public SalesRollupService(ApplicationEventPublisher publisher, OrderRepository orderRepository,
+                              PaymentRepository paymentRepository, DailySalesRollupRepository dailyRepository,
+                              CategorySalesRollupRepository categoryRepository,
+                              ProductSalesRollupRepository productRepository,
+                              PaymentMethodSalesRollupRepository paymentMethodRepository,
+                              EntityManager entityManager, PlatformTransactionManager transactionManager,
+                              @Value("${app.analytics.enabled:true}") boolean enabled,
+                              @Value("${app.analytics.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.publisher = publisher;
+        this.orderRepository = orderRepository;
+        this.paymentRepository = paymentRepository;
+        this.dailyRepository = dailyRepository;
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.paymentMethodRepository = paymentMethodRepository;
+        this.entityManager = entityManager;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    /**
+     * Registra pedidos recém-gravados (já com {@code createdAt} preenchido).
+     */
+    public void ordersCreated(Collection<Order> orders) {
+        if (!enabled || orders.isEmpty()) {
+            return;
+        }
+        SalesRollupDelta delta = new SalesRollupDelta();
+        for (Order order : orders) {
+            delta.addOrder(OrderFacts.of(order), order.getStatus(), 1);
+        }
+        publisher.publishEvent(delta);
+    }
+
+    public void orderCreated(Order order) {
+        ordersCreated(List.of(order));
+    }
+
+    public void orderStatusChanged(Order order, OrderStatus previous) {
+        if (!enabled || previous == order.getStatus()) {
+            return;
+        }
+        SalesRollupDelta delta = new SalesRollupDelta();
+        delta.addStatusChange(OrderFacts.of(order), previous, order.getStatus());
+        publisher.publishEvent(delta);
+    }
+
+    public void paymentRecorded(Payment payment) {
+        if (!enabled) {
+            return;
+        }
+        SalesRollupDelta delta = new SalesRollupDelta();
+        delta.addPayment(payment.getPaidAt().toLocalDate(), payment.getMethod(), payment.getAmountCents());
+        publisher.publishEvent(delta);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitted(SalesRollupDelta delta) {
+        pending.add(delta);
+    }
+
+    /**
+     * Aplica de uma vez todos os deltas pendentes. Em caso de falha (ex: banco ocupado),
+     * o delta somado volta para a fila e é tentado no próximo ciclo.
+     *
+     * @return Quantidade de linhas de rollup atualizadas.
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.flush-interval-ms:1000}")
+    public int flush() {
+        writeLock.lock();
+        try {
+            SalesRollupDelta merged = drain();
+            if (merged.isEmpty()) {
+                return 0;
+            }
+            try {
+                writeTransaction.executeWithoutResult(status -> apply(merged));
+                return merged.size();
+            } catch (RuntimeException e) {
+                // A transação foi desfeita por inteiro, então reaplicar depois não duplica nada
+                pending.add(merged);
+                log.warn("Falha ao aplicar {} linhas de rollup de vendas; nova tentativa no próximo ciclo", merged.size(), e);
+                return 0;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Recalcula todos os rollups a partir do histórico, em uma passada pelos pedidos (com itens) e uma
+     * pelos pagamentos, ambas em streaming. A memória usada cresce com o número de linhas de rollup
+     * (dias x categorias/produtos), não com o número de pedidos.
+     * <p>
+     * Deltas pendentes são descartados: já foram commitados, então estão no histórico lido.
+     * Pedidos gravados exatamente durante a reconstrução podem ficar de fora ou contar em dobro;
+     * por isso ela é pensada para janelas de manutenção ou para o primeiro deploy.
+     * </p>
+     */
+    public AnalyticsRebuildResultDTO rebuild() {
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            pending.clear();
+
+            SalesRollupDelta all = new SalesRollupDelta();
+            long[] counts = new long[2];
+            readTransaction.executeWithoutResult(status -> {
+                try (Stream<SalesItemRowDTO> rows = orderRepository.streamSalesRows()) {
+                    counts[0] = accumulateOrders(rows.iterator(), all);
+                }
+                try (Stream<PaymentSalesRowDTO> payments = paymentRepository.streamSalesRows()) {
+                    payments.forEach(payment -> {
+                        if (payment.paidAt() != null) {
+                            all.addPayment(payment.paidAt().toLocalDate(), payment.method(), payment.amountCents());
+                            counts[1]++;
+                        }
+                    });
+                }
+            });
+
+            writeTransaction.executeWithoutResult(status -> replaceAll(all));
+
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("Rollups de vendas reconstruídos: {} pedidos, {} pagamentos, {} linhas em {} ms",
+                    counts[0], counts[1], all.size(), durationMs);
+            return new AnalyticsRebuildResultDTO(LocalDateTime.now(), counts[0], counts[1], all.size(), durationMs);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Primeiro deploy (tabelas de rollup vazias com pedidos já existentes) ou reconstrução pedida
+     * em {@code app.analytics.rebuild-on-startup}. Roda depois dos seeders.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        if (rebuildOnStartup || (dailyRepository.count() == 0 && orderRepository.count() > 0)) {
+            rebuild();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!pending.isEmpty()) {
+            flush();
+        }
+    }
+
+    private SalesRollupDelta drain() {
+        SalesRollupDelta merged = new SalesRollupDelta();
+        SalesRollupDelta next;
+        while ((next = pending.poll()) != null) {
+            merged.merge(next);
+        }
+        return merged;
+    }
+
+    private void apply(SalesRollupDelta delta) {
+        for (Map.Entry<LocalDate, long[]> entry : delta.daily.entrySet()) {
+            long[] v = entry.getValue();
+            if (SalesRollupDelta.isZero(v)) {
+                continue;
+            }
+            int updated = dailyRepository.increment(entry.getKey(), v[SalesRollupDelta.ORDERS], v[SalesRollupDelta.CANCELLED],
+                    v[SalesRollupDelta.PAID], v[SalesRollupDelta.ITEMS], v[SalesRollupDelta.BOOKED_CENTS],
+                    v[SalesRollupDelta.RECEIVED_CENTS]);
+            if (updated == 0) {
+                entityManager.persist(daily(entry.getKey(), v));
+            }
+        }
+        for (Map.Entry<DayKey<String>, long[]> entry : delta.categories.entrySet()) {
+            long[] v = entry.getValue();
+            if (!SalesRollupDelta.isZero(v) && categoryRepository.increment(entry.getKey().day(), entry.getKey().value(),
+                    v[SalesRollupDelta.QUANTITY], v[SalesRollupDelta.REVENUE_CENTS]) == 0) {
+                entityManager.persist(category(entry.getKey(), v));
+            }
+        }
+        for (Map.Entry<DayKey<Long>, long[]> entry : delta.products.entrySet()) {
+            long[] v = entry.getValue();
+            if (!SalesRollupDelta.isZero(v) && productRepository.increment(entry.getKey().day(), entry.getKey().value(),
+                    v[SalesRollupDelta.QUANTITY], v[SalesRollupDelta.REVENUE_CENTS]) == 0) {
+                entityManager.persist(product(entry.getKey(), v));
+            }
+        }
+        for (Map.Entry<DayKey<PaymentMethod>, long[]> entry : delta.paymentMethods.entrySet()) {
+            long[] v = entry.getValue();
+            if (!SalesRollupDelta.isZero(v) && paymentMethodRepository.increment(entry.getKey().day(), entry.getKey().value(),
+                    v[SalesRollupDelta.PAYMENTS], v[SalesRollupDelta.AMOUNT_CENTS]) == 0) {
+                entityManager.persist(paymentMethod(entry.getKey(), v));
+            }
+        }
+    }
+
+    private void replaceAll(SalesRollupDelta all) {
+        dailyRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        paymentMethodRepository.deleteAllInBatch();
+
+        List<Object> rows = new ArrayList<>(all.size());
+        all.daily.forEach((day, v) -> rows.add(daily(day, v)));
+        all.categories.forEach((key, v) -> rows.add(category(key, v)));
+        all.products.forEach((key, v) -> rows.add(product(key, v)));
+        all.paymentMethods.forEach((key, v) -> rows.add(paymentMethod(key, v)));
+
+        // INSERTs em batch; o contexto é limpo periodicamente para não acumular entidades
+        for (int i = 0; i < rows.size(); i++) {
+            entityManager.persist(rows.get(i));
+            if ((i + 1) % REBUILD_FLUSH_EVERY == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+    }
+
+    /**
+     * Agrupa as linhas consecutivas de cada pedido (a consulta vem ordenada por ID) e soma a contribuição
+     * de cada pedido no seu status atual.
+     */
+    private static long accumulateOrders(Iterator<SalesItemRowDTO> rows, SalesRollupDelta all) {
+        long orders = 0;
+        SalesItemRowDTO head = null;
+        List<ItemFacts> items = new ArrayList<>();
+        while (rows.hasNext()) {
+            SalesItemRowDTO row = rows.next();
+            if (head != null && !head.orderId().equals(row.orderId())) {
+                addOrder(all, head, items);
+                orders++;
+                items = new ArrayList<>();
+            }
+            head = row;
+            if (row.productId() != null) {
+                items.add(new ItemFacts(row.productId(), row.category(), row.quantity(), row.unitPriceCents()));
+            }
+        }
+        if (head != null) {
+            addOrder(all, head, items);
+            orders++;
+        }
+        return orders;
+    }
+
+    private static void addOrder(SalesRollupDelta all, SalesItemRowDTO order, List<ItemFacts> items) {
+        OrderFacts facts = new OrderFacts(order.createdAt().toLocalDate(), order.totalCents(), items);
+        all.addOrder(facts, order.status(), 1);
+    }
+
+    private static DailySalesRollup daily(LocalDate day, long[] v) {
+        return new DailySalesRollup(day, v[SalesRollupDelta.ORDERS], v[SalesRollupDelta.CANCELLED], v[SalesRollupDelta.PAID],
+                v[SalesRollupDelta.ITEMS], v[SalesRollupDelta.BOOKED_CENTS], v[SalesRollupDelta.RECEIVED_CENTS]);
+    }
+
+    private static CategorySalesRollup category(DayKey<String> key, long[] v) {
+        return new CategorySalesRollup(key.day(), key.value(), v[SalesRollupDelta.QUANTITY], v[SalesRollupDelta.REVENUE_CENTS]);
+    }
+
+    private static ProductSalesRollup product(DayKey<Long> key, long[] v) {
+        return new ProductSalesRollup(key.day(), key.value(), v[SalesRollupDelta.QUANTITY], v[SalesRollupDelta.REVENUE_CENTS]);
+    }
+
+    private static PaymentMethodSalesRollup paymentMethod(DayKey<PaymentMethod> key, long[] v) {
+        return new PaymentMethodSalesRollup(key.day(), key.value(), v[SalesRollupDelta.PAYMENTS], v[SalesRollupDelta.AMOUNT_CENTS]);
+    }
+}
@@ -0,0 +1,111 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Métricas de negócio dos serviços, publicadas no {@link MeterRegistry} (e em <code>/actuator/prometheus</code>).
+ * <p>
+ * <ul>
+ *   <li>{@code app.orders.created} / {@code app.orders.amount}: pedidos criados e seus totais (centavos),
+ *       por origem ({@code api}, {@code bulk} ou {@code async}).</li>
+ *   <li>{@code app.payments.created} / {@code app.payments.amount}: pagamentos registrados e valores
+ *       (centavos), por {@link PaymentMethod}.</li>
+ *   <li>{@code app.dto.mapping}: tempo de conversão de entidades em DTOs. Inclui os carregamentos
+ *       LAZY disparados durante a conversão, então um salto aqui costuma ser N+1.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Pedidos e pagamentos só são contados depois do commit da transação que os gravou (ou na hora, fora de
+ * transação). Uma transação desfeita, repetida pelo {@link ConflictRetry} ou que falha no flush não infla os
+ * contadores, e pedidos da API e do lote são contados do mesmo jeito.
+ * </p>
+ */
+@Component
+public class ServiceMetrics {
+
+    public static final String SOURCE_API = "api";
+    public static final String SOURCE_BULK = "bulk";
+    public static final String SOURCE_ASYNC = "async";
+
+    private final MeterRegistry registry;
+    private final ApplicationEventPublisher publisher;
+    private final Map<String, Counter> ordersCreated = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> orderAmounts = new ConcurrentHashMap<>();
+    private final Map<PaymentMethod, Counter> paymentsCreated = new EnumMap<>(PaymentMethod.class);
+    private final Map<PaymentMethod, DistributionSummary> paymentAmounts = new EnumMap<>(PaymentMethod.class);
+    private final Map<String, Timer> mappingTimers = new ConcurrentHashMap<>();
+
+    public ServiceMetrics(MeterRegistry registry, ApplicationEventPublisher publisher) {
+        this.registry = registry;
+        this.publisher = publisher;
+        for (PaymentMethod method : PaymentMethod.values()) {
+            paymentsCreated.put(method, Counter.builder("app.payments.created")
+                    .description("Pagamentos registrados")
+                    .tag("method", method.name())
+                    .register(registry));
+            paymentAmounts.put(method, DistributionSummary.builder("app.payments.amount")
+                    .description("Valor dos pagamentos registrados")
+                    .baseUnit("cents")
+                    .tag("method", method.name())
+                    .register(registry));
+        }
+    }
+
+    public void orderCreated(String source, int totalCents) {
+        publisher.publishEvent(new OrderCreated(source, totalCents));
+    }
+
+    public void paymentCreated(PaymentMethod method, int amountCents) {
+        publisher.publishEvent(new PaymentCreated(method, amountCents));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreated event) {
+        ordersCreated.computeIfAbsent(event.source(), s -> Counter.builder("app.orders.created")
+                .description("Pedidos criados")
+                .tag("source", s)
+                .register(registry)).increment();
+        orderAmounts.computeIfAbsent(event.source(), s -> DistributionSummary.builder("app.orders.amount")
+                .description("Total dos pedidos criados")
+                .baseUnit("cents")
+                .tag("source", s)
+                .register(registry)).record(event.totalCents());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentCreated(PaymentCreated event) {
+        paymentsCreated.get(event.method()).increment();
+        paymentAmounts.get(event.method()).record(event.amountCents());
+    }
+
+    public <T> T timeMapping(String dto, Supplier<T> mapping) {
+        return mappingTimers.computeIfAbsent(dto, d -> Timer.builder("app.dto.mapping")
+                .description("Conversão de entidades em DTOs")
+                .tag("dto", d)
+                .register(registry)).record(mapping);
+    }
+
+    /**
+     * Pedido gravado, contado só depois do commit.
+     */
+    public record OrderCreated(String source, int totalCents) {
+    }
+
+    /**
+     * Pagamento registrado, contado só depois do commit.
+     */
+    public record PaymentCreated(PaymentMethod method, int amountCents) {
+    }
+}
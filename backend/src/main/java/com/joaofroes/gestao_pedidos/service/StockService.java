@@ -0,0 +1,324 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderItem;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.entity.ProductStock;
+import com.joaofroes.gestao_pedidos.dto.StockLevelDTO;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductStockRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reserva e baixa de estoque dos pedidos, com contadores por produto em memória.
+ * <p>
+ * <b>Decisão de Arquitetura:</b> a decisão "tem estoque?" é um compare-and-set no contador em memória
+ * do produto, sem lock e sem tocar na linha de {@code product_stock}. Numa promoção de um único produto,
+ * os checkouts disputam só esse contador (nanossegundos), não o lock de uma linha do banco durante
+ * a transação inteira. As alterações confirmadas viram deltas que o {@link #flush()} grava em lote,
+ * um UPDATE relativo por produto alterado a cada {@code app.stock.flush-interval-ms}.
+ * </p>
+ * <p>
+ * Regras de transação:
+ * </p>
+ * <ul>
+ * <li>Reduzir o disponível (reservar) acontece na hora, ainda dentro da transação do pedido, e é
+ *     desfeito se ela não for confirmada. Assim dois pedidos nunca levam a mesma unidade.</li>
+ * <li>Aumentar o disponível (cancelar) só acontece depois do commit: uma unidade não é revendida
+ *     enquanto o cancelamento ainda pode ser desfeito.</li>
+ * </ul>
+ * <p>
+ * Os contadores são a referência desta instância; a aplicação assume uma única instância escrevendo
+ * no banco (como o cache do catálogo). Deltas ainda não gravados se perdem numa queda do processo.
+ * </p>
+ */
+@Service
+public class StockService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockService.class);
+
+    private final ProductStockRepository repository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate writeTransaction;
+    private final boolean enabled;
+
+    // Só produtos com estoque controlado têm contador: fora do mapa, o produto vende sem limite
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public StockService(ProductStockRepository repository, ProductRepository productRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${app.stock.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.productRepository = productRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    void load() {
+        if (enabled) {
+            for (ProductStock stock : repository.findAll()) {
+                counters.put(stock.getProductId(), new Counter(stock.getOnHand() - stock.getReserved()));
+            }
+        }
+    }
+
+    /**
+     * Aplica ao estoque a passagem do pedido de {@code from} para {@code to} ({@code from} nulo na criação).
+     * Todos os itens do pedido são reservados ou nenhum é.
+     *
+     * @throws IllegalStateException Se algum produto não tiver estoque disponível.
+     */
+    public void apply(Order order, OrderStatus from, OrderStatus to) {
+        if (!enabled || from == to) {
+            return;
+        }
+        Map<Long, Long> quantities = trackedQuantities(order);
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        Map<Long, long[]> changes = new HashMap<>();
+        for (Map.Entry<Long, Long> entry : quantities.entrySet()) {
+            Long productId = entry.getKey();
+            long quantity = entry.getValue();
+            long[] change = new long[Change.SIZE];
+            long availableDelta = used(from, quantity) - used(to, quantity);
+            if (availableDelta < 0) {
+                Counter counter = counters.get(productId);
+                if (!counter.tryTake(-availableDelta)) {
+                    changes.forEach((id, taken) -> counters.get(id).available.addAndGet(taken[Change.TAKEN]));
+                    throw new IllegalStateException("Estoque insuficiente para o produto ID " + productId
+                            + ": disponível " + Math.max(0, counter.available.get()) + ", solicitado " + quantity);
+                }
+                change[Change.TAKEN] = -availableDelta;
+            } else {
+                change[Change.RETURNED] = availableDelta;
+            }
+            change[Change.RESERVED] = (to == OrderStatus.NEW ? quantity : 0) - (from == OrderStatus.NEW ? quantity : 0);
+            change[Change.ON_HAND] = (from == OrderStatus.PAID ? quantity : 0) - (to == OrderStatus.PAID ? quantity : 0);
+            changes.put(productId, change);
+        }
+
+        Map<Long, long[]> pending = currentTransaction();
+        if (pending == null) {
+            commit(changes);
+        } else {
+            changes.forEach((id, change) -> Change.add(pending.computeIfAbsent(id, k -> new long[Change.SIZE]), change));
+        }
+    }
+
+    /**
+     * Grava no banco os deltas confirmados desde o último flush.
+     * Em caso de falha, os deltas voltam para a fila e são tentados no próximo ciclo.
+     *
+     * @return Quantidade de produtos atualizados.
+     */
+    @Scheduled(fixedDelayString = "${app.stock.flush-interval-ms:500}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            Map<Long, long[]> deltas = new HashMap<>();
+            for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+                Long productId = it.next();
+                it.remove();
+                Counter counter = counters.get(productId);
+                long onHand = counter.pendingOnHand.getAndSet(0);
+                long reserved = counter.pendingReserved.getAndSet(0);
+                if (onHand != 0 || reserved != 0) {
+                    deltas.put(productId, new long[]{onHand, reserved});
+                }
+            }
+            if (deltas.isEmpty()) {
+                return 0;
+            }
+            try {
+                writeTransaction.executeWithoutResult(status ->
+                        deltas.forEach((id, delta) -> repository.applyDelta(id, delta[0], delta[1])));
+                return deltas.size();
+            } catch (RuntimeException e) {
+                deltas.forEach((id, delta) -> addPending(id, delta[0], delta[1]));
+                log.warn("Falha ao gravar o estoque de {} produtos; nova tentativa no próximo ciclo", deltas.size(), e);
+                return 0;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Informa a contagem física de estoque do produto. Na primeira vez, o produto passa a ter estoque
+     * controlado, já descontando as reservas dos pedidos em aberto.
+     */
+    public StockLevelDTO setOnHand(Long productId, long onHand) {
+        if (!enabled) {
+            throw new IllegalStateException("O controle de estoque está desligado (app.stock.enabled=false)");
+        }
+        if (!productRepository.existsById(productId)) {
+            throw new EntityNotFoundException("Produto não encontrado com ID: " + productId);
+        }
+        flushLock.lock();
+        try {
+            // Deltas pendentes são relativos: gravados antes, não se misturam à nova contagem
+            flush();
+            if (counters.containsKey(productId)) {
+                long previous = writeTransaction.execute(status -> {
+                    ProductStock current = repository.findById(productId).orElseThrow();
+                    long old = current.getOnHand();
+                    current.setOnHand(onHand);
+                    return old;
+                });
+                counters.get(productId).available.addAndGet(onHand - previous);
+            } else {
+                ProductStock created = writeTransaction.execute(status ->
+                        repository.save(new ProductStock(productId, onHand, repository.sumOpenQuantity(productId))));
+                counters.put(productId, new Counter(onHand - created.getReserved()));
+            }
+            return level(productId);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Posição atual: valores gravados somados aos deltas ainda não gravados.
+     */
+    public StockLevelDTO level(Long productId) {
+        Counter counter = counters.get(productId);
+        ProductStock stock = repository.findById(productId).orElse(null);
+        if (counter == null || stock == null) {
+            throw new EntityNotFoundException("O produto ID " + productId + " não tem estoque controlado");
+        }
+        return new StockLevelDTO(productId,
+                stock.getOnHand() + counter.pendingOnHand.get(),
+                stock.getReserved() + counter.pendingReserved.get(),
+                counter.available.get());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!dirty.isEmpty()) {
+            flush();
+        }
+    }
+
+    private Map<Long, Long> trackedQuantities(Order order) {
+        // Mesmo produto repetido no pedido vira uma única reserva; a ordem é estável para a mensagem de erro
+        Map<Long, Long> quantities = new LinkedHashMap<>();
+        for (OrderItem item : order.getItems()) {
+            Long productId = item.getProduct().getId();
+            if (counters.containsKey(productId)) {
+                quantities.merge(productId, (long) item.getQuantity(), Long::sum);
+            }
+        }
+        return quantities;
+    }
+
+    // Unidades indisponíveis para venda por causa do pedido neste status
+    private static long used(OrderStatus status, long quantity) {
+        return status == OrderStatus.NEW || status == OrderStatus.PAID ? quantity : 0;
+    }
+
+    /**
+     * Alterações de estoque da transação atual, aplicadas aos contadores quando ela termina.
+     * Nulo fora de transação.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, long[]> currentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<Long, long[]> pending = (Map<Long, long[]>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Long, long[]> changes = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StockService.this);
+                    if (status == STATUS_COMMITTED) {
+                        commit(changes);
+                    } else {
+                        changes.forEach((id, change) -> counters.get(id).available.addAndGet(change[Change.TAKEN]));
+                    }
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+
+    private void commit(Map<Long, long[]> changes) {
+        changes.forEach((id, change) -> {
+            counters.get(id).available.addAndGet(change[Change.RETURNED]);
+            addPending(id, change[Change.ON_HAND], change[Change.RESERVED]);
+        });
+    }
+
+    private void addPending(Long productId, long onHand, long reserved) {
+        Counter counter = counters.get(productId);
+        counter.pendingOnHand.addAndGet(onHand);
+        counter.pendingReserved.addAndGet(reserved);
+        dirty.add(productId);
+    }
+
+    /**
+     * Posições do vetor de alterações de um produto dentro de uma transação.
+     */
+    private static final class Change {
+        static final int TAKEN = 0;
+        static final int RETURNED = 1;
+        static final int RESERVED = 2;
+        static final int ON_HAND = 3;
+        static final int SIZE = 4;
+
+        static void add(long[] target, long[] source) {
+            for (int i = 0; i < SIZE; i++) {
+                target[i] += source[i];
+            }
+        }
+    }
+
+    private static final class Counter {
+        final AtomicLong available;
+        final AtomicLong pendingOnHand = new AtomicLong();
+        final AtomicLong pendingReserved = new AtomicLong();
+
+        Counter(long available) {
+            this.available = new AtomicLong(available);
+        }
+
+        boolean tryTake(long quantity) {
+            long current;
+            do {
+                current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - quantity));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+-- Schema inicial (perfil postgres). SQL compatível também com o H2 em modo PostgreSQL, usado nos testes.
+
+create table customers (
+    id          bigint generated by default as identity primary key,
+    name        varchar(120) not null,
+    email       varchar(160) not null,
+    created_at  timestamp(6) not null,
+    constraint uk_customers_email unique (email)
+);
+
+create table products (
+    id           bigint generated by default as identity primary key,
+    name         varchar(255) not null,
+    category     varchar(255) not null,
+    price_cents  integer      not null,
+    active       boolean      not null
+);
+
+-- Pedidos e itens recebem o ID da aplicação (@SequentialId), em blocos de 50 da sequence
+create sequence orders_seq start with 1 increment by 50;
+create sequence order_items_seq start with 1 increment by 50;
+
+create table orders (
+    id           bigint       primary key,
+    customer_id  bigint       not null references customers (id),
+    status       varchar(255) not null,
+    total_cents  integer      not null,
+    paid_cents   bigint       default 0 not null,
+    version      bigint       default 0 not null,
+    created_at   timestamp(6) not null
+);
+
+create table order_items (
+    id                bigint  primary key,
+    order_id          bigint  not null references orders (id),
+    product_id        bigint  not null references products (id),
+    quantity          integer not null,
+    unit_price_cents  integer not null
+);
+
+create table payments (
+    id            bigint generated by default as identity primary key,
+    order_id      bigint      not null references orders (id),
+    method        varchar(20) not null,
+    amount_cents  integer     not null,
+    paid_at       timestamp(6)
+);
+
+create table idempotency_keys (
+    id             varchar(300)     primary key,
+    request_hash   varchar(64)      not null,
+    response_body  varchar(1000000) not null,
+    created_at     timestamp(6)     not null,
+    expires_at     timestamp(6)     not null
+);
+
+-- Índices dos caminhos de acesso dos repositórios
+create index idx_orders_created_at_id on orders (created_at, id);
+create index idx_order_items_order_id on order_items (order_id);
+create index idx_payments_order_id on payments (order_id);
+create index idx_products_category_active on products (category, active);
+create index idx_products_active on products (active);
+create index idx_idempotency_keys_expires_at on idempotency_keys (expires_at);
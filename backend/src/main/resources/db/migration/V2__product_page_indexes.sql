@@ -0,0 +1,3 @@
+-- Listagem paginada de produtos (GET /products/page): status + coluna ordenada + id do keyset
+create index idx_products_active_price on products (active, price_cents, id);
+create index idx_products_active_name on products (active, name, id);
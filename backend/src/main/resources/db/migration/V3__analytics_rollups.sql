@@ -0,0 +1,34 @@
+-- Rollups de vendas (GET /analytics/*): uma linha por dia e dimensão, mantidas pelo SalesRollupService
+create table analytics_daily_sales (
+    sales_date       date   primary key,
+    order_count      bigint not null,
+    cancelled_count  bigint not null,
+    paid_count       bigint not null,
+    items_sold       bigint not null,
+    booked_cents     bigint not null,
+    received_cents   bigint not null
+);
+
+create table analytics_category_sales (
+    sales_date     date         not null,
+    category       varchar(255) not null,
+    quantity       bigint       not null,
+    revenue_cents  bigint       not null,
+    primary key (sales_date, category)
+);
+
+create table analytics_product_sales (
+    sales_date     date   not null,
+    product_id     bigint not null,
+    quantity       bigint not null,
+    revenue_cents  bigint not null,
+    primary key (sales_date, product_id)
+);
+
+create table analytics_payment_method_sales (
+    sales_date     date        not null,
+    method         varchar(20) not null,
+    payment_count  bigint      not null,
+    amount_cents   bigint      not null,
+    primary key (sales_date, method)
+);
@@ -0,0 +1,17 @@
+-- Outbox dos eventos de pedidos (OutboxService / OutboxDispatcher); IDs da aplicação (@SequentialId)
+create sequence outbox_events_seq start with 1 increment by 50;
+
+create table outbox_events (
+    id              bigint        primary key,
+    aggregate_type  varchar(50)   not null,
+    aggregate_id    bigint        not null,
+    event_type      varchar(50)   not null,
+    payload         varchar(4000) not null,
+    created_at      timestamp(6)  not null,
+    dispatched_at   timestamp(6),
+    attempts        integer       not null,
+    last_error      varchar(500)
+);
+
+-- Pendentes em ordem de ID e limpeza dos já entregues
+create index idx_outbox_events_dispatched_at_id on outbox_events (dispatched_at, id);
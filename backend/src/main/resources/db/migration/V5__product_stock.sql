@@ -0,0 +1,6 @@
+-- Estoque controlado por produto (StockService); produtos sem linha aqui vendem sem limite
+create table product_stock (
+    product_id  bigint primary key references products (id),
+    on_hand     bigint not null,
+    reserved    bigint not null
+);
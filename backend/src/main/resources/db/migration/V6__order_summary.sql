@@ -0,0 +1,14 @@
+-- Modelo de leitura das listagens (OrderSummaryService): uma linha por pedido, mantida na transação do pedido
+create table order_summary (
+    order_id        bigint       primary key,
+    customer_id     bigint       not null,
+    customer_name   varchar(120) not null,
+    customer_email  varchar(160) not null,
+    status          varchar(255) not null,
+    total_cents     integer      not null,
+    paid_cents      bigint       not null,
+    item_count      integer      not null,
+    created_at      timestamp(6) not null
+);
+
+create index idx_order_summary_created_at_id on order_summary (created_at, order_id);
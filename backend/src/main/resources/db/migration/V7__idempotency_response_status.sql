@@ -0,0 +1,3 @@
+-- Status HTTP da resposta original, devolvido nas repetições (IdempotencyService).
+-- Chaves já gravadas ficam nulas e são lidas como 201, o único status gravado até aqui.
+alter table idempotency_keys add column response_status integer;
@@ -0,0 +1,3 @@
+-- Listagem e paginação de pedidos leem order_summary (idx_order_summary_created_at_id) e a exportação
+-- percorre a chave primária: nenhuma consulta usa mais o índice por data da tabela orders.
+drop index idx_orders_created_at_id;
@@ -0,0 +1,35 @@
+package com.joaofroes.gestao_pedidos.benchmark;
+
+import com.joaofroes.gestao_pedidos.GestaoDePedidosApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sobe a aplicação sem servidor web para os benchmarks, cada um com seu próprio arquivo SQLite
+ * em {@code target/} e sem log de SQL nem rotinas agendadas.
+ */
+final class BenchmarkApp {
+
+    private BenchmarkApp() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:sqlite:target/jmh-" + database + ".db",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--spring.main.banner-mode=off",
+                "--app.orders.paid-check.cron=-",
+                "--app.idempotency.purge-cron=-"));
+        args.addAll(List.of(extraArgs));
+
+        return new SpringApplicationBuilder(GestaoDePedidosApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+}
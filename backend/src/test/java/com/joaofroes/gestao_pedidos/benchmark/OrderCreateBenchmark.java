@@ -0,0 +1,64 @@
+package com.joaofroes.gestao_pedidos.benchmark;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import com.joaofroes.gestao_pedidos.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderService#create} com carrinhos de tamanhos diferentes (todos os produtos distintos).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreateBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int cartSize;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.start("order-create");
+        orderService = context.getBean(OrderService.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+
+        List<Product> extra = new ArrayList<>();
+        for (int i = productRepository.findByActive(true).size(); i < cartSize; i++) {
+            extra.add(new Product("Produto Benchmark " + i, "Benchmark", 1000));
+        }
+        productRepository.saveAll(extra);
+
+        List<OrderItemRequestDTO> items = productRepository.findByActive(true).stream()
+                .limit(cartSize)
+                .map(p -> new OrderItemRequestDTO(p.getId(), 1))
+                .toList();
+        Long customerId = context.getBean(CustomerRepository.class).findAll().get(0).getId();
+        request = new OrderRequestDTO(customerId, items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponseDTO create() {
+        return orderService.create(request);
+    }
+}
@@ -0,0 +1,105 @@
+package com.joaofroes.gestao_pedidos.benchmark;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.event.OrderLedgerEvent;
+import com.joaofroes.gestao_pedidos.domain.event.OrderLedgerEvent.Type;
+import com.joaofroes.gestao_pedidos.service.OrderLedger;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Vazão de gravação do {@link OrderLedger}: chamadas de {@code append} por segundo, cada uma com
+ * {@code batchSize} eventos (eventos/s = resultado x batchSize).
+ * <p>
+ * {@code append} é o caminho de cada commit (o fsync fica para a rotina periódica);
+ * {@code appendAndSync} força o disco a cada chamada, para comparar com um fsync por transação.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderLedgerAppendBenchmark {
+
+    @Param({"1", "5", "100"})
+    public int batchSize;
+
+    private Path directory;
+    private OrderLedger ledger;
+    private List<OrderLedgerEvent> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Path.of("target", "jmh-ledger-append");
+        deleteDirectory(directory);
+        ledger = new OrderLedger(directory, 64L * 1024 * 1024, 2);
+
+        batch = new ArrayList<>(batchSize);
+        for (long orderId = 1; batch.size() < batchSize; orderId++) {
+            for (OrderLedgerEvent event : lifecycle(orderId)) {
+                if (batch.size() < batchSize) {
+                    batch.add(event);
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ledger.close();
+        deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public List<OrderLedgerEvent> append() throws IOException {
+        return ledger.append(batch);
+    }
+
+    @Benchmark
+    public List<OrderLedgerEvent> appendAndSync() throws IOException {
+        List<OrderLedgerEvent> appended = ledger.append(batch);
+        ledger.sync();
+        return appended;
+    }
+
+    /**
+     * Ciclo de vida típico de um pedido: criação, dois itens, pagamento e troca de status (5 eventos).
+     */
+    static List<OrderLedgerEvent> lifecycle(long orderId) {
+        LocalDateTime at = LocalDateTime.of(2025, 1, 1, 12, 0).plusSeconds(orderId);
+        return List.of(
+                new OrderLedgerEvent(0, Type.CREATED, orderId, 0, at, orderId % 1000 + 1,
+                        null, null, null, null, null, null, null, OrderStatus.NEW),
+                new OrderLedgerEvent(0, Type.ITEM_ADDED, orderId, 0, at, null,
+                        orderId % 50 + 1, 2, 15_000, null, null, null, null, null),
+                new OrderLedgerEvent(0, Type.ITEM_ADDED, orderId, 0, at, null,
+                        orderId % 50 + 2, 1, 45_000, null, null, null, null, null),
+                new OrderLedgerEvent(0, Type.PAYMENT_REGISTERED, orderId, 1, at, null,
+                        null, null, null, orderId, PaymentMethod.PIX, 75_000, null, null),
+                new OrderLedgerEvent(0, Type.STATUS_CHANGED, orderId, 1, at, null,
+                        null, null, null, null, null, null, OrderStatus.NEW, OrderStatus.PAID));
+    }
+
+    static void deleteDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
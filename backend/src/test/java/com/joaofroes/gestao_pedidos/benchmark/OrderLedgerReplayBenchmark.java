@@ -0,0 +1,78 @@
+package com.joaofroes.gestao_pedidos.benchmark;
+
+import com.joaofroes.gestao_pedidos.domain.event.OrderLedgerEvent;
+import com.joaofroes.gestao_pedidos.dto.LedgerReplayResultDTO;
+import com.joaofroes.gestao_pedidos.service.OrderLedger;
+import com.joaofroes.gestao_pedidos.service.OrderProjection;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo para reconstruir a projeção dos pedidos a partir do {@link OrderLedger} com milhões de eventos:
+ * replay completo ({@code fromSnapshot=false}) e a partir de um snapshot tirado em 90% do ledger.
+ * <p>
+ * O ledger de cada tamanho é gerado uma vez em {@code target/jmh-ledger-replay-<eventos>} (5 eventos
+ * por pedido) e reaproveitado pelas execuções seguintes.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OrderLedgerReplayBenchmark {
+
+    private static final int APPEND_BATCH_ORDERS = 200;
+
+    @Param({"1000000", "5000000"})
+    public int events;
+
+    @Param({"false", "true"})
+    public boolean fromSnapshot;
+
+    private OrderLedger ledger;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path directory = Path.of("target", "jmh-ledger-replay-" + events);
+        ledger = new OrderLedger(directory, 64L * 1024 * 1024, 1);
+        if (ledger.lastSeq() == events && ledger.latestSnapshotSeq() > 0) {
+            return;
+        }
+        ledger.close();
+        OrderLedgerAppendBenchmark.deleteDirectory(directory);
+        ledger = new OrderLedger(directory, 64L * 1024 * 1024, 1);
+
+        long orders = events / 5;
+        long snapshotAt = orders * 9 / 10;
+        OrderProjection projection = new OrderProjection();
+        List<OrderLedgerEvent> batch = new ArrayList<>();
+        for (long orderId = 1; orderId <= orders; orderId++) {
+            batch.addAll(OrderLedgerAppendBenchmark.lifecycle(orderId));
+            if (batch.size() >= APPEND_BATCH_ORDERS * 5 || orderId == orders || orderId == snapshotAt) {
+                ledger.append(batch).forEach(projection::apply);
+                batch.clear();
+            }
+            if (orderId == snapshotAt) {
+                ledger.writeSnapshot(projection.lastSeq(), projection.copy());
+            }
+        }
+        ledger.sync();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ledger.close();
+    }
+
+    @Benchmark
+    public LedgerReplayResultDTO replay() throws IOException {
+        return ledger.replay(new OrderProjection(), fromSnapshot);
+    }
+}
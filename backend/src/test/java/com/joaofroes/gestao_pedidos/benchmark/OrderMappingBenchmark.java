@@ -0,0 +1,68 @@
+package com.joaofroes.gestao_pedidos.benchmark;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Customer;
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderItem;
+import com.joaofroes.gestao_pedidos.domain.entity.Payment;
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo puro de {@link OrderResponseDTO#fromEntity}, sem banco: grafo já carregado em memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int items;
+
+    @Param({"0", "10"})
+    public int payments;
+
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Customer customer = new Customer("Cliente Benchmark", "benchmark@teste.com");
+        customer.setId(1L);
+
+        order = new Order(customer);
+        order.setId(1L);
+        order.setCreatedAt(LocalDateTime.now());
+
+        int total = 0;
+        for (int i = 0; i < items; i++) {
+            Product product = new Product("Produto " + i, "Benchmark", 1000 + i);
+            product.setId((long) i);
+
+            OrderItem item = new OrderItem(order, product, 1 + i % 3, product.getPriceCents());
+            item.setId((long) i);
+            order.getItems().add(item);
+            total += item.getQuantity() * item.getUnitPriceCents();
+        }
+        order.setTotalCents(total);
+
+        for (int i = 0; i < payments; i++) {
+            Payment payment = new Payment(order, PaymentMethod.CARD, 100);
+            payment.setId((long) i);
+            payment.setPaidAt(LocalDateTime.now());
+            order.getPayments().add(payment);
+        }
+        order.setPaidCents(100L * payments);
+    }
+
+    @Benchmark
+    public OrderResponseDTO fromEntity() {
+        return OrderResponseDTO.fromEntity(order);
+    }
+}
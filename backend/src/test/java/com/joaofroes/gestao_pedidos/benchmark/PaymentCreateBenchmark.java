@@ -0,0 +1,67 @@
+package com.joaofroes.gestao_pedidos.benchmark;
+
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import com.joaofroes.gestao_pedidos.service.OrderService;
+import com.joaofroes.gestao_pedidos.service.PaymentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PaymentService#create} em um pedido que já tem muitos pagamentos.
+ * <p>
+ * O pedido tem um total alto o bastante para nunca ser quitado durante o benchmark,
+ * então toda chamada percorre o caminho completo de registro.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentCreateBenchmark {
+
+    @Param({"0", "100", "1000"})
+    public int existingPayments;
+
+    private ConfigurableApplicationContext context;
+    private PaymentService paymentService;
+    private PaymentRequestDTO payment;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.start("payment-create");
+        paymentService = context.getBean(PaymentService.class);
+
+        Product product = context.getBean(ProductRepository.class)
+                .save(new Product("Produto Benchmark Parcelado", "Benchmark", 100_000));
+        Long customerId = context.getBean(CustomerRepository.class).findAll().get(0).getId();
+        Long orderId = context.getBean(OrderService.class)
+                .create(new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(product.getId(), 20_000))))
+                .id();
+
+        payment = new PaymentRequestDTO(orderId, PaymentMethod.PIX, 1);
+        for (int i = 0; i < existingPayments; i++) {
+            paymentService.create(payment);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PaymentRequestDTO create() {
+        return paymentService.create(payment);
+    }
+}
@@ -0,0 +1,51 @@
+package com.joaofroes.gestao_pedidos.benchmark;
+
+import com.joaofroes.gestao_pedidos.dto.ProductDTO;
+import com.joaofroes.gestao_pedidos.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductService#findAll} em cada ramo de filtro, com e sem o cache do catálogo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductFindAllBenchmark {
+
+    @Param({"name", "category", "active", "none"})
+    public String filter;
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.start("product-find-" + cache, "--app.catalog.cache.enabled=" + cache);
+        productService = context.getBean(ProductService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductDTO> findAll() {
+        return switch (filter) {
+            case "name" -> productService.findAll("teclado", null, null);
+            case "category" -> productService.findAll(null, "Acessorios", null);
+            case "active" -> productService.findAll(null, null, true);
+            default -> productService.findAll(null, null, null);
+        };
+    }
+}
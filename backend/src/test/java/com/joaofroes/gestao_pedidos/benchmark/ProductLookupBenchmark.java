@@ -0,0 +1,67 @@
+package com.joaofroes.gestao_pedidos.benchmark;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Produtos de um carrinho de 50 linhas resolvidos item a item ({@code findById} por linha) ou em lote
+ * ({@code findAllById}, como em {@code OrderService.create}), sem o cache do catálogo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductLookupBenchmark {
+
+    private static final int CART_SIZE = 50;
+
+    @Param({"per-item", "batched"})
+    public String strategy;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private TransactionTemplate transaction;
+    private List<Long> cart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.start("product-lookup", "--app.catalog.cache.enabled=false");
+        productRepository = context.getBean(ProductRepository.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<Product> extra = new ArrayList<>();
+        for (long i = productRepository.count(); i < CART_SIZE; i++) {
+            extra.add(new Product("Produto Benchmark " + i, "Benchmark", 1000));
+        }
+        productRepository.saveAll(extra);
+
+        cart = productRepository.findAll().stream()
+                .map(Product::getId)
+                .limit(CART_SIZE)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object lookup() {
+        return switch (strategy) {
+            case "per-item" -> transaction.execute(status -> cart.stream().map(productRepository::findById).toList());
+            default -> transaction.execute(status -> productRepository.findAllById(new LinkedHashSet<>(cart)));
+        };
+    }
+}
@@ -0,0 +1,134 @@
+package com.joaofroes.gestao_pedidos.config;
+
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import com.joaofroes.gestao_pedidos.service.OrderService;
+import com.joaofroes.gestao_pedidos.service.PaymentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Confere que as métricas da aplicação aparecem no scrape do Prometheus depois de algumas requisições:
+ * SQL por requisição, timers dos serviços e dos repositórios e contadores de pedidos e pagamentos.
+ * Os contadores de negócio só andam quando a transação que gravou o pedido ou o pagamento é confirmada.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/metrics.db",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void publishesRequestQueryCountsAndBusinessMetrics() throws Exception {
+        Long customerId = customerRepository.findAll().get(0).getId();
+        Product product = productRepository.findByActive(true).get(0);
+
+        String body = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\":" + customerId + ",\"items\":[{\"productId\":" + product.getId() + ",\"quantity\":2}]}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String orderId = body.replaceAll("^\\{\"id\":(\\d+),.*$", "$1");
+
+        mockMvc.perform(post("/payments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderId\":" + orderId + ",\"method\":\"PIX\",\"amountCents\":100}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/orders/page?size=5")).andExpect(status().isOk());
+
+        DistributionSummary pageQueries = registry.find("app.http.server.queries")
+                .tag("uri", "/orders/page")
+                .summary();
+        assertThat(pageQueries).isNotNull();
+        assertThat(pageQueries.count()).isGreaterThanOrEqualTo(1);
+        assertThat(pageQueries.totalAmount()).isPositive();
+
+        assertThat(registry.get("app.orders.created").tag("source", "api").counter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.get("app.payments.amount").tag("method", "PIX").summary().totalAmount()).isGreaterThanOrEqualTo(100);
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(scrape)
+                .contains("app_http_server_queries")
+                .contains("app_service_seconds_count")
+                .contains("spring_data_repository_invocations_seconds_count")
+                .contains("app_dto_mapping_seconds_count")
+                .contains("cache_gets_total")
+                .contains("app_retry_retries_total");
+    }
+
+    @Test
+    void businessCountersOnlyMoveAfterCommit() {
+        Long customerId = customerRepository.findAll().get(0).getId();
+        Product product = productRepository.findByActive(true).get(0);
+        OrderRequestDTO request = new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(product.getId(), 1)));
+        double ordersBefore = count("app.orders.created", "source", "api");
+        double paymentsBefore = count("app.payments.created", "method", "PIX");
+
+        // Pedido e pagamento gravados numa transação desfeita: nada é contado
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            OrderResponseDTO order = orderService.create(request);
+            paymentService.create(new PaymentRequestDTO(order.id(), PaymentMethod.PIX, 1));
+            status.setRollbackOnly();
+        });
+        assertThat(count("app.orders.created", "source", "api")).isEqualTo(ordersBefore);
+        assertThat(count("app.payments.created", "method", "PIX")).isEqualTo(paymentsBefore);
+
+        OrderResponseDTO order = orderService.create(request);
+        paymentService.create(new PaymentRequestDTO(order.id(), PaymentMethod.PIX, 1));
+        assertThat(count("app.orders.created", "source", "api")).isEqualTo(ordersBefore + 1);
+        assertThat(count("app.payments.created", "method", "PIX")).isEqualTo(paymentsBefore + 1);
+    }
+
+    private double count(String name, String tag, String value) {
+        Counter counter = registry.find(name).tag(tag, value).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,120 @@
+package com.joaofroes.gestao_pedidos.config;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.dto.BulkOrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.BulkOrderResultDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import com.joaofroes.gestao_pedidos.service.OrderBulkService;
+import com.joaofroes.gestao_pedidos.service.OrderService;
+import com.joaofroes.gestao_pedidos.service.PaidTotalCheckService;
+import com.joaofroes.gestao_pedidos.service.PaymentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Roda o perfil {@code postgres} (Flyway + ddl-auto=validate + IDs por sequence) contra o H2
+ * em modo PostgreSQL, sem precisar de um servidor.
+ * <p>
+ * Só a conexão é trocada: o dialeto continua o {@code PostgreSQLDialect} do perfil, então o SQL
+ * gerado (sequences, paginação, consultas dos repositórios) é o mesmo enviado ao PostgreSQL.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pedidos;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@ActiveProfiles("postgres")
+class PostgresProfileIntegrationTest {
+
+    private static final int ORDERS = 200;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderBulkService orderBulkService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaidTotalCheckService paidTotalCheckService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void migrationsCreateSchemaAndOrderFlowWorks() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        assertThat(dialect).isInstanceOf(PostgreSQLDialect.class);
+
+        Integer applied = jdbcTemplate.queryForObject(
+                "select count(*) from \"flyway_schema_history\" where \"success\" = true", Integer.class);
+        assertThat(applied).isPositive();
+
+        OrderRequestDTO request = sampleRequest();
+        OrderResponseDTO created = orderService.create(request);
+        assertThat(created.id()).isNotNull();
+
+        paymentService.create(new PaymentRequestDTO(created.id(), PaymentMethod.PIX, created.totalCents()));
+        assertThat(orderService.findById(created.id()).status()).isEqualTo(OrderStatus.PAID);
+        assertThat(paidTotalCheckService.check().mismatches()).isZero();
+    }
+
+    @Test
+    void sequenceBackedIdsSupportBulkInsert() {
+        OrderRequestDTO request = sampleRequest();
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(orderService.create(request).id());
+        }
+
+        List<OrderRequestDTO> batch = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            batch.add(request);
+        }
+        BulkOrderResponseDTO bulk = orderBulkService.createAll(batch);
+
+        assertThat(bulk.created()).isEqualTo(ORDERS);
+        // IDs da sequence: únicos entre a criação individual e a importação em lote
+        bulk.results().stream().map(BulkOrderResultDTO::orderId).forEach(ids::add);
+        assertThat(ids).hasSize(10 + ORDERS);
+    }
+
+    private OrderRequestDTO sampleRequest() {
+        Long customerId = customerRepository.findAll().get(0).getId();
+        Long productId = productRepository.findByActive(true).get(0).getId();
+        return new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(productId, 2)));
+    }
+}
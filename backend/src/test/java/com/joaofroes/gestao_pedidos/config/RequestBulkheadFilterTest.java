@@ -0,0 +1,82 @@
+package com.joaofroes.gestao_pedidos.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Com todas as vagas ocupadas, a próxima requisição espera no máximo o timeout configurado e recebe 503;
+ * rotas excluídas (actuator) passam direto.
+ */
+class RequestBulkheadFilterTest {
+
+    @Test
+    void rejectsWhenAllPermitsAreTakenAndReleasesAfterward() throws Exception {
+        RequestBulkheadFilter filter = new RequestBulkheadFilter(1, Duration.ofMillis(50), List.of("/actuator"));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Primeira requisição ocupa a única vaga até ser liberada
+            Future<MockHttpServletResponse> slow = executor.submit(() -> {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(request("/orders"), response, (req, res) -> {
+                    entered.countDown();
+                    await(release);
+                });
+                return response;
+            });
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(filter.inFlight()).isEqualTo(1);
+
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(request("/orders"), rejected, passThrough());
+            assertThat(rejected.getStatus()).isEqualTo(503);
+            assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+            assertThat(filter.rejected()).isEqualTo(1);
+
+            MockHttpServletResponse actuator = new MockHttpServletResponse();
+            filter.doFilter(request("/actuator/health"), actuator, passThrough());
+            assertThat(actuator.getStatus()).isEqualTo(200);
+
+            release.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+            assertThat(filter.inFlight()).isZero();
+
+            MockHttpServletResponse afterwards = new MockHttpServletResponse();
+            filter.doFilter(request("/orders"), afterwards, passThrough());
+            assertThat(afterwards.getStatus()).isEqualTo(200);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static FilterChain passThrough() {
+        return (req, res) -> { };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
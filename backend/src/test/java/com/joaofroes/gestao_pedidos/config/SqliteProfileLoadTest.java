@@ -0,0 +1,166 @@
+package com.joaofroes.gestao_pedidos.config;
+
+import com.joaofroes.gestao_pedidos.GestaoDePedidosApplication;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import com.joaofroes.gestao_pedidos.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Carga mista de leitura e escrita comparando a configuração padrão do SQLite
+ * (um pool, journal padrão) com o perfil {@code prod} (WAL + escritor único + leitores).
+ * <p>
+ * Cada configuração sobe em seu próprio contexto, com um arquivo de banco separado, e recebe a mesma
+ * carga pelo mesmo tempo. A configuração padrão perde operações com SQLITE_BUSY; o perfil {@code prod}
+ * não pode ter nenhuma falha e precisa entregar mais operações por segundo. As duas vazões aparecem
+ * na descrição das asserções.
+ * </p>
+ */
+class SqliteProfileLoadTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 8;
+    private static final long DURATION_MILLIS = 5_000;
+
+    record LoadResult(String name, long writes, long reads, long errors, long busyErrors, double seconds) {
+        double writesPerSecond() {
+            return writes / seconds;
+        }
+
+        double operationsPerSecond() {
+            return (writes + reads) / seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: writes/s=%.1f reads/s=%.1f errors=%d (SQLITE_BUSY=%d)",
+                    name, writesPerSecond(), reads / seconds, errors, busyErrors);
+        }
+    }
+
+    @Test
+    void walProfileSustainsMixedLoadWithoutBusyErrors() throws Exception {
+        Files.createDirectories(Path.of("target"));
+
+        LoadResult baseline;
+        try (ConfigurableApplicationContext context = start("default",
+                "--spring.datasource.url=jdbc:sqlite:target/load-baseline.db",
+                "--app.ledger.dir=target/load-baseline-ledger")) {
+            baseline = runLoad("default", context);
+        }
+
+        try (ConfigurableApplicationContext context = start("prod",
+                "--app.sqlite.file=target/load-prod.db",
+                "--app.ledger.dir=target/load-prod-ledger")) {
+            LoadResult prod = runLoad("prod", context);
+            String report = baseline + " | " + prod;
+
+            assertThat(baseline.busyErrors()).as(report).isPositive();
+            assertThat(prod.errors()).as(report).isZero();
+            assertThat(prod.reads()).as(report).isPositive();
+            assertThat(prod.writesPerSecond()).as(report).isGreaterThan(baseline.writesPerSecond());
+            assertThat(prod.operationsPerSecond()).as(report).isGreaterThan(baseline.operationsPerSecond());
+
+            // Os leitores abrem o arquivo somente-leitura: uma escrita por eles falha no próprio SQLite
+            try (Connection reader = context.getBean("readerDataSource", DataSource.class).getConnection();
+                 Statement statement = reader.createStatement()) {
+                assertThatThrownBy(() -> statement.executeUpdate("DELETE FROM orders"))
+                        .isInstanceOf(SQLException.class);
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(String profile, String... args) {
+        return new SpringApplicationBuilder(GestaoDePedidosApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .run(concat(args, "--spring.jpa.show-sql=false", "--app.orders.paid-check.cron=-", "--app.idempotency.purge-cron=-"));
+    }
+
+    private LoadResult runLoad(String name, ConfigurableApplicationContext context) throws Exception {
+        OrderService orderService = context.getBean(OrderService.class);
+        Long customerId = context.getBean(CustomerRepository.class).findAll().get(0).getId();
+        Long productId = context.getBean(ProductRepository.class).findByActive(true).get(0).getId();
+        OrderRequestDTO request = new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(productId, 1)));
+
+        LongAdder writes = new LongAdder();
+        LongAdder reads = new LongAdder();
+        LongAdder errors = new LongAdder();
+        LongAdder busyErrors = new LongAdder();
+
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+        long start = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + READERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                futures.add(pool.submit(() -> loop(deadline, writes, errors, busyErrors, () -> orderService.create(request))));
+            }
+            for (int i = 0; i < READERS; i++) {
+                futures.add(pool.submit(() -> loop(deadline, reads, errors, busyErrors, () -> orderService.findPage(null, 20))));
+            }
+            for (Future<?> future : futures) {
+                future.get(DURATION_MILLIS * 4, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new LoadResult(name, writes.sum(), reads.sum(), errors.sum(), busyErrors.sum(), seconds);
+    }
+
+    private static void loop(long deadline, LongAdder ok, LongAdder errors, LongAdder busyErrors, Runnable operation) {
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                operation.run();
+                ok.increment();
+            } catch (RuntimeException e) {
+                errors.increment();
+                if (isBusy(e)) {
+                    busyErrors.increment();
+                }
+            }
+        }
+    }
+
+    // O Spring traduz o erro do driver; o código SQLITE_BUSY (ou SQLITE_BUSY_SNAPSHOT) fica na mensagem de alguma causa
+    private static boolean isBusy(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("SQLITE_BUSY")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String[] concat(String[] first, String... second) {
+        String[] all = new String[first.length + second.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        return all;
+    }
+}
@@ -0,0 +1,118 @@
+package com.joaofroes.gestao_pedidos.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.OrderTicketDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import com.joaofroes.gestao_pedidos.service.OrderQueueService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pedidos assíncronos: o envio responde 202 com comprovante antes da gravação, e o comprovante
+ * termina como CREATED (com o ID do pedido) ou REJECTED (com o motivo).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/async-orders.db",
+        "spring.jpa.show-sql=false",
+        "app.orders.async.batch-size=7"
+})
+@AutoConfigureMockMvc
+class AsyncOrderQueueTest {
+
+    private static final int ORDERS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderQueueService queueService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void acceptedOrdersAreCreatedInBackground() throws Exception {
+        Long customerId = customerRepository.findAll().get(0).getId();
+        Product product = productRepository.findByActive(true).get(0);
+        String body = "{\"customerId\":" + customerId + ",\"items\":[{\"productId\":" + product.getId() + ",\"quantity\":1}]}";
+
+        List<String> locations = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            MvcResult result = mockMvc.perform(post("/orders/async").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isAccepted())
+                    .andReturn();
+            OrderTicketDTO ticket = read(result);
+            assertThat(ticket.status()).isIn(OrderTicketDTO.Status.QUEUED, OrderTicketDTO.Status.PROCESSING,
+                    OrderTicketDTO.Status.CREATED);
+            locations.add(result.getResponse().getHeader(HttpHeaders.LOCATION));
+        }
+
+        for (String location : locations) {
+            OrderTicketDTO ticket = awaitDone(location);
+            assertThat(ticket.status()).isEqualTo(OrderTicketDTO.Status.CREATED);
+            mockMvc.perform(get("/orders/" + ticket.orderId())).andExpect(status().isOk());
+        }
+        assertThat(queueService.stats().created()).isGreaterThanOrEqualTo(ORDERS);
+    }
+
+    @Test
+    void businessErrorsShowUpOnTheTicket() throws Exception {
+        Product product = productRepository.findByActive(true).get(0);
+        String unknownCustomer = "{\"customerId\":999999999,\"items\":[{\"productId\":" + product.getId() + ",\"quantity\":1}]}";
+
+        String location = mockMvc.perform(post("/orders/async").contentType(MediaType.APPLICATION_JSON).content(unknownCustomer))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        OrderTicketDTO ticket = awaitDone(location);
+        assertThat(ticket.status()).isEqualTo(OrderTicketDTO.Status.REJECTED);
+        assertThat(ticket.orderId()).isNull();
+        assertThat(ticket.errors()).containsKey("customerId");
+    }
+
+    @Test
+    void malformedOrdersAreRefusedUpFront() throws Exception {
+        mockMvc.perform(post("/orders/async").contentType(MediaType.APPLICATION_JSON).content("{\"items\":[]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/orders/async/inexistente"))
+                .andExpect(status().isNotFound());
+    }
+
+    private OrderTicketDTO awaitDone(String location) throws Exception {
+        long deadline = System.currentTimeMillis() + 30_000;
+        OrderTicketDTO ticket;
+        do {
+            ticket = read(mockMvc.perform(get(location)).andExpect(status().isOk()).andReturn());
+            if (!ticket.isDone()) {
+                Thread.sleep(20);
+            }
+        } while (!ticket.isDone() && System.currentTimeMillis() < deadline);
+        return ticket;
+    }
+
+    private OrderTicketDTO read(MvcResult result) throws Exception {
+        return objectMapper.readValue(result.getResponse().getContentAsString(), OrderTicketDTO.class);
+    }
+}
@@ -0,0 +1,154 @@
+package com.joaofroes.gestao_pedidos.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.BulkOrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.BulkOrderResultDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.OrderRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import com.joaofroes.gestao_pedidos.service.OrderBulkService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Importação em lote: cada posição do array recebe o ID criado ou os próprios erros, uma falha do banco
+ * desfaz apenas o bloco em que aconteceu e os IDs são atribuídos antes do INSERT, na ordem do envio.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/bulk-orders.db",
+        "spring.jpa.show-sql=false",
+        "app.orders.bulk.chunk-size=3"
+})
+@AutoConfigureMockMvc
+class BulkOrderImportTest {
+
+    // Quantidade que o gatilho de teste recusa no INSERT do item
+    private static final int FAILING_QUANTITY = 777;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderBulkService bulkService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long customerId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = customerRepository.findAll().get(0).getId();
+        // Produto novo, sem controle de estoque: só a validação e o banco decidem
+        productId = productRepository.save(new Product("Produto Lote " + System.nanoTime(), "Lote", 1000)).getId();
+    }
+
+    @Test
+    void bulkEndpointReportsEachRowIndividually() throws Exception {
+        List<OrderRequestDTO> requests = List.of(
+                order(1),
+                new OrderRequestDTO(null, List.of(new OrderItemRequestDTO(productId, 1))),
+                new OrderRequestDTO(Long.MAX_VALUE, List.of(new OrderItemRequestDTO(productId, 1))),
+                new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(Long.MAX_VALUE, 1))),
+                new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(productId, 0))),
+                order(2));
+
+        MvcResult result = mockMvc.perform(post("/orders/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andReturn();
+        BulkOrderResponseDTO response = objectMapper.readValue(result.getResponse().getContentAsString(), BulkOrderResponseDTO.class);
+
+        assertThat(response.received()).isEqualTo(6);
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.rejected()).isEqualTo(4);
+        assertThat(response.results()).extracting(BulkOrderResultDTO::index).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(response.results().get(0).isCreated()).isTrue();
+        assertThat(response.results().get(1).errors()).containsKey("customerId");
+        assertThat(response.results().get(2).errors()).containsKey("customerId");
+        assertThat(response.results().get(3).errors()).containsKey("items");
+        assertThat(response.results().get(4).errors()).containsKey("items[0].quantity");
+        assertThat(response.results().get(5).isCreated()).isTrue();
+
+        // Rejeições de validação não afetam os pedidos válidos do mesmo bloco
+        assertThat(orderRepository.existsById(response.results().get(0).orderId())).isTrue();
+        assertThat(orderRepository.existsById(response.results().get(5).orderId())).isTrue();
+    }
+
+    @Test
+    void databaseFailureRollsBackOnlyItsChunk() {
+        List<OrderRequestDTO> requests = List.of(
+                order(1), order(FAILING_QUANTITY), order(1),
+                order(1), order(1));
+
+        jdbcTemplate.execute("CREATE TRIGGER fail_bulk_item BEFORE INSERT ON order_items WHEN NEW.quantity = "
+                + FAILING_QUANTITY + " BEGIN SELECT RAISE(ABORT, 'falha simulada'); END");
+        List<BulkOrderResultDTO> results;
+        long before = orderRepository.count();
+        try {
+            results = bulkService.createAll(requests).results();
+        } finally {
+            jdbcTemplate.execute("DROP TRIGGER fail_bulk_item");
+        }
+
+        // Primeiro bloco (posições 0 a 2): o INSERT da posição 1 falhou e nenhum pedido do bloco ficou gravado
+        for (BulkOrderResultDTO row : results.subList(0, 3)) {
+            assertThat(row.isCreated()).isFalse();
+            assertThat(row.errors()).containsKey("error");
+        }
+        // Segundo bloco: gravado normalmente
+        assertThat(results.subList(3, 5)).allMatch(BulkOrderResultDTO::isCreated);
+        assertThat(orderRepository.count()).isEqualTo(before + 2);
+    }
+
+    @Test
+    void idsAreAssignedInRequestOrderAcrossChunks() {
+        List<OrderRequestDTO> requests = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            requests.add(order(i));
+        }
+
+        List<Long> ids = bulkService.createAll(requests).results().stream().map(BulkOrderResultDTO::orderId).toList();
+
+        assertThat(ids).doesNotContainNull().isSorted().doesNotHaveDuplicates();
+        // Um único escritor: os IDs vêm do contador em memória, sem lacunas dentro da importação
+        assertThat(ids.get(ids.size() - 1) - ids.get(0)).isEqualTo(ids.size() - 1);
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(orderRepository.findById(ids.get(i)).orElseThrow().getTotalCents()).isEqualTo(1000 * (i + 1));
+        }
+    }
+
+    private OrderRequestDTO order(int quantity) {
+        return new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(productId, quantity)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.joaofroes.gestao_pedidos.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências (em microssegundos) e erros de um endpoint.
+ * <p>
+ * O {@link Recorder} aceita gravações concorrentes sem lock; o histograma acumulado
+ * só é montado no fim da medição.
+ * </p>
+ */
+final class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+    void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+    }
+
+    /** Falha de transporte (conexão recusada, timeout): não entra no histograma. */
+    void recordFailure() {
+        errors.increment();
+        statusCounts.computeIfAbsent(0, s -> new LongAdder()).increment();
+    }
+
+    /** Descarta o que foi gravado até aqui (fim do aquecimento). */
+    void reset() {
+        recorder.reset();
+        errors.reset();
+        statusCounts.clear();
+    }
+
+    Histogram histogram() {
+        return recorder.getIntervalHistogram();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<Integer, Long> statusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,333 @@
+package com.joaofroes.gestao_pedidos.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga HTTP para a API rodando localmente no perfil {@code loadtest}.
+ * <p>
+ * Cada thread repete operações sorteadas conforme o {@link Scenario}. Sem {@code loadtest.rate}
+ * o modelo é fechado (cada thread dispara a próxima requisição assim que a anterior volta).
+ * Com {@code loadtest.rate} (requisições/s no total) as requisições têm horário agendado e a
+ * latência conta a partir desse horário, para que a fila formada quando o servidor atrasa
+ * apareça nos percentis (correção de <i>coordinated omission</i>).
+ * </p>
+ * <p>
+ * Ao final, imprime p50/p99/p99.9 e vazão por endpoint e grava
+ * {@code loadtest-<cenário>.json} e um {@code .hgrm} por endpoint em {@code loadtest.report-dir}.
+ * </p>
+ */
+public final class LoadTestRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Pedidos criados só para receber pagamentos: total alto para não serem quitados durante o teste. */
+    private static final int PAYMENT_TARGET_QUANTITY = 1000;
+    private static final int PAYMENT_AMOUNT_CENTS = 100;
+
+    private final String baseUrl;
+    private final Scenario scenario;
+    private final int threads;
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Path reportDir;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+    private List<Long> customerIds;
+    private List<Long> productIds;
+    private List<Long> orderIds;
+    private List<Long> paymentTargets;
+    private volatile boolean measuring;
+
+    LoadTestRunner(String baseUrl, Scenario scenario, int threads, double rate,
+                   Duration warmup, Duration duration, Path reportDir) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.scenario = scenario;
+        this.threads = threads;
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.reportDir = reportDir;
+        for (Operation operation : scenario.operations()) {
+            stats.put(operation, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestRunner runner = new LoadTestRunner(
+                System.getProperty("loadtest.base-url", "http://localhost:8080"),
+                Scenario.from(System.getProperty("loadtest.scenario", "browse")),
+                Integer.getInteger("loadtest.threads", 16),
+                Double.parseDouble(System.getProperty("loadtest.rate", "0")),
+                parseDuration(System.getProperty("loadtest.warmup", "15s")),
+                parseDuration(System.getProperty("loadtest.duration", "60s")),
+                Path.of(System.getProperty("loadtest.report-dir", "target")));
+        runner.run();
+    }
+
+    void run() throws Exception {
+        loadFixture();
+        createPaymentTargets();
+
+        System.out.printf(Locale.ROOT, "Cenário %s: %d threads, %s, aquecimento %ds, medição %ds%n",
+                scenario, threads, rate > 0 ? rate + " req/s" : "modelo fechado",
+                warmup.toSeconds(), duration.toSeconds());
+
+        long startNanos = System.nanoTime();
+        long measureStart = startNanos + warmup.toNanos();
+        long end = measureStart + duration.toNanos();
+
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    work(offset, startNanos, end);
+                } finally {
+                    done.countDown();
+                }
+            }, "loadtest-" + t);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        LockSupport.parkNanos(Math.max(0, measureStart - System.nanoTime()));
+        stats.values().forEach(EndpointStats::reset);
+        measuring = true;
+
+        done.await();
+        report(Duration.ofNanos(System.nanoTime() - measureStart));
+    }
+
+    private void work(int offset, long startNanos, long end) {
+        long intervalNanos = rate > 0 ? (long) (threads * 1_000_000_000L / rate) : 0;
+        long intended = startNanos + (intervalNanos * offset) / threads;
+
+        while (true) {
+            long now = System.nanoTime();
+            if (now >= end) {
+                return;
+            }
+            long requestStart = now;
+            if (intervalNanos > 0) {
+                if (intended > now) {
+                    LockSupport.parkNanos(intended - now);
+                }
+                requestStart = intended;
+                intended += intervalNanos;
+            }
+            execute(scenario.next(), requestStart);
+        }
+    }
+
+    private void execute(Operation operation, long requestStart) {
+        EndpointStats endpoint = stats.get(operation);
+        try {
+            int status = client.send(request(operation), HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (measuring) {
+                endpoint.record(System.nanoTime() - requestStart, status);
+            }
+        } catch (IOException e) {
+            if (measuring) {
+                endpoint.recordFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case LIST_PRODUCTS -> get(switch (random.nextInt(4)) {
+                case 0 -> "/products?name=carga%20" + random.nextInt(100);
+                case 1 -> "/products?category=Acessorios";
+                case 2 -> "/products?active=true";
+                default -> "/products";
+            });
+            case PAGE_ORDERS -> get("/orders/page?size=20");
+            case GET_ORDER -> get("/orders/" + pick(orderIds, random));
+            case CREATE_ORDER -> post("/orders", orderBody(random));
+            case CREATE_PAYMENT -> post("/payments", Map.of(
+                    "orderId", pick(paymentTargets, random),
+                    "method", "PIX",
+                    "amountCents", PAYMENT_AMOUNT_CENTS));
+        };
+    }
+
+    private Map<String, Object> orderBody(ThreadLocalRandom random) {
+        int count = 1 + random.nextInt(5);
+        Map<Long, Map<String, Object>> items = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            Long productId = pick(productIds, random);
+            items.putIfAbsent(productId, Map.of("productId", productId, "quantity", 1 + random.nextInt(3)));
+        }
+        return Map.of("customerId", pick(customerIds, random), "items", new ArrayList<>(items.values()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void loadFixture() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(get("/loadtest/fixture"), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /loadtest/fixture retornou " + response.statusCode()
+                    + ": a aplicação precisa estar rodando com o perfil loadtest");
+        }
+        JsonNode fixture = MAPPER.readTree(response.body());
+        customerIds = ids(fixture.get("customerIds"));
+        productIds = ids(fixture.get("productIds"));
+        orderIds = ids(fixture.get("orderIds"));
+        if (customerIds.isEmpty() || productIds.isEmpty() || orderIds.isEmpty()) {
+            throw new IllegalStateException("A carga de dados do perfil loadtest está vazia");
+        }
+    }
+
+    /**
+     * Um pedido por thread recebe os pagamentos, para que a disputa entre threads no mesmo
+     * pedido seja parecida entre execuções.
+     */
+    private void createPaymentTargets() throws IOException, InterruptedException {
+        paymentTargets = new ArrayList<>();
+        if (!stats.containsKey(Operation.CREATE_PAYMENT)) {
+            return;
+        }
+        for (int i = 0; i < threads; i++) {
+            Map<String, Object> body = Map.of(
+                    "customerId", customerIds.get(i % customerIds.size()),
+                    "items", List.of(Map.of("productId", productIds.get(i % productIds.size()),
+                            "quantity", PAYMENT_TARGET_QUANTITY)));
+            HttpResponse<String> response = client.send(post("/orders", body), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201 && response.statusCode() != 200) {
+                throw new IllegalStateException("Falha ao criar pedido para pagamentos: " + response.body());
+            }
+            paymentTargets.add(MAPPER.readTree(response.body()).get("id").asLong());
+        }
+    }
+
+    private void report(Duration measured) throws IOException {
+        Files.createDirectories(reportDir);
+        double seconds = measured.toNanos() / 1e9;
+        String name = "loadtest-" + scenario.name().toLowerCase(Locale.ROOT).replace('_', '-');
+
+        PrintStream out = System.out;
+        out.printf(Locale.ROOT, "%n%-20s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            Operation operation = entry.getKey();
+            Histogram histogram = entry.getValue().histogram();
+            long count = histogram.getTotalCount();
+            double throughput = count / seconds;
+
+            out.printf(Locale.ROOT, "%-20s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    operation.label(), count, entry.getValue().errors(), throughput,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("errors", entry.getValue().errors());
+            summary.put("statusCounts", entry.getValue().statusCounts());
+            summary.put("throughputPerSecond", throughput);
+            summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            summary.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+            summary.put("maxMs", millis(histogram.getMaxValue()));
+            endpoints.put(operation.label(), summary);
+
+            Path hgrm = reportDir.resolve(name + "-" + operation.name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream file = new PrintStream(Files.newOutputStream(hgrm))) {
+                histogram.outputPercentileDistribution(file, 1000.0);
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scenario", scenario.name());
+        result.put("threads", threads);
+        result.put("targetRatePerSecond", rate);
+        result.put("measuredSeconds", seconds);
+        result.put("endpoints", endpoints);
+        Path json = reportDir.resolve(name + ".json");
+        MAPPER.enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), result);
+        out.println("\nRelatório: " + json.toAbsolutePath());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static Long pick(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static List<Long> ids(JsonNode array) {
+        List<Long> ids = new ArrayList<>();
+        if (array != null) {
+            array.forEach(node -> ids.add(node.asLong()));
+        }
+        return ids;
+    }
+
+    /**
+     * Aceita {@code 90s}, {@code 5m} ou o formato ISO-8601 ({@code PT90S}).
+     */
+    static Duration parseDuration(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.parse(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,23 @@
+package com.joaofroes.gestao_pedidos.loadtest;
+
+/**
+ * Requisições que o gerador de carga sabe montar. O rótulo agrupa as latências por endpoint.
+ */
+enum Operation {
+
+    LIST_PRODUCTS("GET /products"),
+    PAGE_ORDERS("GET /orders/page"),
+    GET_ORDER("GET /orders/{id}"),
+    CREATE_ORDER("POST /orders"),
+    CREATE_PAYMENT("POST /payments");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+}
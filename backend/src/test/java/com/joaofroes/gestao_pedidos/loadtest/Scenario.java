@@ -0,0 +1,66 @@
+package com.joaofroes.gestao_pedidos.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Misturas de tráfego do teste de carga. Os pesos são relativos (não precisam somar 100).
+ */
+enum Scenario {
+
+    /** Vitrine: muita listagem de produtos e consulta de pedidos, poucas compras. */
+    BROWSE(Map.of(
+            Operation.LIST_PRODUCTS, 60,
+            Operation.PAGE_ORDERS, 15,
+            Operation.GET_ORDER, 20,
+            Operation.CREATE_ORDER, 5)),
+
+    /** Fechamento de compra: criação de pedidos seguida de pagamento. */
+    CHECKOUT(Map.of(
+            Operation.LIST_PRODUCTS, 25,
+            Operation.GET_ORDER, 10,
+            Operation.CREATE_ORDER, 40,
+            Operation.CREATE_PAYMENT, 25)),
+
+    /** Rajada de pagamentos concentrada em poucos pedidos (disputa pelo lock otimista). */
+    PAYMENT_BURST(Map.of(
+            Operation.CREATE_PAYMENT, 85,
+            Operation.GET_ORDER, 15));
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Scenario(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        operations = ordered.keySet().toArray(Operation[]::new);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Operation next() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    Operation[] operations() {
+        return operations.clone();
+    }
+
+    /**
+     * Aceita o nome do enum ou a forma da linha de comando ({@code payment-burst}).
+     */
+    static Scenario from(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
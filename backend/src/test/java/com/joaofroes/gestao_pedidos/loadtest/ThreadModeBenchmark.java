@@ -0,0 +1,290 @@
+package com.joaofroes.gestao_pedidos.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compara o modo de execução com threads de plataforma e com virtual threads.
+ * <p>
+ * Para cada modo, sobe a aplicação em uma JVM separada (perfil {@code loadtest}, e {@code virtual} no segundo
+ * modo) com Native Memory Tracking ligado. Em seguida dispara {@code threadbench.concurrency} requisições
+ * simultâneas a <code>GET /loadtest/hold</code>, que seguram a thread por {@code threadbench.hold}
+ * simulando uma espera de JDBC. Com todas as requisições paradas no servidor, mede:
+ * </p>
+ * <ul>
+ * <li><b>pico de requisições em andamento:</b> com threads de plataforma, limitado a
+ * {@code server.tomcat.threads.max}; o excedente espera na fila de conexões;</li>
+ * <li><b>memória por requisição:</b> (heap após GC + memória nativa de threads) no pico, menos o mesmo
+ * valor com a aplicação ociosa, dividido pelo pico. Pilhas de virtual threads ficam no heap;
+ * pilhas de threads de plataforma aparecem na categoria Thread do NMT.</li>
+ * </ul>
+ * <p>
+ * O modo virtual exige uma JVM 21+ para o servidor ({@code threadbench.java}); em Java 17 ele roda
+ * com threads de plataforma e o relatório indica {@code virtualThreads=false}.
+ * Resultado em {@code threadbench.json} no diretório {@code threadbench.report-dir}.
+ * </p>
+ */
+public final class ThreadModeBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String MAIN_CLASS = "com.joaofroes.gestao_pedidos.GestaoDePedidosApplication";
+    // Uma linha por geração no Serial/Parallel ("def new generation total 28864K, used 2566K"), uma só no G1
+    private static final Pattern HEAP_USED = Pattern.compile("total \\d+K, used (\\d+)K");
+    private static final Pattern NMT_THREAD = Pattern.compile("Thread \\(reserved=\\d+KB, committed=(\\d+)KB\\)");
+    private static final Pattern NMT_THREAD_COUNT = Pattern.compile("\\(thread #(\\d+)\\)");
+
+    private final Path javaExecutable;
+    private final int concurrency;
+    private final Duration hold;
+    private final int port;
+    private final List<String> modes;
+    private final Path reportDir;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    ThreadModeBenchmark(Path javaExecutable, int concurrency, Duration hold, int port, List<String> modes, Path reportDir) {
+        this.javaExecutable = javaExecutable;
+        this.concurrency = concurrency;
+        this.hold = hold;
+        this.port = port;
+        this.modes = modes;
+        this.reportDir = reportDir;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String defaultJava = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        ThreadModeBenchmark benchmark = new ThreadModeBenchmark(
+                Path.of(System.getProperty("threadbench.java", defaultJava)),
+                Integer.parseInt(System.getProperty("threadbench.concurrency", "1000")),
+                LoadTestRunner.parseDuration(System.getProperty("threadbench.hold", "5s")),
+                Integer.parseInt(System.getProperty("threadbench.port", "18080")),
+                List.of(System.getProperty("threadbench.modes", "platform,virtual").split(",")),
+                Path.of(System.getProperty("threadbench.report-dir", "target")));
+        benchmark.run();
+    }
+
+    void run() throws Exception {
+        Files.createDirectories(reportDir);
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (String mode : modes) {
+            results.put(mode.trim(), measure(mode.trim()));
+        }
+        report(results);
+    }
+
+    private Map<String, Object> measure(String mode) throws Exception {
+        Path database = reportDir.resolve("threadbench-" + mode + ".db");
+        Files.deleteIfExists(database);
+        Path log = reportDir.resolve("threadbench-" + mode + ".log");
+
+        List<String> command = new ArrayList<>(List.of(
+                javaExecutable.toString(),
+                "-XX:NativeMemoryTracking=summary",
+                "-cp", System.getProperty("java.class.path"),
+                MAIN_CLASS,
+                "--server.port=" + port,
+                "--spring.profiles.active=" + ("virtual".equals(mode) ? "loadtest,virtual" : "loadtest"),
+                "--spring.datasource.url=jdbc:sqlite:" + database,
+                "--app.loadtest.seed.customers=0",
+                "--app.loadtest.seed.products=0",
+                "--app.loadtest.seed.orders=0",
+                "--logging.level.root=WARN"));
+        System.out.printf("%n[%s] iniciando servidor (log em %s)%n", mode, log);
+        Process server = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+
+        try {
+            awaitUp(server);
+
+            // Aquece o caminho da requisição (classes, JIT, pool de conexões do Tomcat)
+            fire(Math.min(200, concurrency), Duration.ofMillis(100)).join();
+            Sample idle = sample(server.pid());
+            get("/loadtest/hold/stats?reset=true");
+
+            System.out.printf("[%s] %d requisições simultâneas segurando %d ms%n", mode, concurrency, hold.toMillis());
+            long start = System.nanoTime();
+            CompletableFuture<int[]> wave = fire(concurrency, hold);
+            // Na metade da espera o platô já se formou: todas as vagas do servidor estão ocupadas
+            Thread.sleep(hold.toMillis() / 2);
+            Sample busy = sample(server.pid());
+            int[] outcome = wave.join();
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            JsonNode stats = MAPPER.readTree(get("/loadtest/hold/stats"));
+            int peak = stats.path("peakInFlight").asInt();
+            long heapDeltaKb = busy.heapUsedKb() - idle.heapUsedKb();
+            long threadDeltaKb = busy.threadCommittedKb() - idle.threadCommittedKb();
+            double kbPerRequest = (peak == 0) ? 0 : (double) (heapDeltaKb + threadDeltaKb) / peak;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("virtualThreads", stats.path("virtualThread").asBoolean());
+            result.put("concurrency", concurrency);
+            result.put("holdMs", hold.toMillis());
+            result.put("peakInFlight", peak);
+            result.put("ok", outcome[0]);
+            result.put("errors", outcome[1]);
+            result.put("elapsedMs", elapsedMs);
+            result.put("platformThreadsIdle", idle.threads());
+            result.put("platformThreadsBusy", busy.threads());
+            result.put("heapDeltaKb", heapDeltaKb);
+            result.put("threadNativeDeltaKb", threadDeltaKb);
+            result.put("kbPerInFlightRequest", kbPerRequest);
+            return result;
+        } finally {
+            server.destroy();
+            if (!server.waitFor(30, TimeUnit.SECONDS)) {
+                server.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Dispara {@code count} requisições de uma vez. Resultado: [sucessos, erros].
+     */
+    private CompletableFuture<int[]> fire(int count, Duration holdFor) {
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        // Com threads de plataforma as requisições são atendidas em ondas de threads.max
+        Duration timeout = holdFor.multipliedBy(count / 50 + 2).plusSeconds(30);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + "/loadtest/hold?millis=" + holdFor.toMillis()))
+                .timeout(timeout)
+                .GET()
+                .build();
+
+        List<CompletableFuture<Void>> calls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            calls.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        if (failure == null && response.statusCode() == 200) {
+                            ok.incrementAndGet();
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                        return null;
+                    }));
+        }
+        return CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> new int[]{ok.get(), errors.get()});
+    }
+
+    private void awaitUp(Process server) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("O servidor terminou durante a inicialização (código " + server.exitValue() + ")");
+            }
+            try {
+                if (get("/actuator/health").contains("UP")) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Ainda subindo
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("O servidor não respondeu em 2 minutos");
+    }
+
+    /**
+     * Heap usado após um GC completo e memória nativa das threads, lidos com jcmd.
+     * O GC antes da leitura deixa no heap só o que está vivo, inclusive as pilhas das virtual threads.
+     */
+    private Sample sample(long pid) throws Exception {
+        jcmd(pid, "GC.run");
+        String heap = jcmd(pid, "GC.heap_info");
+        String nmt = jcmd(pid, "VM.native_memory", "summary");
+        return new Sample(sum(HEAP_USED, heap), extract(NMT_THREAD, nmt), extract(NMT_THREAD_COUNT, nmt));
+    }
+
+    private String jcmd(long pid, String... command) throws Exception {
+        List<String> args = new ArrayList<>();
+        args.add(javaExecutable.resolveSibling("jcmd").toString());
+        args.add(String.valueOf(pid));
+        args.addAll(List.of(command));
+        Process process = new ProcessBuilder(args).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("jcmd " + String.join(" ", command) + " falhou:\n" + output);
+        }
+        return output;
+    }
+
+    private static long extract(Pattern pattern, String output) {
+        Matcher matcher = pattern.matcher(output);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Padrão " + pattern + " não encontrado na saída do jcmd:\n" + output);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static long sum(Pattern pattern, String output) {
+        Matcher matcher = pattern.matcher(output);
+        long total = 0;
+        boolean found = false;
+        while (matcher.find()) {
+            total += Long.parseLong(matcher.group(1));
+            found = true;
+        }
+        if (!found) {
+            throw new IllegalStateException("Padrão " + pattern + " não encontrado na saída do jcmd:\n" + output);
+        }
+        return total;
+    }
+
+    private String get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + path))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    private void report(Map<String, Object> results) throws IOException {
+        PrintStream out = System.out;
+        out.printf(Locale.ROOT, "%n%-10s %8s %12s %8s %8s %12s %14s %14s %12s%n",
+                "modo", "virtual", "pico", "ok", "erros", "tempo ms", "heap Δ KB", "threads Δ KB", "KB/req");
+        for (Map.Entry<String, Object> entry : results.entrySet()) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> r = (Map<String, Object>) entry.getValue();
+            out.printf(Locale.ROOT, "%-10s %8s %12d %8d %8d %12d %14d %14d %12.1f%n",
+                    entry.getKey(), r.get("virtualThreads"), (Integer) r.get("peakInFlight"), (Integer) r.get("ok"),
+                    (Integer) r.get("errors"), (Long) r.get("elapsedMs"), (Long) r.get("heapDeltaKb"),
+                    (Long) r.get("threadNativeDeltaKb"), (Double) r.get("kbPerInFlightRequest"));
+        }
+
+        Path json = reportDir.resolve("threadbench.json");
+        MAPPER.enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), results);
+        out.println("\nRelatório: " + json.toAbsolutePath());
+    }
+
+    private record Sample(long heapUsedKb, long threadCommittedKb, long threads) {
+    }
+}
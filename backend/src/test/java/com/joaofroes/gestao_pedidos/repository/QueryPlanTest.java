@@ -0,0 +1,157 @@
+package com.joaofroes.gestao_pedidos.repository;
+
+import com.joaofroes.gestao_pedidos.config.QueryCountInspector;
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Roda EXPLAIN QUERY PLAN no SQL que cada finder dos repositórios gera e falha quando
+ * o SQLite lê uma tabela inteira sem índice ou ordena o resultado em memória.
+ * <p>
+ * O SQL é capturado pelo StatementInspector do Hibernate na execução real do finder,
+ * então uma mudança na consulta gerada (ou um índice removido da entidade) aparece aqui.
+ * A verificação do total pago fica de fora: ler todos os pedidos é o objetivo dela.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/query-plan.db",
+        "spring.jpa.show-sql=false"
+})
+class QueryPlanTest {
+
+    // "SCAN t" sem "USING ... INDEX": leitura completa da tabela
+    private static final Pattern FULL_SCAN = Pattern.compile("^SCAN \\S+$");
+
+    @TestConfiguration
+    static class CapturingConfig {
+        @Bean
+        @Primary
+        CapturingInspector capturingInspector() {
+            return new CapturingInspector();
+        }
+    }
+
+    static class CapturingInspector extends QueryCountInspector {
+        private final List<String> statements = new ArrayList<>();
+        private boolean capturing;
+
+        @Override
+        public synchronized String inspect(String sql) {
+            if (capturing) {
+                statements.add(sql);
+            }
+            return super.inspect(sql);
+        }
+
+        synchronized List<String> capture(Runnable finder) {
+            statements.clear();
+            capturing = true;
+            try {
+                finder.run();
+            } finally {
+                capturing = false;
+            }
+            return List.copyOf(statements);
+        }
+    }
+
+    @Autowired
+    private CapturingInspector inspector;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void orderExportReadsFromTheKeysetCursor() {
+        // Cada bloco da exportação começa no último ID lido (faixa da chave primária) e conta os itens pelo índice
+        List<String> plan = assertIndexed(() -> orderRepository.findExportRowsAfter(0L, Limit.of(20)));
+        assertThat(plan).anyMatch(line -> line.startsWith("SEARCH") && line.contains("PRIMARY KEY"));
+        assertThat(plan).anyMatch(line -> line.contains("idx_order_items_order_id"));
+    }
+
+    @Test
+    void orderSummaryFindersUseIndex() {
+        assertThat(assertIndexed(() -> orderSummaryRepository.findFirstPage(Limit.of(20))))
+                .anyMatch(line -> line.contains("idx_order_summary_created_at_id"));
+        assertThat(assertIndexed(() ->
+                orderSummaryRepository.findPageAfter(LocalDateTime.now(), Long.MAX_VALUE, Limit.of(20))))
+                .anyMatch(line -> line.startsWith("SEARCH") && line.contains("idx_order_summary_created_at_id"));
+        assertIndexed(() -> orderSummaryRepository.findAllSummaries());
+    }
+
+    @Test
+    void paymentFindersUseOrderIdIndex() {
+        Order order = orderRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+
+        assertThat(assertIndexed(() -> paymentRepository.findByOrderId(order.getId())))
+                .anyMatch(line -> line.contains("idx_payments_order_id"));
+        assertThat(assertIndexed(() -> paymentRepository.findAllByOrder(order)))
+                .anyMatch(line -> line.contains("idx_payments_order_id"));
+    }
+
+    @Test
+    void productFindersUseIndexes() {
+        assertThat(assertIndexed(() -> productRepository.findByCategoryAndActive("Acessorios", true)))
+                .anyMatch(line -> line.contains("idx_products_category_active"));
+        assertThat(assertIndexed(() -> productRepository.findByActive(true)))
+                .anyMatch(line -> line.contains("idx_products_active"));
+        // LIKE '%termo%' não usa índice B-tree; o filtro por status limita a leitura aos ativos
+        assertIndexed(() -> productRepository.findByNameContainingIgnoreCaseAndActive("mouse", true));
+    }
+
+    @Test
+    void customerFindByEmailUsesUniqueIndex() {
+        assertIndexed(() -> customerRepository.findByEmail("joao@teste.com"));
+    }
+
+    /**
+     * Executa o finder, roda EXPLAIN QUERY PLAN em cada SELECT gerado e devolve as linhas do plano.
+     */
+    private List<String> assertIndexed(Runnable finder) {
+        List<String> selects = inspector.capture(finder).stream()
+                .filter(sql -> sql.stripLeading().regionMatches(true, 0, "select", 0, 6))
+                .toList();
+        assertThat(selects).as("SQL gerado pelo finder").isNotEmpty();
+
+        List<String> plan = new ArrayList<>();
+        for (String sql : selects) {
+            List<String> lines = jdbcTemplate.query("explain query plan " + sql, (rs, i) -> rs.getString("detail"));
+            assertThat(lines)
+                    .as("Plano de: %s", sql)
+                    .noneMatch(line -> FULL_SCAN.matcher(line).matches())
+                    .noneMatch(line -> line.contains("USE TEMP B-TREE FOR ORDER BY"));
+            plan.addAll(lines);
+        }
+        return plan;
+    }
+}
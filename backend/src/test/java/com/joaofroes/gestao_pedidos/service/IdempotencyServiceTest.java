@@ -0,0 +1,137 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.IdempotencyRecordRepository;
+import com.joaofroes.gestao_pedidos.repository.OrderRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Idempotência: a repetição devolve a resposta e o status da primeira execução sem executar de novo,
+ * a mesma chave com outro corpo é recusada e, depois do TTL, a chave volta a executar a operação.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/idempotency.db",
+        "spring.jpa.show-sql=false",
+        "app.idempotency.purge-cron=-",
+        "app.idempotency.ttl=2s"
+})
+@AutoConfigureMockMvc
+class IdempotencyServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void repeatedOrderRequestIsReplayed() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = orderBody(1);
+        long before = orderRepository.count();
+
+        MvcResult first = mockMvc.perform(post("/orders").header(IdempotencyService.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "false"))
+                .andReturn();
+        MvcResult second = mockMvc.perform(post("/orders").header(IdempotencyService.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        assertThat(second.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+        assertThat(orderRepository.count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void replayKeepsOriginalStatus() {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+
+        IdempotencyService.Result<Map> first = idempotencyService.execute("TEST", key, Map.of("a", 1), Map.class, 200,
+                () -> Map.of("execution", executions.incrementAndGet()));
+        IdempotencyService.Result<Map> replay = idempotencyService.execute("TEST", key, Map.of("a", 1), Map.class, 201,
+                () -> Map.of("execution", executions.incrementAndGet()));
+
+        assertThat(first.status()).isEqualTo(200);
+        assertThat(first.replayed()).isFalse();
+        assertThat(replay.status()).isEqualTo(200);
+        assertThat(replay.replayed()).isTrue();
+        assertThat(replay.body()).isEqualTo(first.body());
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(post("/orders").header(IdempotencyService.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON).content(orderBody(1)))
+                .andExpect(status().isCreated());
+
+        long before = orderRepository.count();
+        mockMvc.perform(post("/orders").header(IdempotencyService.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON).content(orderBody(2)))
+                .andExpect(status().isBadRequest());
+        assertThat(orderRepository.count()).isEqualTo(before);
+
+        // Chave em branco também é recusada
+        assertThatThrownBy(() -> idempotencyService.execute("TEST", " ", Map.of(), Map.class, 200, Map::of))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void expiredKeyExecutesAgainAndIsPurged() throws Exception {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+
+        idempotencyService.execute("TEST", key, Map.of(), Map.class, 200, () -> Map.of("n", executions.incrementAndGet()));
+        Thread.sleep(2_100);
+
+        idempotencyService.purgeExpired();
+        assertThat(recordRepository.findById("TEST:" + key)).isEmpty();
+
+        IdempotencyService.Result<Map> again = idempotencyService.execute("TEST", key, Map.of(), Map.class, 200,
+                () -> Map.of("n", executions.incrementAndGet()));
+        assertThat(again.replayed()).isFalse();
+        assertThat(executions).hasValue(2);
+    }
+
+    private String orderBody(int quantity) {
+        Long customerId = customerRepository.findAll().get(0).getId();
+        Product product = productRepository.findByActive(true).get(0);
+        return "{\"customerId\":" + customerId + ",\"items\":[{\"productId\":" + product.getId()
+                + ",\"quantity\":" + quantity + "}]}";
+    }
+}
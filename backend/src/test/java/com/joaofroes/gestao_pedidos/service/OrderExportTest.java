@@ -0,0 +1,123 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joaofroes.gestao_pedidos.domain.entity.Customer;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.dto.OrderExportRowDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.OrderRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exportação de pedidos: NDJSON e CSV com todos os pedidos, em ordem de ID e sem repetição entre blocos,
+ * e escape do CSV para vírgulas, aspas e quebras de linha.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/order-export.db",
+        "spring.jpa.show-sql=false",
+        // Blocos pequenos para que a exportação atravesse vários deles
+        "app.orders.export.chunk-size=2"
+})
+@AutoConfigureMockMvc
+class OrderExportTest {
+
+    // Nome com vírgula, aspas e quebra de linha: exige aspas e aspas duplicadas no CSV
+    private static final String TRICKY_NAME = "Silva, \"Zé\"\nJr";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private OrderResponseDTO trickyOrder;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = customerRepository.save(new Customer(TRICKY_NAME, "export-" + System.nanoTime() + "@teste.com"));
+        Long productId = productRepository.findByActive(true).get(0).getId();
+        trickyOrder = orderService.create(new OrderRequestDTO(customer.getId(),
+                List.of(new OrderItemRequestDTO(productId, 2))));
+    }
+
+    @Test
+    void ndjsonHasEveryOrderOnceInIdOrder() throws Exception {
+        String body = export("ndjson", "application/x-ndjson");
+
+        List<OrderExportRowDTO> rows = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            rows.add(objectMapper.readValue(line, OrderExportRowDTO.class));
+        }
+
+        assertThat(rows).hasSize((int) orderRepository.count());
+        assertThat(rows).extracting(OrderExportRowDTO::id).isSorted().doesNotHaveDuplicates();
+
+        OrderExportRowDTO row = rows.stream().filter(r -> r.id().equals(trickyOrder.id())).findFirst().orElseThrow();
+        assertThat(row.customerName()).isEqualTo(TRICKY_NAME);
+        assertThat(row.status()).isEqualTo(OrderStatus.NEW);
+        assertThat(row.totalCents()).isEqualTo(trickyOrder.totalCents());
+        assertThat(row.totalPaidCents()).isZero();
+        assertThat(row.itemCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void csvQuotesAndEscapesFields() throws Exception {
+        String body = export("csv", "text/csv");
+
+        assertThat(body).startsWith("id,customerName,customerEmail,status,totalCents,totalPaidCents,itemCount,createdAt\n");
+        assertThat(body).contains("\n" + trickyOrder.id() + ",\"Silva, \"\"Zé\"\"\nJr\"," + trickyOrder.customerEmail()
+                + ",NEW," + trickyOrder.totalCents() + ",0,1,");
+        // Campos sem caracteres especiais ficam sem aspas
+        assertThat(body).doesNotContain("\"" + trickyOrder.customerEmail() + "\"");
+    }
+
+    @Test
+    void unknownFormatIsRejected() throws Exception {
+        mockMvc.perform(get("/orders/export").param("format", "xml")).andExpect(status().isBadRequest());
+    }
+
+    private String export(String format, String contentType) throws Exception {
+        MvcResult started = mockMvc.perform(get("/orders/export").param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.parseMediaType(contentType)))
+                .andReturn();
+        return result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,176 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.domain.event.OrderLedgerEvent;
+import com.joaofroes.gestao_pedidos.domain.event.OrderLedgerEvent.Type;
+import com.joaofroes.gestao_pedidos.dto.LedgerReplayResultDTO;
+import com.joaofroes.gestao_pedidos.dto.LedgerStatsDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderProjectionDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Ledger de pedidos: cada mudança confirmada vira um evento, a projeção calculada dos eventos bate com a
+ * tabela de pedidos, e o replay (com ou sem snapshot, e após uma gravação interrompida) chega ao mesmo estado.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/order-ledger.db",
+        "spring.jpa.show-sql=false",
+        // O teste chama snapshot() diretamente; o agendamento não deve interferir
+        "app.ledger.sync-interval-ms=3600000"
+})
+class OrderLedgerTest {
+
+    @Autowired
+    private OrderLedgerService ledgerService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void committedChangesBecomeEventsAndProjectionMatchesTable() {
+        OrderResponseDTO paid = createOrder(2, 3);
+        paymentService.create(new PaymentRequestDTO(paid.id(), PaymentMethod.PIX, 100));
+        paymentService.create(new PaymentRequestDTO(paid.id(), PaymentMethod.CARD, paid.totalCents() - 100));
+        OrderResponseDTO cancelled = createOrder(1);
+        orderService.updateStatus(cancelled.id(), "CANCELLED");
+
+        // Transação desfeita: nenhum evento
+        assertThatThrownBy(() -> orderService.updateStatus(cancelled.id(), "INEXISTENTE"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(ledgerService.history(paid.id())).extracting(OrderLedgerEvent::type).containsExactly(
+                Type.CREATED, Type.ITEM_ADDED, Type.ITEM_ADDED,
+                Type.PAYMENT_REGISTERED, Type.PAYMENT_REGISTERED, Type.STATUS_CHANGED);
+        assertThat(ledgerService.history(cancelled.id())).extracting(OrderLedgerEvent::seq).isSorted();
+
+        OrderProjectionDTO paidState = ledgerService.find(paid.id());
+        assertThat(paidState.status()).isEqualTo(OrderStatus.PAID);
+        assertThat(paidState.totalCents()).isEqualTo(paid.totalCents().longValue());
+        assertThat(paidState.paidCents()).isEqualTo(paid.totalCents().longValue());
+        assertThat(paidState.items()).isEqualTo(2);
+        assertThat(ledgerService.find(cancelled.id()).status()).isEqualTo(OrderStatus.CANCELLED);
+
+        assertThat(ledgerService.verify().mismatches()).isZero();
+    }
+
+    @Test
+    void replayFromSnapshotMatchesFullReplay() {
+        OrderResponseDTO before = createOrder(1);
+        LedgerStatsDTO snapshot = ledgerService.snapshot();
+        OrderResponseDTO after = createOrder(2);
+        orderService.updateStatus(after.id(), "CANCELLED");
+        List<Long> ids = List.of(before.id(), after.id());
+        List<OrderProjectionDTO> live = projections(ids);
+
+        LedgerReplayResultDTO fromSnapshot = ledgerService.replay(true);
+        assertThat(fromSnapshot.snapshotSeq()).isEqualTo(snapshot.lastSnapshotSeq());
+        assertThat(fromSnapshot.events()).isEqualTo(fromSnapshot.lastSeq() - snapshot.lastSnapshotSeq());
+        assertThat(projections(ids)).isEqualTo(live);
+
+        LedgerReplayResultDTO full = ledgerService.replay(false);
+        assertThat(full.snapshotSeq()).isZero();
+        assertThat(full.events()).isEqualTo(full.lastSeq());
+        assertThat(projections(ids)).isEqualTo(live);
+        assertThat(ledgerService.verify().mismatches()).isZero();
+    }
+
+    @Test
+    void interruptedWriteIsDiscardedAndSegmentsRoll() throws IOException {
+        Path dir = tempDir.resolve("ledger");
+        try (OrderLedger ledger = new OrderLedger(dir, 512, 1)) {
+            for (long order = 1; order <= 20; order++) {
+                ledger.append(List.of(created(order), status(order, OrderStatus.PAID)));
+            }
+            assertThat(ledger.segmentCount()).isGreaterThan(1);
+            assertThatThrownBy(() -> new OrderLedger(dir, 512, 1)).isInstanceOf(IllegalStateException.class);
+        }
+
+        Path lastSegment;
+        try (Stream<Path> files = Files.list(dir)) {
+            lastSegment = files.filter(f -> f.getFileName().toString().startsWith("segment-")).sorted()
+                    .reduce((first, second) -> second).orElseThrow();
+        }
+        Files.writeString(lastSegment, "{\"seq\":41,\"type\":\"CRE", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        OrderProjection projection = new OrderProjection();
+        try (OrderLedger ledger = new OrderLedger(dir, 512, 1)) {
+            assertThat(ledger.lastSeq()).isEqualTo(40);
+            assertThat(ledger.append(List.of(created(21))).get(0).seq()).isEqualTo(41);
+
+            ledger.writeSnapshot(41, replayAll(ledger, projection));
+            ledger.append(List.of(status(21, OrderStatus.CANCELLED)));
+
+            LedgerReplayResultDTO result = ledger.replay(projection, true);
+            assertThat(result.snapshotSeq()).isEqualTo(41);
+            assertThat(result.events()).isEqualTo(1);
+            assertThat(projection.size()).isEqualTo(21);
+            assertThat(projection.get(21L).status()).isEqualTo(OrderStatus.CANCELLED);
+            assertThat(projection.get(20L).status()).isEqualTo(OrderStatus.PAID);
+        }
+    }
+
+    private static List<OrderProjectionDTO> replayAll(OrderLedger ledger, OrderProjection projection) throws IOException {
+        ledger.replay(projection, false);
+        return projection.copy();
+    }
+
+    private static OrderLedgerEvent created(long orderId) {
+        return new OrderLedgerEvent(0, Type.CREATED, orderId, 0, LocalDateTime.now(), 1L,
+                null, null, null, null, null, null, null, OrderStatus.NEW);
+    }
+
+    private static OrderLedgerEvent status(long orderId, OrderStatus status) {
+        return new OrderLedgerEvent(0, Type.STATUS_CHANGED, orderId, 1, LocalDateTime.now(), null,
+                null, null, null, null, null, null, OrderStatus.NEW, status);
+    }
+
+    private List<OrderProjectionDTO> projections(List<Long> ids) {
+        return ids.stream().map(ledgerService::find).toList();
+    }
+
+    private OrderResponseDTO createOrder(int... quantities) {
+        List<Product> products = productRepository.findByActive(true);
+        List<OrderItemRequestDTO> items = new ArrayList<>();
+        for (int i = 0; i < quantities.length; i++) {
+            items.add(new OrderItemRequestDTO(products.get(i).getId(), quantities[i]));
+        }
+        Long customerId = customerRepository.findAll().get(0).getId();
+        return orderService.create(new OrderRequestDTO(customerId, items));
+    }
+}
@@ -0,0 +1,147 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.dto.BulkOrderResultDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderCursor;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderPageResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderSummaryDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Listagem por cursor: limites de página, desempate por ID entre pedidos com o mesmo {@code createdAt},
+ * cursores inválidos e tamanho de página fora do permitido.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/order-page.db",
+        "spring.jpa.show-sql=false",
+        "app.orders.page.default-size=20",
+        "app.orders.page.max-size=100"
+})
+@AutoConfigureMockMvc
+class OrderPageTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderBulkService bulkService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void lastPageEndsExactlyAtPageSize() {
+        createOrders(4);
+        List<OrderSummaryDTO> all = orderService.findAll();
+        // Cursor posicionado de forma que restem exatamente 3 pedidos depois dele
+        String cursor = OrderCursor.of(all.get(all.size() - 4)).encode();
+        List<OrderSummaryDTO> remaining = all.subList(all.size() - 3, all.size());
+
+        OrderPageResponseDTO exact = orderService.findPage(cursor, 3);
+        assertThat(exact.content()).isEqualTo(remaining);
+        assertThat(exact.hasNext()).isFalse();
+        assertThat(exact.nextCursor()).isNull();
+
+        OrderPageResponseDTO first = orderService.findPage(cursor, 2);
+        assertThat(first.content()).isEqualTo(remaining.subList(0, 2));
+        assertThat(first.hasNext()).isTrue();
+
+        OrderPageResponseDTO last = orderService.findPage(first.nextCursor(), 2);
+        assertThat(last.content()).isEqualTo(remaining.subList(2, 3));
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void ordersWithSameCreatedAtAreSplitByIdAcrossPages() {
+        List<Long> ids = createOrders(5);
+        // Todos com o mesmo instante do mais recente: a ordem passa a depender só do ID
+        jdbcTemplate.update("UPDATE order_summary SET created_at = (SELECT created_at FROM order_summary WHERE order_id = ?)"
+                + " WHERE order_id IN (?, ?, ?, ?, ?)", ids.get(4), ids.get(0), ids.get(1), ids.get(2), ids.get(3), ids.get(4));
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderPageResponseDTO page = orderService.findPage(cursor, 2);
+            assertThat(page.content().size()).isLessThanOrEqualTo(2);
+            page.content().forEach(order -> walked.add(order.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null && walked.size() < 5);
+
+        List<Long> expected = new ArrayList<>(ids);
+        Collections.reverse(expected);
+        assertThat(walked.subList(0, 5)).isEqualTo(expected);
+    }
+
+    @Test
+    void invalidCursorIsRejected() throws Exception {
+        String withoutSeparator = encode("2024-01-01T10:00");
+        String badDate = encode("ontem|10");
+        String badId = encode("2024-01-01T10:00|dez");
+
+        for (String cursor : List.of("%%%", withoutSeparator, badDate, badId)) {
+            assertThatThrownBy(() -> orderService.findPage(cursor, 10))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Cursor inválido");
+        }
+        mockMvc.perform(get("/orders/page").param("cursor", badId)).andExpect(status().isBadRequest());
+
+        // Cursor vazio equivale à primeira página
+        assertThat(orderService.findPage("", 5).content()).isEqualTo(orderService.findPage(null, 5).content());
+    }
+
+    @Test
+    void pageSizeMustStayWithinLimits() throws Exception {
+        createOrders(1);
+
+        assertThatThrownBy(() -> orderService.findPage(null, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderService.findPage(null, 101)).isInstanceOf(IllegalArgumentException.class);
+        mockMvc.perform(get("/orders/page").param("size", "0")).andExpect(status().isBadRequest());
+
+        assertThat(orderService.findPage(null, 1).content()).hasSize(1);
+        assertThat(orderService.findPage(null, 100).size()).isEqualTo(100);
+        assertThat(orderService.findPage(null, null).size()).isEqualTo(20);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Long> createOrders(int count) {
+        Long customerId = customerRepository.findAll().get(0).getId();
+        Long productId = productRepository.findByActive(true).get(0).getId();
+        List<OrderRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(productId, 1))));
+        }
+        return bulkService.createAll(requests).results().stream().map(BulkOrderResultDTO::orderId).toList();
+    }
+}
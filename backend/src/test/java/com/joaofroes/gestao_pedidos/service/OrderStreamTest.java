@@ -0,0 +1,161 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.domain.event.OrderLifecycleEvent;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderStreamStatsDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Stream de pedidos: criações e pagamentos confirmados chegam aos assinantes, e um assinante que não
+ * acompanha o ritmo é desconectado sem atrasar os demais.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/order-stream.db",
+        "spring.jpa.show-sql=false",
+        "app.orders.stream.buffer-size=8",
+        "app.orders.stream.heartbeat-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class OrderStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderStreamService streamService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void streamEndpointOpensEventStream() throws Exception {
+        mockMvc.perform(get("/orders/stream"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM));
+    }
+
+    @Test
+    void committedChangesReachSubscribers() throws Exception {
+        RecordingEmitter subscriber = new RecordingEmitter(null);
+        streamService.register(subscriber, null);
+
+        OrderResponseDTO order = createOrder();
+        paymentService.create(new PaymentRequestDTO(order.id(), PaymentMethod.PIX, order.totalCents()));
+
+        await(() -> subscriber.statuses(order.id()).size() == 2);
+        assertThat(subscriber.statuses(order.id())).containsExactly(OrderStatus.NEW, OrderStatus.PAID);
+        subscriber.complete();
+    }
+
+    @Test
+    void slowSubscriberIsDroppedWithoutAffectingOthers() throws Exception {
+        OrderStreamStatsDTO before = streamService.stats();
+        CountDownLatch stuck = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(stuck);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        streamService.register(slow, null);
+        streamService.register(fast, null);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ids.add(createOrder().id());
+        }
+
+        await(() -> streamService.stats().dropped() == before.dropped() + 1);
+        await(() -> fast.orderIds().containsAll(ids));
+        assertThat(streamService.stats().subscribers()).isEqualTo(before.subscribers() + 1);
+
+        stuck.countDown();
+        fast.complete();
+    }
+
+    private OrderResponseDTO createOrder() {
+        Product product = productRepository.findByActive(true).get(0);
+        Long customerId = customerRepository.findAll().get(0).getId();
+        return orderService.create(new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(product.getId(), 1))));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * Emitter que guarda os eventos enviados, opcionalmente travando no envio como um cliente lento.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<OrderLifecycleEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch stuck;
+
+        RecordingEmitter(CountDownLatch stuck) {
+            super(0L);
+            this.stuck = stuck;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (stuck != null) {
+                try {
+                    stuck.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof OrderLifecycleEvent event) {
+                    events.add(event);
+                }
+            });
+        }
+
+        List<OrderStatus> statuses(Long orderId) {
+            return events.stream().filter(event -> event.orderId().equals(orderId)).map(OrderLifecycleEvent::status).toList();
+        }
+
+        List<Long> orderIds() {
+            return events.stream().map(OrderLifecycleEvent::orderId).toList();
+        }
+    }
+}
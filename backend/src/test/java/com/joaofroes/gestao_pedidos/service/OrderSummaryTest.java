@@ -0,0 +1,136 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderPageResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderSummaryDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderSummaryRebuildResultDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.OrderRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Resumos de pedidos: criação, pagamento e cancelamento atualizam a linha de {@code order_summary} na mesma
+ * transação, as listagens leem dela, e a reconstrução chega ao mesmo conteúdo.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/order-summary.db",
+        "spring.jpa.show-sql=false"
+})
+class OrderSummaryTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderBulkService bulkService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OrderSummaryService summaryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void writesKeepSummariesInSyncWithOrders() {
+        OrderResponseDTO paid = createOrder(2, 1);
+        OrderResponseDTO partial = createOrder(1);
+        OrderResponseDTO cancelled = createOrder(3);
+        paymentService.create(new PaymentRequestDTO(paid.id(), PaymentMethod.PIX, paid.totalCents()));
+        paymentService.create(new PaymentRequestDTO(partial.id(), PaymentMethod.CARD, 1));
+        orderService.updateStatus(cancelled.id(), "CANCELLED");
+
+        // Transação desfeita: o resumo continua como estava
+        assertThatThrownBy(() -> orderService.updateStatus(cancelled.id(), "INEXISTENTE"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        List<OrderSummaryDTO> all = orderService.findAll();
+        assertThat(all).hasSize((int) orderRepository.count());
+        // createdAt lido do banco pode ter menos precisão que o do pedido em memória
+        assertThat(summary(all, paid.id())).usingRecursiveComparison().ignoringFields("createdAt")
+                .isEqualTo(new OrderSummaryDTO(paid.id(), paid.customerName(), paid.customerEmail(), OrderStatus.PAID,
+                        paid.totalCents(), (long) paid.totalCents(), 2, paid.createdAt()));
+        assertThat(summary(all, partial.id()).totalPaidCents()).isEqualTo(1);
+        assertThat(summary(all, partial.id()).status()).isEqualTo(OrderStatus.NEW);
+        assertThat(summary(all, cancelled.id()).status()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(summary(all, cancelled.id()).itemCount()).isEqualTo(1);
+
+        // Mesmo conteúdo do detalhe normalizado
+        for (OrderSummaryDTO row : all) {
+            OrderResponseDTO full = orderService.findById(row.id());
+            assertThat(row.status()).isEqualTo(full.status());
+            assertThat(row.totalPaidCents()).isEqualTo(full.totalPaidCents());
+            assertThat(row.itemCount()).isEqualTo(full.items().size());
+        }
+    }
+
+    @Test
+    void pagesWalkSummariesInOrder() {
+        Long customerId = customerRepository.findAll().get(0).getId();
+        Long productId = productRepository.findByActive(true).get(0).getId();
+        List<OrderRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            requests.add(new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(productId, 1))));
+        }
+        bulkService.createAll(requests);
+
+        List<OrderSummaryDTO> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderPageResponseDTO page = orderService.findPage(cursor, 3);
+            walked.addAll(page.content());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(walked).isEqualTo(orderService.findAll());
+    }
+
+    @Test
+    void rebuildRecreatesTheSameSummaries() {
+        OrderResponseDTO order = createOrder(1);
+        orderService.updateStatus(order.id(), "CANCELLED");
+        List<OrderSummaryDTO> maintained = orderService.findAll();
+
+        OrderSummaryRebuildResultDTO result = summaryService.rebuild();
+
+        assertThat(result.rows()).isEqualTo(orderRepository.count());
+        assertThat(orderService.findAll()).isEqualTo(maintained);
+    }
+
+    private static OrderSummaryDTO summary(List<OrderSummaryDTO> rows, Long orderId) {
+        return rows.stream().filter(row -> row.id().equals(orderId)).findFirst().orElseThrow();
+    }
+
+    private OrderResponseDTO createOrder(int... quantities) {
+        List<Product> products = productRepository.findByActive(true);
+        List<OrderItemRequestDTO> items = new ArrayList<>();
+        for (int i = 0; i < quantities.length; i++) {
+            items.add(new OrderItemRequestDTO(products.get(i).getId(), quantities[i]));
+        }
+        Long customerId = customerRepository.findAll().get(0).getId();
+        return orderService.create(new OrderRequestDTO(customerId, items));
+    }
+}
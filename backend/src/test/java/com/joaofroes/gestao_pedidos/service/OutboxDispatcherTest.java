@@ -0,0 +1,185 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.OutboxEvent;
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.domain.event.OrderLifecycleEvent;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.OutboxMessageDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.OutboxEventRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Outbox dos pedidos: cada mudança confirmada gera exatamente um evento, entregue em ordem aos destinos;
+ * uma falha de entrega não perde nem pula eventos (são reentregues no ciclo seguinte).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/outbox.db",
+        "spring.jpa.show-sql=false",
+        // O teste chama dispatch() diretamente; o agendamento não deve interferir
+        "app.outbox.dispatch.poll-interval-ms=3600000",
+        "app.outbox.dispatch.batch-size=5",
+        "app.outbox.dispatch.initial-backoff=0s",
+        "app.outbox.sink.queue.capacity=1000",
+        "app.outbox.sink.file.path=target/outbox/events.jsonl"
+})
+class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private QueueOutboxSink queueSink;
+
+    @Autowired
+    private FileOutboxSink fileSink;
+
+    @Autowired
+    private FlakySink flakySink;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void drainLeftovers() {
+        dispatchAll();
+        queueSink.drainTo(new ArrayList<>());
+    }
+
+    @Test
+    void committedChangesAreDeliveredOnceAndInOrder() throws Exception {
+        OrderResponseDTO paid = createOrder();
+        paymentService.create(new PaymentRequestDTO(paid.id(), PaymentMethod.PIX, paid.totalCents()));
+        OrderResponseDTO cancelled = createOrder();
+        orderService.updateStatus(cancelled.id(), "CANCELLED");
+
+        // Transação desfeita: nenhum evento
+        assertThatThrownBy(() -> orderService.updateStatus(cancelled.id(), "INEXISTENTE"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(events(paid.id())).extracting(OutboxEvent::getEventType)
+                .containsExactly(OrderLifecycleEvent.CREATED, OrderLifecycleEvent.STATUS_CHANGED);
+        assertThat(events(cancelled.id())).hasSize(2);
+
+        assertThat(dispatchAll()).isEqualTo(4);
+        assertThat(outboxRepository.countByDispatchedAtIsNull()).isZero();
+        assertThat(dispatcher.pending()).isZero();
+
+        List<OutboxMessageDTO> delivered = new ArrayList<>();
+        queueSink.drainTo(delivered);
+        assertThat(delivered).extracting(OutboxMessageDTO::id).isSorted().doesNotHaveDuplicates();
+
+        List<OutboxMessageDTO> paidEvents = delivered.stream().filter(m -> m.aggregateId().equals(paid.id())).toList();
+        assertThat(paidEvents).extracting(OutboxMessageDTO::eventType)
+                .containsExactly(OrderLifecycleEvent.CREATED, OrderLifecycleEvent.STATUS_CHANGED);
+        assertThat(paidEvents.get(1).payload())
+                .contains("\"previousStatus\":\"NEW\"")
+                .contains("\"status\":\"PAID\"");
+
+        String file = Files.readString(fileSink.path());
+        assertThat(file).contains("\"id\":" + paidEvents.get(1).id() + ",");
+    }
+
+    @Test
+    void failedDeliveryIsRetriedWithoutLosingEvents() {
+        flakySink.failNext(1);
+        OrderResponseDTO order = createOrder();
+
+        assertThat(dispatcher.dispatch()).isZero();
+        OutboxEvent pending = events(order.id()).get(0);
+        assertThat(pending.getDispatchedAt()).isNull();
+        assertThat(pending.getAttempts()).isEqualTo(1);
+        assertThat(pending.getLastError()).startsWith("flaky:");
+        assertThat(dispatcher.pending()).isPositive();
+
+        assertThat(dispatchAll()).isPositive();
+        assertThat(events(order.id()).get(0).getDispatchedAt()).isNotNull();
+
+        // Pelo menos uma vez: o destino que aceitou na primeira tentativa pode receber o evento de novo
+        List<OutboxMessageDTO> delivered = new ArrayList<>();
+        queueSink.drainTo(delivered);
+        assertThat(delivered).filteredOn(m -> m.aggregateId().equals(order.id())).isNotEmpty();
+    }
+
+    private int dispatchAll() {
+        int total = 0;
+        int delivered;
+        while ((delivered = dispatcher.dispatch()) > 0) {
+            total += delivered;
+        }
+        return total;
+    }
+
+    private List<OutboxEvent> events(Long orderId) {
+        return outboxRepository.findByAggregateTypeAndAggregateIdOrderById(OrderLifecycleEvent.AGGREGATE_TYPE, orderId);
+    }
+
+    private OrderResponseDTO createOrder() {
+        Product product = productRepository.findByActive(true).get(0);
+        Long customerId = customerRepository.findAll().get(0).getId();
+        return orderService.create(new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(product.getId(), 1))));
+    }
+
+    @TestConfiguration
+    static class FlakySinkConfig {
+
+        @Bean
+        FlakySink flakySink() {
+            return new FlakySink();
+        }
+    }
+
+    /**
+     * Destino que recusa as próximas N entregas.
+     */
+    static class FlakySink implements OutboxSink {
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        void failNext(int times) {
+            failures.set(times);
+        }
+
+        @Override
+        public String name() {
+            return "flaky";
+        }
+
+        @Override
+        public void deliver(List<OutboxMessageDTO> batch) {
+            if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new IllegalStateException("destino indisponível");
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderSummaryDTO;
+import com.joaofroes.gestao_pedidos.dto.PaidTotalCheckResultDTO;
+import com.joaofroes.gestao_pedidos.dto.PaidTotalMismatchDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.OrderRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verificação do total pago: um {@code paid_cents} alterado por fora da aplicação é detectado e,
+ * com {@code app.orders.paid-check.repair=true}, recalculado a partir dos pagamentos, inclusive
+ * no resumo do pedido. A rotina agendada roda na própria transação.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/paid-total-check.db",
+        "spring.jpa.show-sql=false",
+        "app.orders.paid-check.cron=-",
+        "app.orders.paid-check.repair=true"
+})
+class PaidTotalCheckTest {
+
+    @Autowired
+    private PaidTotalCheckService checkService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void checkDetectsAndRepairsMismatch() {
+        checkService.check();
+        OrderResponseDTO order = createOrder();
+        paymentService.create(new PaymentRequestDTO(order.id(), PaymentMethod.PIX, 1));
+        corruptPaidCents(order.id(), 999);
+
+        PaidTotalCheckResultDTO result = checkService.check();
+
+        assertThat(result.mismatches()).isEqualTo(1);
+        assertThat(result.repaired()).isTrue();
+        assertThat(result.details()).containsExactly(new PaidTotalMismatchDTO(order.id(), 999L, 1L));
+        assertThat(orderRepository.findById(order.id()).orElseThrow().getPaidCents()).isEqualTo(1L);
+        assertThat(summary(order.id()).totalPaidCents()).isEqualTo(1L);
+
+        assertThat(checkService.check().mismatches()).isZero();
+    }
+
+    @Test
+    void scheduledCheckRepairsInItsOwnTransaction() {
+        checkService.check();
+        OrderResponseDTO order = createOrder();
+        corruptPaidCents(order.id(), 50);
+
+        checkService.scheduledCheck();
+
+        assertThat(orderRepository.findById(order.id()).orElseThrow().getPaidCents()).isZero();
+        assertThat(checkService.check().mismatches()).isZero();
+    }
+
+    // Simula uma divergência gravada por fora da aplicação (script, restauração parcial)
+    private void corruptPaidCents(Long orderId, long paidCents) {
+        jdbcTemplate.update("UPDATE orders SET paid_cents = ? WHERE id = ?", paidCents, orderId);
+    }
+
+    private OrderSummaryDTO summary(Long orderId) {
+        List<OrderSummaryDTO> all = orderService.findAll();
+        return all.stream().filter(row -> row.id().equals(orderId)).findFirst().orElseThrow();
+    }
+
+    private OrderResponseDTO createOrder() {
+        Product product = productRepository.findByActive(true).get(0);
+        Long customerId = customerRepository.findAll().get(0).getId();
+        return orderService.create(new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(product.getId(), 1))));
+    }
+}
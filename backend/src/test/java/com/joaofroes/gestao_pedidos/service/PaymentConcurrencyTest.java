@@ -0,0 +1,124 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Order;
+import com.joaofroes.gestao_pedidos.domain.entity.OrderStatus;
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.OrderRepository;
+import com.joaofroes.gestao_pedidos.repository.PaymentRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Várias threads pagando o mesmo pedido ao mesmo tempo: o pedido deve terminar exatamente
+ * quitado (nunca com pagamento a mais) e todos os pagamentos excedentes devem ser recusados.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/payment-concurrency.db",
+        "spring.jpa.show-sql=false",
+        "app.retry.max-attempts=20"
+})
+class PaymentConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 5;
+    private static final int INSTALLMENTS = 10;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ConflictRetry conflictRetry;
+
+    @Test
+    void concurrentPaymentsNeverOverpayOrder() throws Exception {
+        Long customerId = customerRepository.findAll().get(0).getId();
+        Product product = productRepository.findByActive(true).get(0);
+        int installmentCents = product.getPriceCents();
+
+        long retriesBefore = conflictRetry.getRetries();
+        long exhaustedBefore = conflictRetry.getExhausted();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            // Pedido com total = 10 parcelas; 16 threads disputam 2 pagamentos cada
+            OrderResponseDTO created = orderService.create(new OrderRequestDTO(customerId,
+                    List.of(new OrderItemRequestDTO(product.getId(), INSTALLMENTS))));
+
+            AtomicInteger accepted = new AtomicInteger();
+            AtomicInteger refused = new AtomicInteger();
+            CountDownLatch go = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    futures.add(pool.submit(() -> {
+                        go.await();
+                        for (int i = 0; i < 2; i++) {
+                            try {
+                                paymentService.create(new PaymentRequestDTO(created.id(), PaymentMethod.PIX, installmentCents));
+                                accepted.incrementAndGet();
+                            } catch (IllegalStateException e) {
+                                refused.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                go.countDown();
+                for (Future<?> future : futures) {
+                    future.get(60, TimeUnit.SECONDS);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            Order order = orderRepository.findById(created.id()).orElseThrow();
+            long paymentsSum = paymentRepository.findByOrderId(created.id()).stream()
+                    .mapToLong(p -> p.getAmountCents())
+                    .sum();
+
+            assertThat(accepted.get()).isEqualTo(INSTALLMENTS);
+            assertThat(refused.get()).isEqualTo(THREADS * 2 - INSTALLMENTS);
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
+            assertThat(order.getPaidCents()).isEqualTo(order.getTotalCents().longValue());
+            assertThat(paymentsSum).isEqualTo(order.getTotalCents().longValue());
+        }
+
+        // As disputas passaram pelo ConflictRetry e todas terminaram dentro do limite de tentativas
+        assertThat(conflictRetry.getRetries() - retriesBefore).isPositive();
+        assertThat(conflictRetry.getExhausted() - exhaustedBefore).isZero();
+    }
+}
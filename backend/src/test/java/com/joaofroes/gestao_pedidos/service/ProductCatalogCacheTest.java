@@ -0,0 +1,105 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.domain.event.ProductChangedEvent;
+import com.joaofroes.gestao_pedidos.dto.CacheStatsDTO;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache do catálogo: cada consulta conta um único hit ou miss, uma alteração de produto descarta o
+ * snapshot e um produto fora do snapshot é buscado no banco.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/product-catalog-cache.db",
+        "spring.jpa.show-sql=false",
+        "app.catalog.cache.enabled=true"
+})
+class ProductCatalogCacheTest {
+
+    @Autowired
+    private ProductCatalogCache cache;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long cachedId;
+
+    @BeforeEach
+    void setUp() {
+        cachedId = productRepository.findByActive(true).get(0).getId();
+        cache.find(null, null, null);
+    }
+
+    @Test
+    void countsOneHitPerLookupServedFromSnapshot() {
+        CacheStatsDTO before = cache.stats();
+
+        cache.findById(cachedId);
+        cache.findAllById(List.of(cachedId));
+        cache.find(null, null, true);
+
+        CacheStatsDTO after = cache.stats();
+        assertThat(after.hits() - before.hits()).isEqualTo(3);
+        assertThat(after.misses()).isEqualTo(before.misses());
+        assertThat(after.reloads()).isEqualTo(before.reloads());
+    }
+
+    @Test
+    void productChangedEventDropsSnapshot() {
+        CacheStatsDTO before = cache.stats();
+
+        publisher.publishEvent(new ProductChangedEvent(cachedId));
+        assertThat(cache.stats().invalidations()).isEqualTo(before.invalidations() + 1);
+        assertThat(cache.stats().size()).isZero();
+
+        // A próxima consulta recarrega: um miss, nenhum hit
+        assertThat(cache.findById(cachedId)).isPresent();
+        CacheStatsDTO after = cache.stats();
+        assertThat(after.misses() - before.misses()).isEqualTo(1);
+        assertThat(after.hits()).isEqualTo(before.hits());
+        assertThat(after.reloads()).isEqualTo(before.reloads() + 1);
+    }
+
+    @Test
+    void savedProductIsVisibleAfterCommit() {
+        Product saved = productRepository.save(new Product("Produto Cache " + System.nanoTime(), "Cache", 1234));
+
+        assertThat(cache.find(null, "Cache", true)).extracting(Product::getId).contains(saved.getId());
+        assertThat(cache.findById(saved.getId())).map(Product::getPriceCents).contains(1234);
+    }
+
+    @Test
+    void productOutsideSnapshotFallsBackToDatabase() {
+        // Inserido por fora do Hibernate (outro processo): nenhum evento, o snapshot não o conhece
+        String name = "Produto Externo " + System.nanoTime();
+        jdbcTemplate.update("INSERT INTO products (name, category, price_cents, active) VALUES (?, 'Externo', 500, 1)", name);
+        Long externalId = jdbcTemplate.queryForObject("SELECT id FROM products WHERE name = ?", Long.class, name);
+
+        CacheStatsDTO before = cache.stats();
+        assertThat(cache.findById(externalId)).map(Product::getName).contains(name);
+        Map<Long, Product> both = cache.findAllById(List.of(cachedId, externalId));
+
+        assertThat(both).containsOnlyKeys(cachedId, externalId);
+        CacheStatsDTO after = cache.stats();
+        assertThat(after.misses() - before.misses()).isEqualTo(2);
+        assertThat(after.hits()).isEqualTo(before.hits());
+        assertThat(after.reloads()).isEqualTo(before.reloads());
+    }
+}
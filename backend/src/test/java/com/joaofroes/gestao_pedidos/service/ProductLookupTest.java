@@ -0,0 +1,117 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.config.QueryCountInspector;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link OrderService#create} resolve os produtos do carrinho com uma única consulta {@code IN},
+ * e não com um {@code findById} por linha.
+ * <p>
+ * O cache do catálogo é desligado para que a busca chegue ao banco. Só o SQL da thread do teste é
+ * contado: as rotinas agendadas (flush de estoque, rollups) rodam em outras threads e não interferem.
+ * O tempo de cada estratégia fica no benchmark {@code ProductLookupBenchmark} ({@code mvn -Pbenchmark}).
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/product-lookup.db",
+        "spring.jpa.show-sql=false",
+        "app.catalog.cache.enabled=false"
+})
+class ProductLookupTest {
+
+    private static final int CART_SIZE = 50;
+
+    // SELECT na tabela de produtos (não em product_stock nem nas de rollup)
+    private static final Pattern PRODUCT_SELECT = Pattern.compile("(?is)^select\\b.*\\bfrom\\s+products\\s.*");
+
+    @TestConfiguration
+    static class CapturingConfig {
+        @Bean
+        @Primary
+        ThreadCapturingInspector threadCapturingInspector() {
+            return new ThreadCapturingInspector();
+        }
+    }
+
+    /**
+     * Guarda o SQL preparado na thread atual, entre {@link #start()} e {@link #stop()}.
+     */
+    static class ThreadCapturingInspector extends QueryCountInspector {
+        private final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> captured = statements.get();
+            if (captured != null) {
+                captured.add(sql);
+            }
+            return super.inspect(sql);
+        }
+
+        void start() {
+            statements.set(new ArrayList<>());
+        }
+
+        List<String> stop() {
+            List<String> captured = statements.get();
+            statements.remove();
+            return captured;
+        }
+    }
+
+    @Autowired
+    private ThreadCapturingInspector inspector;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void createLoadsWholeCartWithOneProductQuery() {
+        // Carrinho de 50 linhas com produtos distintos (pior caso para o loop item a item)
+        List<Product> extra = new ArrayList<>();
+        for (long i = productRepository.findByActive(true).size(); i < CART_SIZE; i++) {
+            extra.add(new Product("Produto Lote " + i, "Lote", 1000));
+        }
+        productRepository.saveAll(extra);
+
+        List<OrderItemRequestDTO> items = productRepository.findByActive(true).stream()
+                .limit(CART_SIZE)
+                .map(product -> new OrderItemRequestDTO(product.getId(), 1))
+                .toList();
+        Long customerId = customerRepository.findAll().get(0).getId();
+        OrderRequestDTO request = new OrderRequestDTO(customerId, items);
+
+        inspector.reset();
+        inspector.start();
+        try {
+            orderService.create(request);
+        } finally {
+            List<String> statements = inspector.stop();
+            assertThat(statements).filteredOn(sql -> PRODUCT_SELECT.matcher(sql).matches()).hasSize(1);
+            // O contador por thread (usado pela métrica por requisição) viu os mesmos comandos
+            assertThat(inspector.current()).isEqualTo(statements.size());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.ProductDTO;
+import com.joaofroes.gestao_pedidos.dto.ProductPageResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.ProductSort;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Listagem de produtos com filtros combinados: todos os filtros valem ao mesmo tempo e
+ * percorrer as páginas pelo cursor devolve cada produto exatamente uma vez, na ordem pedida.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/product-query.db",
+        "spring.jpa.show-sql=false"
+})
+class ProductQueryTest {
+
+    private static final int PRODUCTS = 45;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    // Categoria própria por execução, para não depender do que já está no arquivo do banco
+    private String category;
+
+    @BeforeEach
+    void seed() {
+        category = "Paginacao-" + System.nanoTime();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            // Preços repetidos de propósito: o desempate pelo id é o que mantém o cursor estável
+            Product product = new Product((i % 2 == 0 ? "Caneca Paginada " : "Copo Paginado ") + i, category, 1000 + (i % 7) * 100);
+            product.setActive(i % 5 != 0);
+            products.add(product);
+        }
+        productRepository.saveAll(products);
+    }
+
+    @Test
+    void findAllCombinesCategoryAndStatus() {
+        List<ProductDTO> active = productService.findAll(null, category, true);
+        List<ProductDTO> inactive = productService.findAll(null, category, false);
+
+        assertThat(active).hasSize(36).allMatch(p -> p.active() && p.category().equals(category));
+        assertThat(inactive).hasSize(9).noneMatch(ProductDTO::active);
+    }
+
+    @Test
+    void findAllCombinesNameWithCategory() {
+        List<ProductDTO> found = productService.findAll("caneca", category, null);
+
+        assertThat(found).isNotEmpty()
+                .allMatch(p -> p.category().equals(category))
+                .allMatch(p -> p.name().startsWith("Caneca") && p.active());
+    }
+
+    @Test
+    void walkingPagesByPriceReturnsEveryProductOnceInOrder() {
+        List<ProductDTO> walked = walk(null, ProductSort.PRICE_DESC, 10);
+
+        assertThat(walked).hasSize(36);
+        assertThat(ids(walked)).hasSize(36);
+        assertThat(walked).isSortedAccordingTo(ProductSort.PRICE_DESC.comparator());
+    }
+
+    @Test
+    void walkingPagesByNameWithSearchFollowsTheSameRules() {
+        List<ProductDTO> walked = walk("copo", ProductSort.NAME_ASC, 4);
+
+        assertThat(walked).hasSize(18).allMatch(p -> p.name().startsWith("Copo"));
+        assertThat(ids(walked)).hasSize(18);
+        assertThat(walked).isSortedAccordingTo(ProductSort.NAME_ASC.comparator());
+    }
+
+    @Test
+    void totalIsOnlyComputedOnTheFirstPage() {
+        ProductPageResponseDTO first = productService.findPage(null, category, null, "price", null, 10, true);
+        ProductPageResponseDTO second = productService.findPage(null, category, null, "price", first.nextCursor(), 10, true);
+        ProductPageResponseDTO single = productService.findPage(null, category, false, "price", null, 50, true);
+
+        assertThat(first.total()).isEqualTo(36);
+        assertThat(second.total()).isNull();
+        assertThat(single.total()).isEqualTo(9);
+        assertThat(single.hasNext()).isFalse();
+    }
+
+    @Test
+    void cursorFromAnotherSortIsRejected() {
+        ProductPageResponseDTO first = productService.findPage(null, category, null, "price", null, 10, false);
+
+        assertThatThrownBy(() -> productService.findPage(null, category, null, "name", first.nextCursor(), 10, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<ProductDTO> walk(String name, ProductSort sort, int size) {
+        List<ProductDTO> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProductPageResponseDTO page = productService.findPage(name, category, null, sort.param(), cursor, size, false);
+            assertThat(page.content()).hasSizeLessThanOrEqualTo(size);
+            walked.addAll(page.content());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return walked;
+    }
+
+    private static Set<Long> ids(List<ProductDTO> products) {
+        Set<Long> ids = new HashSet<>();
+        products.forEach(p -> ids.add(p.id()));
+        return ids;
+    }
+}
@@ -0,0 +1,76 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.dto.ProductDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca do {@link ProductTextIndex} em um catálogo de 1 milhão de produtos: palavra inteira,
+ * prefixo (usuário digitando) e duas palavras, só produtos ativos, 20 resultados.
+ * <p>
+ * Fica no pacote do índice (e não em {@code benchmark}) porque o índice é package-private.
+ * {@link Mode#SampleTime} publica os percentis (p50, p99) de cada consulta.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductTextIndexBenchmark {
+
+    private static final int CATALOG_SIZE = 1_000_000;
+
+    private ProductTextIndex index;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[5000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = randomWord(random);
+        }
+
+        index = new ProductTextIndex();
+        for (long id = 1; id <= CATALOG_SIZE; id++) {
+            String name = vocabulary[random.nextInt(vocabulary.length)] + " "
+                    + vocabulary[random.nextInt(vocabulary.length)] + " "
+                    + vocabulary[random.nextInt(vocabulary.length)] + " " + id;
+            index.upsert(new ProductDTO(id, name, "Categoria " + (id % 20), 1000, id % 10 != 0));
+        }
+
+        queries = new String[2000];
+        for (int i = 0; i < queries.length; i++) {
+            String first = vocabulary[random.nextInt(vocabulary.length)];
+            String second = vocabulary[random.nextInt(vocabulary.length)];
+            queries[i] = switch (i % 3) {
+                case 0 -> first;                                 // palavra inteira
+                case 1 -> first.substring(0, 4);                 // digitando (prefixo)
+                default -> first + " " + second.substring(0, 3); // duas palavras
+            };
+        }
+    }
+
+    @Benchmark
+    public List<ProductDTO> search() {
+        String query = queries[next];
+        next = (next + 1) % queries.length;
+        return index.search(query, null, true, 20);
+    }
+
+    private static String randomWord(Random random) {
+        String letters = "abcdefghijklmnopqrstuvwxyz";
+        int length = 5 + random.nextInt(6);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(letters.charAt(random.nextInt(letters.length())));
+        }
+        return word.toString();
+    }
+}
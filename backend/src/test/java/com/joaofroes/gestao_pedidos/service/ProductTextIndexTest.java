@@ -0,0 +1,89 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Busca textual do catálogo: prefixo, acentos, relevância e atualização incremental.
+ * O tempo de consulta em um catálogo de 1 milhão de produtos fica no {@link ProductTextIndexBenchmark}.
+ */
+class ProductTextIndexTest {
+
+    private static ProductDTO product(long id, String name, String category, boolean active) {
+        return new ProductDTO(id, name, category, 1000, active);
+    }
+
+    private static List<String> names(List<ProductDTO> products) {
+        return products.stream().map(ProductDTO::name).toList();
+    }
+
+    @Test
+    void matchesPrefixesIgnoringCaseAndAccents() {
+        ProductTextIndex index = new ProductTextIndex();
+        index.upsert(product(1, "Teclado Mecânico", "Acessorios", true));
+        index.upsert(product(2, "Teclado Antigo", "Acessorios", true));
+        index.upsert(product(3, "Monitor 27pol 144hz", "Perifericos", true));
+
+        assertThat(names(index.search("mecanico", null, null, 0))).containsExactly("Teclado Mecânico");
+        assertThat(names(index.search("MECÂN", null, null, 0))).containsExactly("Teclado Mecânico");
+        assertThat(names(index.search("tecl mec", null, null, 0))).containsExactly("Teclado Mecânico");
+        assertThat(names(index.search("tecl", null, null, 0))).hasSize(2);
+        assertThat(names(index.search("144", null, null, 0))).containsExactly("Monitor 27pol 144hz");
+        // Prefixo de palavra, não trecho do meio
+        assertThat(index.search("clado", null, null, 0)).isEmpty();
+        assertThat(index.search("  --  ", null, null, 0)).isEmpty();
+    }
+
+    @Test
+    void ranksExactAndLeadingMatchesFirst() {
+        ProductTextIndex index = new ProductTextIndex();
+        index.upsert(product(1, "Mousepad Gamer Extra Grande", "Acessorios", true));
+        index.upsert(product(2, "Kit Teclado e Mouse", "Acessorios", true));
+        index.upsert(product(3, "Mouse Sem Fio", "Acessorios", true));
+
+        assertThat(names(index.search("mouse", null, null, 0)))
+                .containsExactly("Mouse Sem Fio", "Kit Teclado e Mouse", "Mousepad Gamer Extra Grande");
+        assertThat(names(index.search("mouse", null, null, 1))).containsExactly("Mouse Sem Fio");
+    }
+
+    @Test
+    void filtersByStatusAndCategory() {
+        ProductTextIndex index = new ProductTextIndex();
+        index.upsert(product(1, "Mouse Sem Fio", "Acessorios", true));
+        index.upsert(product(2, "Mouse Antigo", "Acessorios", false));
+        index.upsert(product(3, "Mouse Gamer", "Perifericos", true));
+
+        assertThat(names(index.search("mouse", null, true, 0))).containsExactlyInAnyOrder("Mouse Sem Fio", "Mouse Gamer");
+        assertThat(names(index.search("mouse", null, false, 0))).containsExactly("Mouse Antigo");
+        assertThat(names(index.search("mouse", "Perifericos", true, 0))).containsExactly("Mouse Gamer");
+    }
+
+    @Test
+    void updatesAndRemovesIncrementally() {
+        ProductTextIndex index = new ProductTextIndex();
+        index.upsert(product(1, "Cabo HDMI 2m", "Acessorios", true));
+
+        index.upsert(product(1, "Cabo DisplayPort 2m", "Acessorios", true));
+        assertThat(index.search("hdmi", null, null, 0)).isEmpty();
+        assertThat(names(index.search("display", null, null, 0))).containsExactly("Cabo DisplayPort 2m");
+        assertThat(index.size()).isEqualTo(1);
+
+        index.remove(1L);
+        assertThat(index.search("cabo", null, null, 0)).isEmpty();
+        assertThat(index.size()).isZero();
+
+        // Muitas atualizações disparam a compactação sem perder produtos
+        for (int round = 0; round < 5; round++) {
+            for (long id = 1; id <= 1000; id++) {
+                index.upsert(product(id, "Produto " + id + " versao" + round, "Teste", true));
+            }
+        }
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("versao4", null, null, 0)).hasSize(1000);
+        assertThat(index.search("versao3", null, null, 0)).isEmpty();
+    }
+}
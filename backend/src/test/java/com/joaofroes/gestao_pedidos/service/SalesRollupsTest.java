@@ -0,0 +1,121 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.dto.CategorySalesDTO;
+import com.joaofroes.gestao_pedidos.dto.DailySalesDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentRequestDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rollups de vendas: os deltas de criação, pagamento e cancelamento chegam às tabelas de analytics,
+ * e a reconstrução a partir do histórico produz exatamente os mesmos números.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/sales-rollups.db",
+        "spring.jpa.show-sql=false",
+        // O teste chama flush() diretamente; o agendamento não deve interferir
+        "app.analytics.flush-interval-ms=3600000"
+})
+class SalesRollupsTest {
+
+    private static final LocalDate FROM = LocalDate.of(2000, 1, 1);
+
+    @Autowired
+    private SalesRollupService rollupService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void createPayAndCancelAreReflectedInTheRollups() {
+        rollupService.flush();
+        LocalDate today = LocalDate.now();
+        DailySalesDTO before = today(today);
+
+        // Categoria própria por execução, para não depender do que já está no arquivo do banco
+        String category = "Analytics-" + System.nanoTime();
+        Product product = productRepository.save(new Product("Produto Analytics", category, 1500));
+        Long customerId = customerRepository.findAll().get(0).getId();
+
+        OrderResponseDTO paid = orderService.create(order(customerId, product.getId(), 2));
+        OrderResponseDTO cancelled = orderService.create(order(customerId, product.getId(), 1));
+        paymentService.create(new PaymentRequestDTO(paid.id(), PaymentMethod.PIX, 3000));
+        orderService.updateStatus(cancelled.id(), "CANCELLED");
+
+        assertThat(rollupService.pendingCount()).isPositive();
+        assertThat(rollupService.flush()).isPositive();
+        assertThat(rollupService.pendingCount()).isZero();
+
+        DailySalesDTO after = today(today);
+        assertThat(after.orders() - before.orders()).isEqualTo(2);
+        assertThat(after.cancelledOrders() - before.cancelledOrders()).isEqualTo(1);
+        assertThat(after.paidOrders() - before.paidOrders()).isEqualTo(1);
+        assertThat(after.itemsSold() - before.itemsSold()).isEqualTo(2);
+        assertThat(after.bookedCents() - before.bookedCents()).isEqualTo(3000);
+        assertThat(after.receivedCents() - before.receivedCents()).isEqualTo(3000);
+
+        // O item do pedido cancelado sai da categoria; fica só o pedido pago
+        assertThat(analyticsService.byCategory(today, today))
+                .filteredOn(row -> row.category().equals(category))
+                .singleElement()
+                .isEqualTo(new CategorySalesDTO(category, 2L, 3000L));
+    }
+
+    @Test
+    void rebuildMatchesTheIncrementalRollups() {
+        Product product = productRepository.findByActive(true).get(0);
+        Long customerId = customerRepository.findAll().get(0).getId();
+        OrderResponseDTO created = orderService.create(order(customerId, product.getId(), 3));
+        paymentService.create(new PaymentRequestDTO(created.id(), PaymentMethod.CARD, 100));
+        rollupService.flush();
+
+        LocalDate to = LocalDate.now().plusDays(1);
+        List<DailySalesDTO> daily = analyticsService.daily(FROM, to);
+        List<CategorySalesDTO> categories = analyticsService.byCategory(FROM, to);
+        var paymentMethods = analyticsService.byPaymentMethod(FROM, to);
+        var topProducts = analyticsService.topProducts(FROM, to, 100);
+
+        var result = rollupService.rebuild();
+
+        assertThat(result.orders()).isPositive();
+        assertThat(analyticsService.daily(FROM, to)).isEqualTo(daily);
+        assertThat(analyticsService.byCategory(FROM, to)).containsExactlyInAnyOrderElementsOf(categories);
+        assertThat(analyticsService.byPaymentMethod(FROM, to)).containsExactlyInAnyOrderElementsOf(paymentMethods);
+        assertThat(analyticsService.topProducts(FROM, to, 100)).isEqualTo(topProducts);
+    }
+
+    private DailySalesDTO today(LocalDate today) {
+        return analyticsService.daily(today, today).stream()
+                .findFirst()
+                .orElse(new DailySalesDTO(today, 0L, 0L, 0L, 0L, 0L, 0L));
+    }
+
+    private static OrderRequestDTO order(Long customerId, Long productId, int quantity) {
+        return new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(productId, quantity)));
+    }
+}
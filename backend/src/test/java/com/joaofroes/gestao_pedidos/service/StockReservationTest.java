@@ -0,0 +1,182 @@
+package com.joaofroes.gestao_pedidos.service;
+
+import com.joaofroes.gestao_pedidos.domain.entity.PaymentMethod;
+import com.joaofroes.gestao_pedidos.domain.entity.Product;
+import com.joaofroes.gestao_pedidos.domain.entity.ProductStock;
+import com.joaofroes.gestao_pedidos.dto.OrderItemRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.OrderResponseDTO;
+import com.joaofroes.gestao_pedidos.dto.PaymentRequestDTO;
+import com.joaofroes.gestao_pedidos.dto.StockLevelDTO;
+import com.joaofroes.gestao_pedidos.repository.CustomerRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductRepository;
+import com.joaofroes.gestao_pedidos.repository.ProductStockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Reserva de estoque: com muitos checkouts simultâneos do mesmo produto, nunca se vende mais do que
+ * há em estoque; cancelar devolve a reserva e pagar transforma a reserva em baixa.
+ * <p>
+ * Roda no perfil {@code prod} com as configurações de repetição padrão. Com um único escritor, os
+ * checkouts esperam a conexão em vez de disputar o lock do arquivo, e nenhum deles pode falhar por outro
+ * motivo que não "Estoque insuficiente".
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "app.sqlite.file=target/stock-reservation.db",
+        "app.ledger.dir=target/stock-reservation-ledger",
+        "spring.jpa.show-sql=false",
+        // O teste chama flush() diretamente; o agendamento não deve interferir
+        "app.stock.flush-interval-ms=3600000"
+})
+@ActiveProfiles("prod")
+class StockReservationTest {
+
+    private static final int STOCK = 50;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductStockRepository stockRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void concurrentCheckoutsNeverOversell() throws Exception {
+        Product product = productRepository.save(new Product("Produto Promoção " + System.nanoTime(), "Estoque", 990));
+        stockService.setOnHand(product.getId(), STOCK);
+        Long customerId = customerRepository.findAll().get(0).getId();
+
+        List<Long> sold = Collections.synchronizedList(new ArrayList<>());
+        List<RuntimeException> failures = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger outOfStock = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        Long orderId = checkout(customerId, product.getId(), outOfStock, failures);
+                        if (orderId != null) {
+                            sold.add(orderId);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(failures).isEmpty();
+        assertThat(sold).hasSize(STOCK);
+        assertThat(outOfStock).hasValue(THREADS * ATTEMPTS_PER_THREAD - STOCK);
+        assertThat(stockService.level(product.getId()).available()).isZero();
+
+        stockService.flush();
+        ProductStock stored = stockRepository.findById(product.getId()).orElseThrow();
+        assertThat(stored.getOnHand()).isEqualTo(STOCK);
+        assertThat(stored.getReserved()).isEqualTo(STOCK);
+
+        // Cancelar devolve a reserva; pagar baixa o estoque físico
+        for (Long orderId : sold.subList(0, 10)) {
+            orderService.updateStatus(orderId, "CANCELLED");
+        }
+        for (Long orderId : sold.subList(10, 15)) {
+            OrderResponseDTO order = orderService.findById(orderId);
+            paymentService.create(new PaymentRequestDTO(orderId, PaymentMethod.PIX, order.totalCents()));
+        }
+        stockService.flush();
+
+        StockLevelDTO level = stockService.level(product.getId());
+        assertThat(level.onHand()).isEqualTo(STOCK - 5);
+        assertThat(level.reserved()).isEqualTo(STOCK - 15);
+        assertThat(level.available()).isEqualTo(10);
+        stored = stockRepository.findById(product.getId()).orElseThrow();
+        assertThat(stored.getOnHand()).isEqualTo(level.onHand());
+        assertThat(stored.getReserved()).isEqualTo(level.reserved());
+    }
+
+    @Test
+    void orderIsReservedWhollyOrNotAtAll() {
+        Product plenty = productRepository.save(new Product("Produto Farto " + System.nanoTime(), "Estoque", 500));
+        Product scarce = productRepository.save(new Product("Produto Escasso " + System.nanoTime(), "Estoque", 500));
+        stockService.setOnHand(plenty.getId(), 10);
+        stockService.setOnHand(scarce.getId(), 1);
+        Long customerId = customerRepository.findAll().get(0).getId();
+
+        assertThatThrownBy(() -> orderService.create(new OrderRequestDTO(customerId, List.of(
+                new OrderItemRequestDTO(plenty.getId(), 3),
+                new OrderItemRequestDTO(scarce.getId(), 2)))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Estoque insuficiente");
+
+        assertThat(stockService.level(plenty.getId()).available()).isEqualTo(10);
+        assertThat(stockService.level(scarce.getId()).available()).isEqualTo(1);
+
+        // Cancelado volta a ficar em aberto só se ainda houver estoque para reservar
+        OrderResponseDTO order = orderService.create(new OrderRequestDTO(customerId,
+                List.of(new OrderItemRequestDTO(scarce.getId(), 1))));
+        orderService.updateStatus(order.id(), "CANCELLED");
+        orderService.create(new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(scarce.getId(), 1))));
+
+        assertThatThrownBy(() -> orderService.updateStatus(order.id(), "NEW"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(stockService.level(scarce.getId()).available()).isZero();
+    }
+
+    /**
+     * Uma compra pelo mesmo caminho do {@code POST /orders}. "Estoque insuficiente" é a única recusa
+     * esperada; qualquer outra falha (SQLITE_BUSY, conflito) é guardada para o teste reprovar.
+     */
+    private Long checkout(Long customerId, Long productId, AtomicInteger outOfStock, List<RuntimeException> failures) {
+        OrderRequestDTO request = new OrderRequestDTO(customerId, List.of(new OrderItemRequestDTO(productId, 1)));
+        try {
+            return orderService.create(request).id();
+        } catch (IllegalStateException e) {
+            if (e.getMessage() != null && e.getMessage().contains("Estoque insuficiente")) {
+                outOfStock.incrementAndGet();
+            } else {
+                failures.add(e);
+            }
+        } catch (RuntimeException e) {
+            failures.add(e);
+        }
+        return null;
+    }
+}
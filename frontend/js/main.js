@@ -1,6 +1,6 @@
 import { updateCartCount, renderCartPage, checkout } from './cart.js';
 import { loadProducts } from './products.js';
-import { loadMyOrders, closeModal } from './orders.js';
+import { loadMyOrders, watchOrders, closeModal } from './orders.js';
 
 document.addEventListener("DOMContentLoaded", () => {
     updateCartCount();
@@ -37,6 +37,7 @@ document.addEventListener("DOMContentLoaded", () => {
     const ordersList = document.getElementById("orders-list");
     if (ordersList) {
         loadMyOrders();
+        watchOrders();
     }
 
     // LÓGICA GLOBAL (MODAL)
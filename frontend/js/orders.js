@@ -42,12 +42,13 @@ function renderOrdersList(orders) {
 
         const card = document.createElement('div');
         card.className = `order-card status-${statusClass}`;
+        card.dataset.orderId = order.id;
         
         card.innerHTML = `
             <div class="order-info">
                 <h3>Pedido #${order.id}</h3>
                 <span class="order-date">Data: ${date}</span> <br>
-                <strong>Status: ${translateStatus(order.status)}</strong>
+                <strong class="order-status">Status: ${translateStatus(order.status)}</strong>
             </div>
             
             <div style="text-align:right">
@@ -62,6 +63,45 @@ function renderOrdersList(orders) {
     });
 }
 
+// Atualizações ao vivo (GET /orders/stream): o status muda no card sem recarregar a lista
+let ordersStream = null;
+let reloadTimer = null;
+
+function scheduleReload() {
+    if (reloadTimer) return;
+    reloadTimer = setTimeout(() => {
+        reloadTimer = null;
+        loadMyOrders();
+    }, 1000);
+}
+
+export function watchOrders() {
+    if (ordersStream || typeof EventSource === "undefined") return;
+
+    ordersStream = new EventSource(`${API_URL}/orders/stream`);
+
+    ordersStream.addEventListener("OrderStatusChanged", (e) => {
+        const event = JSON.parse(e.data);
+        const card = document.querySelector(`.order-card[data-order-id="${event.orderId}"]`);
+        if (!card) return;
+
+        card.className = `order-card status-${event.status.toLowerCase()}`;
+        card.querySelector(".order-status").textContent = `Status: ${translateStatus(event.status)}`;
+    });
+
+    // Pedido novo ou eventos perdidos durante uma queda: recarrega a lista (uma vez por rajada, ex.: importação)
+    ordersStream.addEventListener("OrderCreated", scheduleReload);
+    ordersStream.addEventListener("resync", scheduleReload);
+
+    ordersStream.onerror = () => {
+        // O navegador reconecta sozinho; se desistiu (ex.: 503), tenta de novo em 5s
+        if (ordersStream.readyState === EventSource.CLOSED) {
+            ordersStream = null;
+            setTimeout(watchOrders, 5000);
+        }
+    };
+}
+
 export async function openOrderDetails(orderId) {
     const modalBody = document.getElementById("modal-body");
     const modal = document.getElementById("order-modal");